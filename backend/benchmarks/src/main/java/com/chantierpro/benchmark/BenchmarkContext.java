@@ -0,0 +1,43 @@
+package com.chantierpro.benchmark;
+
+import com.chantierpro.ChantierProApplication;
+import com.chantierpro.support.DatasetSeeder;
+import com.chantierpro.support.DatasetShape;
+import com.chantierpro.support.Fixture;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the backend on the embedded H2 database of the {@code test} profile and seeds it.
+ * Each JMH fork runs in its own JVM, so every fork starts from an empty database.
+ */
+public class BenchmarkContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    public static BenchmarkContext start(String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ChantierProApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+        return new BenchmarkContext(context);
+    }
+
+    public Fixture seed(DatasetShape shape) {
+        return getBean(DatasetSeeder.class).seed(shape);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,93 @@
+package com.chantierpro.benchmark;
+
+import com.chantierpro.entity.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds detached entity graphs in memory, linked the same way Hibernate would link them,
+ * so serialization can be measured without a database.
+ */
+public final class EntityGraphs {
+
+    private static final String[] CATEGORIES = {"Gros Œuvre", "Plomberie", "Électricité", "Menuiserie", "Peinture",
+            "Carrelage", "Étanchéité", "Climatisation", "Finitions", "Aménagement extérieur"};
+
+    private long nextId = 1;
+
+    private final List<Team> teams = new ArrayList<>();
+    private final List<TaskTemplate> templates = new ArrayList<>();
+
+    public EntityGraphs(int teamCount, int templateCount) {
+        for (int i = 0; i < teamCount; i++) {
+            Team team = new Team("Équipe " + (i + 1), CATEGORIES[i % CATEGORIES.length], 4 + i % 6);
+            team.setId(nextId++);
+            team.setLastActivity(LocalDateTime.now());
+            team.setCreatedAt(LocalDateTime.now());
+            teams.add(team);
+        }
+        for (int i = 0; i < templateCount; i++) {
+            TaskTemplate template = new TaskTemplate("Modèle " + (i + 1), "Description du modèle " + (i + 1),
+                    3 + i % 10, BigDecimal.valueOf(1000L + 250L * i));
+            template.setId(nextId++);
+            template.setCreatedAt(LocalDateTime.now());
+            templates.add(template);
+        }
+    }
+
+    public Project project(int villas, int categoriesPerVilla, int tasksPerCategory) {
+        LocalDate start = LocalDate.now().minusMonths(2);
+        Project project = new Project("Résidence Les Oliviers", "Villas", "Casablanca", start, start.plusMonths(18));
+        project.setId(nextId++);
+        project.setCreatedAt(LocalDateTime.now());
+        project.setVillas(new ArrayList<>());
+        for (int v = 0; v < villas; v++) {
+            project.getVillas().add(villa(project, v, categoriesPerVilla, tasksPerCategory));
+        }
+        project.setVillasCount(villas);
+        return project;
+    }
+
+    private Villa villa(Project project, int index, int categoriesPerVilla, int tasksPerCategory) {
+        Villa villa = new Villa(project, "Villa " + (index + 1), "Type " + (char) ('A' + index % 3), 180 + index % 5 * 20);
+        villa.setId(nextId++);
+        villa.setCreatedAt(LocalDateTime.now());
+        villa.setLastModified(LocalDateTime.now());
+        villa.setCategories(new ArrayList<>());
+        for (int c = 0; c < categoriesPerVilla; c++) {
+            villa.getCategories().add(category(villa, c, tasksPerCategory));
+        }
+        villa.setCategoriesCount(categoriesPerVilla);
+        villa.setTasksCount(categoriesPerVilla * tasksPerCategory);
+        return villa;
+    }
+
+    private Category category(Villa villa, int index, int tasksPerCategory) {
+        LocalDate start = villa.getProject().getStartDate().plusDays(index * 20L);
+        Category category = new Category(villa, CATEGORIES[index % CATEGORIES.length], start, start.plusDays(30));
+        category.setId(nextId++);
+        category.setCreatedAt(LocalDateTime.now());
+        category.setTasks(new ArrayList<>());
+        for (int t = 0; t < tasksPerCategory; t++) {
+            LocalDate taskStart = start.plusDays(t);
+            Task task = new Task(category, villa, "Tâche " + (t + 1), taskStart, taskStart.plusDays(4));
+            task.setId(nextId++);
+            task.setDescription("Réalisation de la tâche " + (t + 1) + " de la catégorie " + category.getName());
+            task.setTeam(teams.get((int) (task.getId() % teams.size())));
+            task.setTemplate(templates.get((int) (task.getId() % templates.size())));
+            task.setAmount(BigDecimal.valueOf(500L + t * 100L));
+            task.setProgress(t % 5 * 25);
+            task.setStatus(task.getProgress() == 100 ? Task.TaskStatus.COMPLETED : Task.TaskStatus.IN_PROGRESS);
+            task.setPhotos(new ArrayList<>());
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            category.getTasks().add(task);
+        }
+        category.setTasksCount(tasksPerCategory);
+        return category;
+    }
+}
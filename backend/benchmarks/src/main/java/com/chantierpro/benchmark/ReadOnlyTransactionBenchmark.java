@@ -0,0 +1,120 @@
+package com.chantierpro.benchmark;
+
+import com.chantierpro.service.CategoryService;
+import com.chantierpro.service.ProjectService;
+import com.chantierpro.service.TaskService;
+import com.chantierpro.support.Fixture;
+import com.chantierpro.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The service query methods in a read-only transaction against the same calls in a read-write one.
+ *
+ * Each invocation opens the outer transaction itself; the service's {@code @Transactional(readOnly = true)}
+ * joins it, so {@code transaction=readWrite} reproduces the behaviour before the query methods were
+ * marked read-only (flush mode AUTO, dirty-checking snapshots of every loaded entity, flush at commit).
+ * The transaction commits, since nothing is written. Entities loaded per operation are reported as
+ * the {@code entities} secondary result and printed after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class ReadOnlyTransactionBenchmark {
+
+    @Param({"small", "medium", "large"})
+    private String scale;
+
+    @Param({"readOnly", "readWrite"})
+    private String transaction;
+
+    private BenchmarkContext context;
+    private TransactionTemplate transactionTemplate;
+    private SqlStatementCounter statementCounter;
+
+    private TaskService taskService;
+    private CategoryService categoryService;
+    private ProjectService projectService;
+
+    private Fixture fixture;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Entities {
+        public long entities;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            entities = 0;
+            operations = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void print() {
+            if (operations > 0) {
+                System.out.printf("%n  Entities loaded per op: %.1f%n", (double) entities / operations);
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        fixture = context.seed(ServiceBenchmark.shape(scale));
+
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly("readOnly".equals(transaction));
+        statementCounter = new SqlStatementCounter(context.getBean(EntityManagerFactory.class));
+
+        taskService = context.getBean(TaskService.class);
+        categoryService = context.getBean(CategoryService.class);
+        projectService = context.getBean(ProjectService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object getTasksByProjectId(Entities counter) {
+        return measured(counter, () -> taskService.getTasksByProjectId(fixture.id("project")));
+    }
+
+    @Benchmark
+    public Object getTasksByVillaId(Entities counter) {
+        return measured(counter, () -> taskService.getTasksByVillaId(fixture.id("villa")));
+    }
+
+    @Benchmark
+    public Object getCategoriesByProjectId(Entities counter) {
+        return measured(counter, () -> categoryService.getCategoriesByProjectId(fixture.id("project")));
+    }
+
+    @Benchmark
+    public Object getAllProjects(Entities counter) {
+        return measured(counter, () -> projectService.getAllProjects());
+    }
+
+    private Object measured(Entities counter, Operation operation) {
+        statementCounter.reset();
+        Object result = transactionTemplate.execute(status -> operation.run());
+        counter.entities += statementCounter.getEntityLoadCount();
+        counter.operations++;
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run();
+    }
+}
@@ -0,0 +1,139 @@
+package com.chantierpro.benchmark;
+
+import com.chantierpro.benchmark.dto.CategoryWithTasksDTO;
+import com.chantierpro.benchmark.dto.ProjectDTO;
+import com.chantierpro.benchmark.dto.TaskDTO;
+import com.chantierpro.benchmark.dto.VillaDTO;
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.support.DatasetShape;
+import com.chantierpro.support.Fixture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson serialization of the entity graphs returned by /tasks, /categories, /villas and /projects,
+ * compared with flat DTOs (mapping included). Run with {@code -prof gc} for the allocation rate.
+ *
+ * source=detached serializes plain in-memory graphs; source=managed loads the same shape through
+ * JPA and serializes it with the EntityManager open, so Hibernate proxies and persistent
+ * collections are on the path exactly as under open-in-view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"detached", "managed"})
+    private String source;
+
+    @Param({"5", "20"})
+    private int villas;
+
+    @Param({"10"})
+    private int categoriesPerVilla;
+
+    @Param({"20"})
+    private int tasksPerCategory;
+
+    private ObjectMapper objectMapper;
+    private BenchmarkContext context;
+    private EntityManager entityManager;
+
+    private Project project;
+    private Villa villa;
+    private List<Category> categories;
+    private List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        if ("managed".equals(source)) {
+            context = BenchmarkContext.start();
+            Fixture fixture = context.seed(new DatasetShape(1, villas, categoriesPerVilla, tasksPerCategory, 5, 10, 3, 0, 0));
+            entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+            project = entityManager.find(Project.class, fixture.id("project"));
+            villa = entityManager.find(Villa.class, fixture.id("villa"));
+            tasks = entityManager.createQuery("SELECT t FROM Task t WHERE t.villa.id = :villaId", Task.class)
+                    .setParameter("villaId", villa.getId())
+                    .getResultList();
+        } else {
+            project = new EntityGraphs(5, 10).project(villas, categoriesPerVilla, tasksPerCategory);
+            villa = project.getVillas().get(0);
+            tasks = villa.getCategories().stream()
+                    .flatMap(category -> category.getTasks().stream())
+                    .collect(Collectors.toList());
+        }
+        categories = villa.getCategories();
+
+        // Initializes every lazy association once so that only serialization is measured
+        objectMapper.writeValueAsBytes(project);
+        objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (entityManager != null) {
+            entityManager.close();
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] tasksEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] tasksDto() throws Exception {
+        return objectMapper.writeValueAsBytes(tasks.stream().map(TaskDTO::from).collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public byte[] categoriesEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(categories);
+    }
+
+    @Benchmark
+    public byte[] categoriesDto() throws Exception {
+        return objectMapper.writeValueAsBytes(categories.stream().map(CategoryWithTasksDTO::from).collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public byte[] villaEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(villa);
+    }
+
+    @Benchmark
+    public byte[] villaDto() throws Exception {
+        return objectMapper.writeValueAsBytes(VillaDTO.from(villa));
+    }
+
+    @Benchmark
+    public byte[] projectEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(project);
+    }
+
+    @Benchmark
+    public byte[] projectDto() throws Exception {
+        return objectMapper.writeValueAsBytes(ProjectDTO.from(project));
+    }
+}
@@ -0,0 +1,163 @@
+package com.chantierpro.benchmark;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.service.CategoryService;
+import com.chantierpro.service.TaskService;
+import com.chantierpro.service.TeamService;
+import com.chantierpro.support.DatasetShape;
+import com.chantierpro.support.Fixture;
+import com.chantierpro.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service operations users wait on, against the embedded database seeded at several scales.
+ *
+ * Every invocation runs in a transaction that is flushed and then rolled back, so all SQL
+ * (inserts, cascaded stats updates) is executed but the dataset does not grow during the run.
+ * SQL statements per operation are printed after each iteration and reported by JMH as the
+ * {@code statements} secondary result (statements/s; divide by ops/s for statements per op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class ServiceBenchmark {
+
+    @Param({"small", "medium", "large"})
+    private String scale;
+
+    private BenchmarkContext context;
+    private TransactionTemplate transactionTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private SqlStatementCounter statementCounter;
+
+    private TaskService taskService;
+    private CategoryService categoryService;
+    private TeamService teamService;
+
+    private Fixture fixture;
+    private int progress;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Statements {
+        public long statements;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            operations = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void print() {
+            if (operations > 0) {
+                System.out.printf("%n  SQL statements per op: %.1f%n", (double) statements / operations);
+            }
+        }
+    }
+
+    public static DatasetShape shape(String scale) {
+        switch (scale) {
+            case "small":
+                return new DatasetShape(2, 5, 5, 10, 5, 10, 3, 50, 10);
+            case "medium":
+                return new DatasetShape(5, 20, 10, 20, 10, 20, 3, 500, 50);
+            case "large":
+                return new DatasetShape(10, 20, 10, 20, 20, 40, 3, 2000, 100);
+            default:
+                throw new IllegalArgumentException("Unknown scale: " + scale);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        fixture = context.seed(shape(scale));
+
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        statementCounter = new SqlStatementCounter(entityManagerFactory);
+
+        taskService = context.getBean(TaskService.class);
+        categoryService = context.getBean(CategoryService.class);
+        teamService = context.getBean(TeamService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object createTask(Statements counter) {
+        return measured(counter, () -> {
+            Category category = new Category();
+            category.setId(fixture.id("category"));
+            Villa villa = new Villa();
+            villa.setId(fixture.id("villa"));
+
+            LocalDate today = LocalDate.now();
+            Task task = new Task(category, villa, "Tâche benchmark", today, today.plusDays(5));
+            return taskService.createTask(task);
+        });
+    }
+
+    @Benchmark
+    public Object updateTaskProgress(Statements counter) {
+        progress = (progress + 10) % 110;
+        return measured(counter, () -> taskService.updateTaskProgress(fixture.id("task"), progress));
+    }
+
+    @Benchmark
+    public Object updateCategoryStats(Statements counter) {
+        return measured(counter, () -> {
+            categoryService.updateCategoryStats(fixture.id("category"));
+            return null;
+        });
+    }
+
+    @Benchmark
+    public Object updateTeamStats(Statements counter) {
+        return measured(counter, () -> {
+            teamService.updateTeamStats(fixture.id("team"));
+            return null;
+        });
+    }
+
+    @Benchmark
+    public Object generateTasksFromTemplates(Statements counter) {
+        return measured(counter, () -> taskService.generateTasksFromTemplates(fixture.id("team")));
+    }
+
+    private Object measured(Statements counter, Operation operation) {
+        statementCounter.reset();
+        Object result = transactionTemplate.execute(status -> {
+            Object value = operation.run();
+            EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory).flush();
+            status.setRollbackOnly();
+            return value;
+        });
+        counter.statements += statementCounter.getStatementCount();
+        counter.operations++;
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run();
+    }
+}
@@ -0,0 +1,52 @@
+package com.chantierpro.benchmark.dto;
+
+import com.chantierpro.entity.Category;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Category with its tasks as {@link TaskDTO}s.
+ */
+public class CategoryWithTasksDTO {
+
+    private final Long id;
+    private final Long villaId;
+    private final String name;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Integer progress;
+    private final Category.CategoryStatus status;
+    private final Integer tasksCount;
+    private final Integer completedTasks;
+    private final List<TaskDTO> tasks;
+
+    private CategoryWithTasksDTO(Category category) {
+        this.id = category.getId();
+        this.villaId = category.getVillaId();
+        this.name = category.getName();
+        this.startDate = category.getStartDate();
+        this.endDate = category.getEndDate();
+        this.progress = category.getProgress();
+        this.status = category.getStatus();
+        this.tasksCount = category.getTasksCount();
+        this.completedTasks = category.getCompletedTasks();
+        this.tasks = category.getTasks().stream().map(TaskDTO::from).collect(Collectors.toList());
+    }
+
+    public static CategoryWithTasksDTO from(Category category) {
+        return new CategoryWithTasksDTO(category);
+    }
+
+    public Long getId() { return id; }
+    public Long getVillaId() { return villaId; }
+    public String getName() { return name; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public Integer getProgress() { return progress; }
+    public Category.CategoryStatus getStatus() { return status; }
+    public Integer getTasksCount() { return tasksCount; }
+    public Integer getCompletedTasks() { return completedTasks; }
+    public List<TaskDTO> getTasks() { return tasks; }
+}
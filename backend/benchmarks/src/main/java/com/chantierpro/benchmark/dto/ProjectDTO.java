@@ -0,0 +1,55 @@
+package com.chantierpro.benchmark.dto;
+
+import com.chantierpro.entity.Project;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Project with its full villa/category/task tree.
+ */
+public class ProjectDTO {
+
+    private final Long id;
+    private final String name;
+    private final String type;
+    private final String location;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Project.ProjectStatus status;
+    private final Integer progress;
+    private final Integer villasCount;
+    private final Integer alertsCount;
+    private final List<VillaDTO> villas;
+
+    private ProjectDTO(Project project) {
+        this.id = project.getId();
+        this.name = project.getName();
+        this.type = project.getType();
+        this.location = project.getLocation();
+        this.startDate = project.getStartDate();
+        this.endDate = project.getEndDate();
+        this.status = project.getStatus();
+        this.progress = project.getProgress();
+        this.villasCount = project.getVillasCount();
+        this.alertsCount = project.getAlertsCount();
+        this.villas = project.getVillas().stream().map(VillaDTO::from).collect(Collectors.toList());
+    }
+
+    public static ProjectDTO from(Project project) {
+        return new ProjectDTO(project);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getType() { return type; }
+    public String getLocation() { return location; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public Project.ProjectStatus getStatus() { return status; }
+    public Integer getProgress() { return progress; }
+    public Integer getVillasCount() { return villasCount; }
+    public Integer getAlertsCount() { return alertsCount; }
+    public List<VillaDTO> getVillas() { return villas; }
+}
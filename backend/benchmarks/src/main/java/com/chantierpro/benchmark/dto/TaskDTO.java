@@ -0,0 +1,82 @@
+package com.chantierpro.benchmark.dto;
+
+import com.chantierpro.entity.Task;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat view of a task: references are exposed as ids (plus the team name) instead of nested entities.
+ */
+public class TaskDTO {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Long categoryId;
+    private final Long villaId;
+    private final Long teamId;
+    private final String teamName;
+    private final Long templateId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDate plannedStartDate;
+    private final LocalDate plannedEndDate;
+    private final Task.TaskStatus status;
+    private final Integer progress;
+    private final Task.ProgressStatus progressStatus;
+    private final Boolean isReceived;
+    private final Boolean isPaid;
+    private final BigDecimal amount;
+    private final String remarks;
+    private final LocalDateTime updatedAt;
+
+    private TaskDTO(Task task) {
+        this.id = task.getId();
+        this.name = task.getName();
+        this.description = task.getDescription();
+        this.categoryId = task.getCategoryId();
+        this.villaId = task.getVillaId();
+        this.teamId = task.getTeamId();
+        this.teamName = task.getTeam() != null ? task.getTeam().getName() : null;
+        this.templateId = task.getTemplate() != null ? task.getTemplate().getId() : null;
+        this.startDate = task.getStartDate();
+        this.endDate = task.getEndDate();
+        this.plannedStartDate = task.getPlannedStartDate();
+        this.plannedEndDate = task.getPlannedEndDate();
+        this.status = task.getStatus();
+        this.progress = task.getProgress();
+        this.progressStatus = task.getProgressStatus();
+        this.isReceived = task.getIsReceived();
+        this.isPaid = task.getIsPaid();
+        this.amount = task.getAmount();
+        this.remarks = task.getRemarks();
+        this.updatedAt = task.getUpdatedAt();
+    }
+
+    public static TaskDTO from(Task task) {
+        return new TaskDTO(task);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public Long getCategoryId() { return categoryId; }
+    public Long getVillaId() { return villaId; }
+    public Long getTeamId() { return teamId; }
+    public String getTeamName() { return teamName; }
+    public Long getTemplateId() { return templateId; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public LocalDate getPlannedStartDate() { return plannedStartDate; }
+    public LocalDate getPlannedEndDate() { return plannedEndDate; }
+    public Task.TaskStatus getStatus() { return status; }
+    public Integer getProgress() { return progress; }
+    public Task.ProgressStatus getProgressStatus() { return progressStatus; }
+    public Boolean getIsReceived() { return isReceived; }
+    public Boolean getIsPaid() { return isPaid; }
+    public BigDecimal getAmount() { return amount; }
+    public String getRemarks() { return remarks; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
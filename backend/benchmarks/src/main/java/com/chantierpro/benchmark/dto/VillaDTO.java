@@ -0,0 +1,51 @@
+package com.chantierpro.benchmark.dto;
+
+import com.chantierpro.entity.Villa;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Villa with its categories and their tasks.
+ */
+public class VillaDTO {
+
+    private final Long id;
+    private final Long projectId;
+    private final String name;
+    private final String type;
+    private final Integer surface;
+    private final Integer progress;
+    private final Villa.VillaStatus status;
+    private final Integer categoriesCount;
+    private final Integer tasksCount;
+    private final List<CategoryWithTasksDTO> categories;
+
+    private VillaDTO(Villa villa) {
+        this.id = villa.getId();
+        this.projectId = villa.getProject() != null ? villa.getProject().getId() : null;
+        this.name = villa.getName();
+        this.type = villa.getType();
+        this.surface = villa.getSurface();
+        this.progress = villa.getProgress();
+        this.status = villa.getStatus();
+        this.categoriesCount = villa.getCategoriesCount();
+        this.tasksCount = villa.getTasksCount();
+        this.categories = villa.getCategories().stream().map(CategoryWithTasksDTO::from).collect(Collectors.toList());
+    }
+
+    public static VillaDTO from(Villa villa) {
+        return new VillaDTO(villa);
+    }
+
+    public Long getId() { return id; }
+    public Long getProjectId() { return projectId; }
+    public String getName() { return name; }
+    public String getType() { return type; }
+    public Integer getSurface() { return surface; }
+    public Integer getProgress() { return progress; }
+    public Villa.VillaStatus getStatus() { return status; }
+    public Integer getCategoriesCount() { return categoriesCount; }
+    public Integer getTasksCount() { return tasksCount; }
+    public List<CategoryWithTasksDTO> getCategories() { return categories; }
+}
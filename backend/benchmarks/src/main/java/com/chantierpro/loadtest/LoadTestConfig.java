@@ -0,0 +1,151 @@
+package com.chantierpro.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Command-line options of the load-test driver. Every option has a default, see {@link #usage()}.
+ */
+public class LoadTestConfig {
+
+    public enum Mode { CLOSED, OPEN }
+
+    private String baseUrl = "http://localhost:8080/api";
+    private Mode mode = Mode.CLOSED;
+    private int concurrency = 32;
+    private double ratePerSecond = 200;
+    private int maxInFlight = 2000;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private String output = "loadtest-results.json";
+    private long seed = 42;
+    private IdRange projectIds = new IdRange(1, 50);
+    private IdRange villaIds = new IdRange(1, 10_000);
+    private IdRange taskIds = new IdRange(1, 2_000_000);
+    private IdRange teamIds = new IdRange(1, 20);
+    private final Map<String, Integer> mix = new LinkedHashMap<>(Scenario.defaultMix());
+
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--help".equals(arg) || "-h".equals(arg)) {
+                throw new IllegalArgumentException(usage());
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg + "\n" + usage());
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--base-url" -> config.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "--mode" -> config.mode = Mode.valueOf(value.toUpperCase());
+                case "--concurrency" -> config.concurrency = Integer.parseInt(value);
+                case "--rate" -> config.ratePerSecond = Double.parseDouble(value);
+                case "--max-in-flight" -> config.maxInFlight = Integer.parseInt(value);
+                case "--warmup" -> config.warmup = parseDuration(value);
+                case "--duration" -> config.duration = parseDuration(value);
+                case "--output" -> config.output = value;
+                case "--seed" -> config.seed = Long.parseLong(value);
+                case "--project-ids" -> config.projectIds = IdRange.parse(value);
+                case "--villa-ids" -> config.villaIds = IdRange.parse(value);
+                case "--task-ids" -> config.taskIds = IdRange.parse(value);
+                case "--team-ids" -> config.teamIds = IdRange.parse(value);
+                case "--mix" -> config.parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg + "\n" + usage());
+            }
+        }
+        return config;
+    }
+
+    public static String usage() {
+        return String.join("\n",
+                "Usage: LoadTestDriver [options]",
+                "  --base-url URL         backend API root (default http://localhost:8080/api)",
+                "  --mode closed|open     closed: fixed number of looping clients; open: fixed arrival rate",
+                "  --concurrency N        clients in closed mode (default 32)",
+                "  --rate R               arrivals per second in open mode (default 200)",
+                "  --max-in-flight N      open mode: arrivals beyond N outstanding requests are dropped (default 2000)",
+                "  --warmup 10s           warm-up, not recorded (units: ms, s, m)",
+                "  --duration 60s         measured duration",
+                "  --output FILE          JSON report (default loadtest-results.json)",
+                "  --seed N               random seed for ids and the request mix",
+                "  --project-ids 1-50     id ranges requests are drawn from",
+                "  --villa-ids 1-10000",
+                "  --task-ids 1-2000000",
+                "  --team-ids 1-20",
+                "  --mix name=w,...       request weights, names: " + String.join(", ", Scenario.defaultMix().keySet()));
+    }
+
+    private void parseMix(String value) {
+        mix.replaceAll((name, weight) -> 0);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2 || !mix.containsKey(parts[0].trim())) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry + "\n" + usage());
+            }
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    public String getBaseUrl() { return baseUrl; }
+    public Mode getMode() { return mode; }
+    public int getConcurrency() { return concurrency; }
+    public double getRatePerSecond() { return ratePerSecond; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public Duration getWarmup() { return warmup; }
+    public Duration getDuration() { return duration; }
+    public String getOutput() { return output; }
+    public long getSeed() { return seed; }
+    public IdRange getProjectIds() { return projectIds; }
+    public IdRange getVillaIds() { return villaIds; }
+    public IdRange getTaskIds() { return taskIds; }
+    public IdRange getTeamIds() { return teamIds; }
+    public Map<String, Integer> getMix() { return mix; }
+
+    /**
+     * Inclusive range of ids, written {@code first-last}.
+     */
+    public static class IdRange {
+        private final long first;
+        private final long last;
+
+        public IdRange(long first, long last) {
+            if (last < first) {
+                throw new IllegalArgumentException("Empty id range " + first + "-" + last);
+            }
+            this.first = first;
+            this.last = last;
+        }
+
+        static IdRange parse(String value) {
+            String[] parts = value.split("-");
+            return parts.length == 1
+                    ? new IdRange(Long.parseLong(parts[0]), Long.parseLong(parts[0]))
+                    : new IdRange(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        }
+
+        public long pick(RandomGenerator random) {
+            return first + random.nextLong(last - first + 1);
+        }
+
+        @Override
+        public String toString() {
+            return first + "-" + last;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.chantierpro.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the {@link Scenario} mix against a running backend and writes per-request-type
+ * throughput and latency percentiles to a JSON report.
+ *
+ * Closed mode runs a fixed number of clients that send their next request as soon as the previous
+ * one completes. Open mode sends requests at a Poisson arrival rate regardless of response times and
+ * measures latency from the intended send time, so a slow server is not hidden by a slowed-down client.
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.chantierpro.loadtest.LoadTestDriver \
+ *     -Dexec.args="--mode open --rate 300 --duration 2m --villa-ids 1-2000"
+ * </pre>
+ */
+public class LoadTestDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final Scenario scenario;
+    private final HttpClient client;
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private long recordFrom;
+    private long recordUntil;
+
+    public LoadTestDriver(LoadTestConfig config) {
+        this.config = config;
+        this.scenario = new Scenario(config);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (String name : scenario.getNames()) {
+            recorders.put(name, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        new LoadTestDriver(config).run();
+    }
+
+    public void run() throws Exception {
+        long start = System.nanoTime();
+        recordFrom = start + config.getWarmup().toNanos();
+        recordUntil = recordFrom + config.getDuration().toNanos();
+
+        System.out.println("Load test against " + config.getBaseUrl() + " (" + config.getMode().name().toLowerCase()
+                + " model, warm-up " + config.getWarmup().toSeconds() + "s, measured " + config.getDuration().toSeconds() + "s)");
+
+        if (config.getMode() == LoadTestConfig.Mode.CLOSED) {
+            runClosed();
+        } else {
+            runOpen();
+        }
+
+        LoadTestReport report = new LoadTestReport(config, recorders, config.getDuration().toNanos() / 1e9, dropped.get());
+        report.print(System.out);
+        report.write(config.getOutput());
+        System.out.println("Report written to " + config.getOutput());
+    }
+
+    private void runClosed() throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(config.getConcurrency());
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            SplittableRandom random = new SplittableRandom(config.getSeed() + i);
+            clients.execute(() -> {
+                while (System.nanoTime() < recordUntil && !Thread.currentThread().isInterrupted()) {
+                    Scenario.NamedRequest request = scenario.next(random);
+                    long sentAt = System.nanoTime();
+                    boolean success;
+                    try {
+                        HttpResponse<Void> response = client.send(request.getRequest(), HttpResponse.BodyHandlers.discarding());
+                        success = response.statusCode() < 400;
+                    } catch (IOException e) {
+                        success = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    record(request.getName(), sentAt, System.nanoTime(), success);
+                }
+            });
+        }
+        clients.shutdown();
+        long remaining = recordUntil - System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        if (!clients.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+            clients.shutdownNow();
+        }
+    }
+
+    private void runOpen() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        AtomicInteger inFlight = new AtomicInteger();
+        double meanGapNanos = 1e9 / config.getRatePerSecond();
+        long nextArrival = System.nanoTime();
+
+        while (nextArrival < recordUntil) {
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long intendedAt = nextArrival;
+            nextArrival += (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+
+            if (inFlight.get() >= config.getMaxInFlight()) {
+                if (intendedAt >= recordFrom) {
+                    dropped.incrementAndGet();
+                }
+                continue;
+            }
+            Scenario.NamedRequest request = scenario.next(random);
+            inFlight.incrementAndGet();
+            client.sendAsync(request.getRequest(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.decrementAndGet();
+                        boolean success = error == null && response.statusCode() < 400;
+                        record(request.getName(), intendedAt, System.nanoTime(), success);
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void record(String name, long startedAt, long completedAt, boolean success) {
+        if (startedAt >= recordFrom && startedAt < recordUntil) {
+            recorders.get(name).record((completedAt - startedAt) / 1_000, success);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.chantierpro.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-request-type results of a load test, printed as a table and written as JSON.
+ */
+public class LoadTestReport {
+
+    private final LoadTestConfig config;
+    private final Map<String, LatencyRecorder> recorders;
+    private final double measuredSeconds;
+    private final long dropped;
+
+    public LoadTestReport(LoadTestConfig config, Map<String, LatencyRecorder> recorders, double measuredSeconds, long dropped) {
+        this.config = config;
+        this.recorders = recorders;
+        this.measuredSeconds = measuredSeconds;
+        this.dropped = dropped;
+    }
+
+    public void print(PrintStream out) {
+        out.println(String.format(Locale.ROOT, "%-26s %9s %7s %9s %9s %9s %9s %9s",
+                "request", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        long total = 0;
+        long errors = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder.Snapshot s = entry.getValue().snapshot();
+            total += s.getCount();
+            errors += s.getErrors();
+            out.println(String.format(Locale.ROOT, "%-26s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f",
+                    entry.getKey(), s.getCount(), s.getErrors(), s.getCount() / measuredSeconds,
+                    s.percentileMillis(50), s.percentileMillis(95), s.percentileMillis(99), s.maxMillis()));
+        }
+        out.println(String.format(Locale.ROOT, "%-26s %9d %7d %9.1f", "total", total, errors, total / measuredSeconds));
+        if (dropped > 0) {
+            out.println("Dropped arrivals (max in-flight reached): " + dropped);
+        }
+    }
+
+    public void write(String file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("timestamp", Instant.now().toString());
+        json.put("baseUrl", config.getBaseUrl());
+        json.put("mode", config.getMode().name().toLowerCase());
+        json.put("concurrency", config.getConcurrency());
+        json.put("ratePerSecond", number(config.getRatePerSecond()));
+        json.put("measuredSeconds", number(measuredSeconds));
+        json.put("droppedArrivals", dropped);
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder.Snapshot s = entry.getValue().snapshot();
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("name", entry.getKey());
+            endpoint.put("weight", config.getMix().get(entry.getKey()));
+            endpoint.put("count", s.getCount());
+            endpoint.put("errors", s.getErrors());
+            endpoint.put("throughput", number(s.getCount() / measuredSeconds));
+            endpoint.put("meanMs", number(s.meanMillis()));
+            endpoint.put("p50Ms", number(s.percentileMillis(50)));
+            endpoint.put("p95Ms", number(s.percentileMillis(95)));
+            endpoint.put("p99Ms", number(s.percentileMillis(99)));
+            endpoint.put("maxMs", number(s.maxMillis()));
+            endpoints.add(endpoint);
+        }
+        json.put("endpoints", endpoints);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(Path.of(file).toFile(), json);
+    }
+
+    // Three decimals, as a JSON number
+    private static BigDecimal number(double value) {
+        return BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,124 @@
+package com.chantierpro.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of the requests the frontend issues: dashboard reads, progress updates,
+ * template generations and notification polls.
+ */
+public class Scenario {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final List<String> names = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public Scenario(LoadTestConfig config) {
+        this.config = config;
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : config.getMix().entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                names.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The request mix has no positive weight");
+        }
+        this.totalWeight = total;
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Default weights, roughly what one open dashboard produces during a working day.
+     */
+    public static Map<String, Integer> defaultMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put("project", 8);
+        mix.put("project-villas", 10);
+        mix.put("villa-categories", 15);
+        mix.put("villa-tasks", 15);
+        mix.put("task-progress", 25);
+        mix.put("generate-from-templates", 2);
+        mix.put("notification-count", 20);
+        mix.put("notifications-unread", 5);
+        return mix;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Draws the next request of the mix.
+     */
+    public NamedRequest next(RandomGenerator random) {
+        int ticket = random.nextInt(totalWeight);
+        int index = 0;
+        while (cumulativeWeights[index] <= ticket) {
+            index++;
+        }
+        String name = names.get(index);
+        return new NamedRequest(name, build(name, random));
+    }
+
+    private HttpRequest build(String name, RandomGenerator random) {
+        return switch (name) {
+            case "project" -> get("/projects/" + config.getProjectIds().pick(random));
+            case "project-villas" -> get("/villas?projectId=" + config.getProjectIds().pick(random));
+            case "villa-categories" -> get("/categories?villaId=" + config.getVillaIds().pick(random));
+            case "villa-tasks" -> get("/tasks/villa/" + config.getVillaIds().pick(random));
+            case "task-progress" -> put("/tasks/" + config.getTaskIds().pick(random) + "/progress",
+                    "{\"progress\":" + (random.nextInt(11) * 10) + "}");
+            case "generate-from-templates" -> post("/tasks/generate-from-templates/" + config.getTeamIds().pick(random));
+            case "notification-count" -> get("/notifications/stats/count");
+            case "notifications-unread" -> get("/notifications/unread");
+            default -> throw new IllegalArgumentException("Unknown request: " + name);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest put(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest post(String path) {
+        return request(path).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(config.getBaseUrl() + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+    }
+
+    public static class NamedRequest {
+        private final String name;
+        private final HttpRequest request;
+
+        NamedRequest(String name, HttpRequest request) {
+            this.name = name;
+            this.request = request;
+        }
+
+        public String getName() { return name; }
+        public HttpRequest getRequest() { return request; }
+    }
+}
@@ -0,0 +1,78 @@
+package com.chantierpro.loadtest;
+
+import com.chantierpro.benchmark.BenchmarkContext;
+import com.chantierpro.support.DatasetShape;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the same load test against the backend on platform threads and on virtual threads.
+ *
+ * For each thread mode the backend is started in-process on the embedded database of the
+ * {@code test} profile, seeded with the {@link DatasetShape} given by {@code -Ddataset.*},
+ * loaded by {@link LoadTestDriver} and stopped. Both modes use the same connection pool size,
+ * so the difference comes from request threading only. Virtual threads need a Java 21 runtime.
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.chantierpro.loadtest.ThreadModeBenchmark \
+ *     -Ddataset.projects=5 -Ddataset.villasPerProject=20 \
+ *     -Dexec.args="--threads platform,virtual --pool-size 30 --mode open --rate 400 --duration 1m"
+ * </pre>
+ *
+ * Writes {@code threads-platform.json} and {@code threads-virtual.json}; every other option is
+ * passed to the driver.
+ */
+public class ThreadModeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = List.of("platform", "virtual");
+        int poolSize = 30;
+        int tomcatThreads = 200;
+        List<String> driverArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> modes = Arrays.asList(args[++i].split(","));
+                case "--pool-size" -> poolSize = Integer.parseInt(args[++i]);
+                case "--tomcat-threads" -> tomcatThreads = Integer.parseInt(args[++i]);
+                default -> driverArgs.add(args[i]);
+            }
+        }
+        if (modes.contains("virtual") && Runtime.version().feature() < 21) {
+            System.err.println("Virtual threads need a Java 21 runtime, running on " + Runtime.version());
+            System.exit(2);
+        }
+
+        DatasetShape shape = DatasetShape.fromSystemProperties();
+        for (String mode : modes) {
+            boolean virtual = switch (mode) {
+                case "platform" -> false;
+                case "virtual" -> true;
+                default -> throw new IllegalArgumentException("Unknown thread mode " + mode + ", expected platform or virtual");
+            };
+            System.out.println("=== " + mode + " threads, pool size " + poolSize + ", " + shape);
+
+            try (BenchmarkContext context = BenchmarkContext.start(
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "server.tomcat.threads.max=" + tomcatThreads,
+                    "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                    "spring.datasource.hikari.minimum-idle=" + poolSize,
+                    "spring.datasource.hikari.connection-timeout=2000")) {
+                context.seed(shape);
+                String port = context.getBean(Environment.class).getProperty("local.server.port");
+
+                List<String> runArgs = new ArrayList<>(List.of(
+                        "--base-url", "http://localhost:" + port + "/api",
+                        "--project-ids", "1-" + shape.getProjects(),
+                        "--villa-ids", "1-" + shape.getProjects() * shape.getVillasPerProject(),
+                        "--task-ids", "1-" + shape.getTotalTasks(),
+                        "--team-ids", "1-" + shape.getTeams(),
+                        "--output", "threads-" + mode + ".json"));
+                runArgs.addAll(driverArgs);
+                new LoadTestDriver(LoadTestConfig.parse(runArgs.toArray(String[]::new))).run();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.chantierpro;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback turbo filter keeping one event in {@code rate} for loggers under {@code logger},
+ * for events at {@code level} or below. WARN and ERROR events above that level always pass.
+ * Declared in logback-spring.xml, once per sampled logger.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private String logger;
+    private Level level = Level.INFO;
+    private long rate = 1;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger target, Level eventLevel, String format, Object[] params, Throwable t) {
+        if (!isStarted() || eventLevel == null || eventLevel.toInt() > level.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!target.getName().startsWith(logger) || !eventLevel.isGreaterOrEqual(target.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public void start() {
+        if (logger == null || rate < 1) {
+            addError("LogSamplingFilter requires a logger name and a rate of at least 1");
+            return;
+        }
+        super.start();
+    }
+
+    public void setLogger(String logger) {
+        this.logger = logger;
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+
+    public void setRate(long rate) {
+        this.rate = rate;
+    }
+}
@@ -0,0 +1,72 @@
+package com.chantierpro;
+
+import com.chantierpro.entity.Notification;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retention policy of the {@code notifications} table ({@code chantierpro.notifications.retention}).
+ *
+ * Rules are checked in order and the first one matching a notification's type, priority and read state decides
+ * how long it stays in the table; a rule without {@code archive-after} keeps matching notifications. Archived
+ * notifications are deleted from the archive after {@code purge-after}.
+ */
+@Component
+@ConfigurationProperties(prefix = "chantierpro.notifications.retention")
+public class NotificationRetentionProperties {
+
+    private boolean enabled = true;
+    private String cron = "0 30 2 * * *";
+    private int chunkSize = 1000;
+    private long pauseMillis = 50;
+    private Duration purgeAfter = Duration.ofDays(730);
+    private List<Rule> rules = new ArrayList<>();
+
+    public static class Rule {
+        // null matches any value
+        private Notification.NotificationType type;
+        private Notification.Priority priority;
+        private Boolean read;
+        private Duration archiveAfter;
+
+        public boolean matches(Notification.NotificationType type, Notification.Priority priority, boolean read) {
+            return (this.type == null || this.type == type)
+                    && (this.priority == null || this.priority == priority)
+                    && (this.read == null || this.read == read);
+        }
+
+        public Notification.NotificationType getType() { return type; }
+        public void setType(Notification.NotificationType type) { this.type = type; }
+
+        public Notification.Priority getPriority() { return priority; }
+        public void setPriority(Notification.Priority priority) { this.priority = priority; }
+
+        public Boolean getRead() { return read; }
+        public void setRead(Boolean read) { this.read = read; }
+
+        public Duration getArchiveAfter() { return archiveAfter; }
+        public void setArchiveAfter(Duration archiveAfter) { this.archiveAfter = archiveAfter; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getCron() { return cron; }
+    public void setCron(String cron) { this.cron = cron; }
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public long getPauseMillis() { return pauseMillis; }
+    public void setPauseMillis(long pauseMillis) { this.pauseMillis = pauseMillis; }
+
+    public Duration getPurgeAfter() { return purgeAfter; }
+    public void setPurgeAfter(Duration purgeAfter) { this.purgeAfter = purgeAfter; }
+
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+}
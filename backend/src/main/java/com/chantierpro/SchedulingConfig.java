@@ -0,0 +1,16 @@
+package com.chantierpro;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (notification detectors, index commits, reloads).
+ * {@code chantierpro.scheduling.enabled=false} turns all of them off, e.g. in the test profile where
+ * statements are counted across the whole session factory.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "chantierpro.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
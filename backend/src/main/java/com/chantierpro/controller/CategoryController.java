@@ -3,6 +3,8 @@ package com.chantierpro.controller;
 import com.chantierpro.entity.Category;
 import com.chantierpro.dto.CategoryDTO;
 import com.chantierpro.service.CategoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +17,8 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class CategoryController {
 
+    private static final Logger log = LoggerFactory.getLogger(CategoryController.class);
+
     @Autowired
     private CategoryService categoryService;
 
@@ -49,14 +53,10 @@ public class CategoryController {
     @PostMapping("/villa")
     public ResponseEntity<?> createCategoryForVilla(@Valid @RequestBody CategoryDTO categoryDTO) {
         try {
-            System.out.println("Received category DTO: " + categoryDTO.getName() + ", villaId: " + categoryDTO.getVillaId());
-            System.out.println("Start date: " + categoryDTO.getStartDate() + ", End date: " + categoryDTO.getEndDate());
-            
             Category createdCategory = categoryService.createCategoryFromDTO(categoryDTO);
             return ResponseEntity.ok(createdCategory);
         } catch (Exception e) {
-            System.err.println("Error creating category: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error creating category for villa {}: {}", categoryDTO.getVillaId(), e.getMessage());
             return ResponseEntity.badRequest().body("Error creating category: " + e.getMessage());
         }
     }
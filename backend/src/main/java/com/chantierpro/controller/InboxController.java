@@ -0,0 +1,59 @@
+package com.chantierpro.controller;
+
+import com.chantierpro.dto.InboxPageDTO;
+import com.chantierpro.service.NotificationInboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/users/{userId}/inbox")
+@CrossOrigin(origins = "http://localhost:3000")
+public class InboxController {
+
+    @Autowired
+    private NotificationInboxService notificationInboxService;
+
+    @GetMapping
+    public ResponseEntity<InboxPageDTO> getInbox(@PathVariable Long userId,
+                                                 @RequestParam(defaultValue = "false") boolean unreadOnly,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(notificationInboxService.getInbox(userId, unreadOnly, page, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(Map.of("unreadCount", notificationInboxService.getUnreadCount(userId)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PutMapping("/{notificationId}/read")
+    public ResponseEntity<?> markAsRead(@PathVariable Long userId, @PathVariable Long notificationId) {
+        try {
+            notificationInboxService.markAsRead(userId, notificationId);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<?> markAllAsRead(@PathVariable Long userId) {
+        try {
+            notificationInboxService.markAllAsRead(userId);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
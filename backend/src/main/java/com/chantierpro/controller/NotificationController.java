@@ -1,6 +1,8 @@
 package com.chantierpro.controller;
 
 import com.chantierpro.entity.Notification;
+import com.chantierpro.service.NotificationDetectorService;
+import com.chantierpro.service.NotificationRetentionService;
 import com.chantierpro.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,12 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationDetectorService notificationDetectorService;
+
+    @Autowired
+    private NotificationRetentionService notificationRetentionService;
+
     @GetMapping
     public ResponseEntity<List<Notification>> getAllNotifications() {
         List<Notification> notifications = notificationService.getAllNotifications();
@@ -96,4 +104,19 @@ public class NotificationController {
         );
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/stats/counters")
+    public ResponseEntity<Map<String, Object>> getNotificationCounters() {
+        return ResponseEntity.ok(notificationService.getUnreadCounters());
+    }
+
+    @PostMapping("/detect")
+    public ResponseEntity<Map<String, Long>> runDetectors() {
+        return ResponseEntity.ok(notificationDetectorService.runDetectors());
+    }
+
+    @PostMapping("/retention")
+    public ResponseEntity<Map<String, Long>> applyRetention() {
+        return ResponseEntity.ok(notificationRetentionService.applyRetention());
+    }
+}
@@ -1,12 +1,18 @@
 package com.chantierpro.controller;
 
+import com.chantierpro.dto.GanttDTO;
 import com.chantierpro.entity.Project;
+import com.chantierpro.entity.ProjectCalendar;
+import com.chantierpro.service.GanttService;
 import com.chantierpro.service.ProjectService;
+import com.chantierpro.service.WorkCalendarService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,6 +23,12 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private GanttService ganttService;
+
+    @Autowired
+    private WorkCalendarService workCalendarService;
+
     @GetMapping
     public ResponseEntity<List<Project>> getAllProjects() {
         List<Project> projects = projectService.getAllProjects();
@@ -77,4 +89,37 @@ public class ProjectController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/gantt")
+    public ResponseEntity<GanttDTO> getProjectGantt(@PathVariable Long id,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(ganttService.getProjectGantt(id, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<ProjectCalendar> getProjectCalendar(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(workCalendarService.getProjectCalendar(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PutMapping("/{id}/calendar")
+    public ResponseEntity<ProjectCalendar> updateProjectCalendar(@PathVariable Long id, @RequestBody ProjectCalendar calendar) {
+        try {
+            return ResponseEntity.ok(workCalendarService.updateProjectCalendar(id, calendar));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.chantierpro.controller;
+
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.reactive.ReactiveDashboardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Read-only dashboard endpoints backed by R2DBC, returning the same JSON as their MVC counterparts
+ * (/projects, /villas, /notifications/stats/count). No request thread is held while the database works.
+ * With {@code Accept: application/x-ndjson}, lists are streamed one element per line, and the next
+ * project is only loaded once the client has consumed the previous one.
+ */
+@RestController
+@RequestMapping("/reactive")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ReactiveDashboardController {
+
+    @Autowired
+    private ReactiveDashboardRepository dashboardRepository;
+
+    @GetMapping(value = "/projects", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Project> getAllProjects() {
+        return dashboardRepository.findAllProjects();
+    }
+
+    @GetMapping("/projects/{id}")
+    public Mono<ResponseEntity<Project>> getProjectById(@PathVariable Long id) {
+        return dashboardRepository.findProjectById(id)
+                .map(project -> ResponseEntity.ok().body(project))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/villas", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Villa> getAllVillas(@RequestParam(required = false) Long projectId) {
+        if (projectId != null) {
+            return dashboardRepository.findVillasByProjectId(projectId);
+        }
+        return dashboardRepository.findAllVillas();
+    }
+
+    @GetMapping("/notifications/stats/count")
+    public Mono<Map<String, Long>> getNotificationCounts() {
+        return dashboardRepository.countUnreadNotifications();
+    }
+}
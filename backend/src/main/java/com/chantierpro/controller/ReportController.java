@@ -0,0 +1,84 @@
+package com.chantierpro.controller;
+
+import com.chantierpro.dto.TaskAnalyticsDTO;
+import com.chantierpro.entity.ProgressSnapshot;
+import com.chantierpro.entity.Task;
+import com.chantierpro.service.ProgressSnapshotService;
+import com.chantierpro.service.TaskColumnStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/reports")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ReportController {
+
+    @Autowired
+    private ProgressSnapshotService progressSnapshotService;
+
+    @Autowired
+    private TaskColumnStore taskColumnStore;
+
+    // Last 30 days by default
+    @GetMapping("/progress/{level}/{id}")
+    public ResponseEntity<List<ProgressSnapshot>> getTrend(
+            @PathVariable ProgressSnapshot.Level level,
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        try {
+            return ResponseEntity.ok(progressSnapshotService.getTrend(level, id, start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Trend lines of all villas (level=VILLA) or categories (level=CATEGORY) of a project
+    @GetMapping("/projects/{projectId}/progress")
+    public ResponseEntity<List<ProgressSnapshot>> getProjectTrends(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "VILLA") ProgressSnapshot.Level level,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        try {
+            return ResponseEntity.ok(progressSnapshotService.getProjectTrends(projectId, level, start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/snapshots")
+    public ResponseEntity<Map<String, Integer>> takeSnapshot() {
+        return ResponseEntity.ok(progressSnapshotService.takeSnapshot(LocalDate.now()));
+    }
+
+    // Months as yyyy-MM, e.g. fromMonth=2024-01&toMonth=2024-12
+    @GetMapping("/tasks")
+    public ResponseEntity<TaskAnalyticsDTO> getTaskAnalytics(
+            @RequestParam(defaultValue = "PROJECT") String groupBy,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long villaId,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) Task.TaskStatus status,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fromMonth,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth toMonth) {
+        try {
+            TaskColumnStore.Dimension dimension = TaskColumnStore.Dimension.valueOf(groupBy.toUpperCase());
+            return ResponseEntity.ok(taskColumnStore.aggregate(dimension,
+                    new TaskColumnStore.Filter(projectId, villaId, teamId, status, fromMonth, toMonth)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.chantierpro.controller;
+
+import com.chantierpro.dto.SearchResultDTO;
+import com.chantierpro.service.SearchIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @GetMapping
+    public ResponseEntity<List<SearchResultDTO>> search(@RequestParam String q,
+                                                        @RequestParam(required = false) Long projectId,
+                                                        @RequestParam(required = false) String kind,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(searchIndexService.search(q, projectId, kind, Math.max(1, Math.min(limit, MAX_LIMIT))));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild() {
+        searchIndexService.requestRebuild();
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -1,9 +1,14 @@
 package com.chantierpro.controller;
 
 import com.chantierpro.entity.Task;
+import com.chantierpro.entity.TaskDependency;
 import com.chantierpro.entity.TaskTemplate;
+import com.chantierpro.service.TaskDependencyService;
 import com.chantierpro.service.TaskService;
+import com.chantierpro.service.TaskStatusRecomputeService;
 import com.chantierpro.service.TaskTemplateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,12 +22,20 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class TaskController {
 
+    private static final Logger log = LoggerFactory.getLogger(TaskController.class);
+
     @Autowired
     private TaskService taskService;
     
     @Autowired
     private TaskTemplateService taskTemplateService;
 
+    @Autowired
+    private TaskStatusRecomputeService taskStatusRecomputeService;
+
+    @Autowired
+    private TaskDependencyService taskDependencyService;
+
     @GetMapping
     public ResponseEntity<List<Task>> getAllTasks(@RequestParam(required = false) Long categoryId) {
         List<Task> tasks;
@@ -98,14 +111,10 @@ public class TaskController {
                 return ResponseEntity.badRequest().build();
             }
             
-            System.out.println("Fetching tasks for category ID: " + categoryId + " and villa ID: " + villaId);
             List<Task> tasks = taskService.getTasksByCategoryIdAndVillaId(categoryId, villaId);
-            System.out.println("Found " + tasks.size() + " tasks");
-            
             return ResponseEntity.ok(tasks);
         } catch (Exception e) {
-            System.err.println("Error fetching tasks by category and villa: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching tasks for category {} and villa {}", categoryId, villaId, e);
             return ResponseEntity.status(500).build();
         }
     }
@@ -113,12 +122,10 @@ public class TaskController {
     @PostMapping("/create-for-team/{teamId}")
     public ResponseEntity<?> createTaskForTeam(@PathVariable Long teamId, @RequestBody Task task) {
         try {
-            System.out.println("Creating task for team ID: " + teamId);
             Task createdTask = taskService.createTaskForTeam(teamId, task);
             return ResponseEntity.ok(createdTask);
         } catch (Exception e) {
-            System.err.println("Error creating task for team: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error creating task for team {}: {}", teamId, e.getMessage());
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
@@ -126,12 +133,10 @@ public class TaskController {
     @PostMapping("/generate-from-templates/{teamId}")
     public ResponseEntity<?> generateTasksFromTemplates(@PathVariable Long teamId) {
         try {
-            System.out.println("Generating tasks from templates for team ID: " + teamId);
             List<Task> generatedTasks = taskService.generateTasksFromTemplates(teamId);
             return ResponseEntity.ok(generatedTasks);
         } catch (Exception e) {
-            System.err.println("Error generating tasks from templates: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error generating tasks from templates for team {}: {}", teamId, e.getMessage());
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
@@ -241,4 +246,37 @@ public class TaskController {
         List<Task> tasks = taskService.getTasksByTemplateIdAndTeamId(templateId, teamId);
         return ResponseEntity.ok(tasks);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/status/recompute")
+    public ResponseEntity<Map<String, Long>> recomputeStatuses() {
+        return ResponseEntity.ok(taskStatusRecomputeService.recompute());
+    }
+
+    @GetMapping("/{id}/dependencies")
+    public ResponseEntity<List<TaskDependency>> getDependencies(@PathVariable Long id) {
+        return ResponseEntity.ok(taskDependencyService.getDependencies(id));
+    }
+
+    @PostMapping("/{id}/dependencies")
+    public ResponseEntity<?> addDependency(@PathVariable Long id,
+                                           @RequestParam Long predecessorId,
+                                           @RequestParam(defaultValue = "0") int lagDays) {
+        try {
+            return ResponseEntity.ok(taskDependencyService.addDependency(id, predecessorId, lagDays));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}/dependencies/{predecessorId}")
+    public ResponseEntity<?> removeDependency(@PathVariable Long id, @PathVariable Long predecessorId) {
+        try {
+            taskDependencyService.removeDependency(id, predecessorId);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
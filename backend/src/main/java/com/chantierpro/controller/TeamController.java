@@ -1,13 +1,21 @@
 package com.chantierpro.controller;
 
+import com.chantierpro.dto.TeamLoadDTO;
 import com.chantierpro.dto.TeamWithTasksDTO;
 import com.chantierpro.entity.Team;
+import com.chantierpro.service.TeamCapacityService;
 import com.chantierpro.service.TeamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.Map;
 
@@ -16,9 +24,14 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class TeamController {
 
+    private static final Logger log = LoggerFactory.getLogger(TeamController.class);
+
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private TeamCapacityService teamCapacityService;
+
     @GetMapping
     public ResponseEntity<List<Team>> getAllTeams() {
         List<Team> teams = teamService.getAllTeams();
@@ -41,17 +54,10 @@ public class TeamController {
     @PostMapping("/with-default-tasks")
     public ResponseEntity<?> createTeamWithDefaultTasks(@Valid @RequestBody TeamWithTasksDTO teamWithTasksDTO) {
         try {
-            System.out.println("TeamController: Received request to create team with default tasks");
-            System.out.println("Team name: " + teamWithTasksDTO.getTeam().getName());
-            System.out.println("Default tasks count: " + 
-                             (teamWithTasksDTO.getDefaultTasks() != null ? teamWithTasksDTO.getDefaultTasks().size() : 0));
-            
             Team createdTeam = teamService.createTeamWithDefaultTasks(teamWithTasksDTO);
-            System.out.println("TeamController: Team created successfully with ID: " + createdTeam.getId());
             return ResponseEntity.ok(createdTeam);
         } catch (Exception e) {
-            System.err.println("TeamController: Error creating team with default tasks: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error creating team with default tasks: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
@@ -128,4 +134,31 @@ public class TeamController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/load")
+    public ResponseEntity<TeamLoadDTO> getTeamLoad(@PathVariable Long id,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(teamCapacityService.getTeamLoad(id, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Next week (Monday to Sunday) by default
+    @GetMapping("/overallocated")
+    public ResponseEntity<List<TeamLoadDTO>> getOverallocatedTeams(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        LocalDate end = to != null ? to : start.plusDays(6);
+        try {
+            return ResponseEntity.ok(teamCapacityService.getOverallocatedTeams(start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.chantierpro.controller;
+
+import com.chantierpro.dto.TypeaheadSuggestionDTO;
+import com.chantierpro.service.TypeaheadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/typeahead")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TypeaheadController {
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @GetMapping
+    public ResponseEntity<List<TypeaheadSuggestionDTO>> suggest(@RequestParam String q,
+                                                                @RequestParam(required = false) String kind,
+                                                                @RequestParam(required = false) Long projectId,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(typeaheadService.suggest(q, kind, projectId, Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+}
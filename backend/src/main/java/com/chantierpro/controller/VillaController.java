@@ -1,12 +1,16 @@
 package com.chantierpro.controller;
 
+import com.chantierpro.dto.GanttDTO;
 import com.chantierpro.entity.Villa;
+import com.chantierpro.service.GanttService;
 import com.chantierpro.service.VillaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,6 +21,9 @@ public class VillaController {
     @Autowired
     private VillaService villaService;
 
+    @Autowired
+    private GanttService ganttService;
+
     @GetMapping
     public ResponseEntity<List<Villa>> getAllVillas(@RequestParam(required = false) Long projectId) {
         List<Villa> villas;
@@ -88,4 +95,17 @@ public class VillaController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/gantt")
+    public ResponseEntity<GanttDTO> getVillaGantt(@PathVariable Long id,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(ganttService.getVillaGantt(id, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
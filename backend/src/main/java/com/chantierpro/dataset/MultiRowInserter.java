@@ -0,0 +1,86 @@
+package com.chantierpro.dataset;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers rows for one table and writes them as multi-row
+ * {@code INSERT INTO t (...) VALUES (...), (...), ...} statements.
+ * A parent inserter (the table referenced by a foreign key) is always flushed first.
+ */
+class MultiRowInserter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String columnList;
+    private final String rowPlaceholders;
+    private final int columnCount;
+    private final int rowsPerStatement;
+    private final MultiRowInserter parent;
+    private final List<Object[]> buffer;
+    private final String fullStatement;
+    private long rowCount;
+
+    MultiRowInserter(JdbcTemplate jdbcTemplate, String table, String[] columns, int rowsPerStatement, MultiRowInserter parent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.columnList = String.join(", ", columns);
+        this.rowPlaceholders = "(" + "?, ".repeat(columns.length - 1) + "?)";
+        this.columnCount = columns.length;
+        this.rowsPerStatement = rowsPerStatement;
+        this.parent = parent;
+        this.buffer = new ArrayList<>(rowsPerStatement);
+        this.fullStatement = statementFor(rowsPerStatement);
+    }
+
+    void add(Object... values) {
+        if (values.length != columnCount) {
+            throw new IllegalArgumentException("Expected " + columnCount + " values for " + table + " but got " + values.length);
+        }
+        buffer.add(values);
+        if (buffer.size() >= rowsPerStatement) {
+            flush();
+        }
+    }
+
+    void flush() {
+        if (parent != null) {
+            parent.flush();
+        }
+        if (buffer.isEmpty()) {
+            return;
+        }
+        String sql = buffer.size() == rowsPerStatement ? fullStatement : statementFor(buffer.size());
+        Object[] args = new Object[buffer.size() * columnCount];
+        int i = 0;
+        for (Object[] row : buffer) {
+            System.arraycopy(row, 0, args, i, columnCount);
+            i += columnCount;
+        }
+        jdbcTemplate.update(sql, args);
+        rowCount += buffer.size();
+        buffer.clear();
+    }
+
+    String getTable() {
+        return table;
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    private String statementFor(int rows) {
+        StringBuilder sql = new StringBuilder(64 + rows * (rowPlaceholders.length() + 2));
+        sql.append("INSERT INTO ").append(table).append(" (").append(columnList).append(") VALUES ");
+        for (int r = 0; r < rows; r++) {
+            if (r > 0) {
+                sql.append(", ");
+            }
+            sql.append(rowPlaceholders);
+        }
+        return sql.toString();
+    }
+}
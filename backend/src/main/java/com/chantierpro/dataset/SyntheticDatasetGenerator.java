@@ -0,0 +1,566 @@
+package com.chantierpro.dataset;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Notification;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.User;
+import com.chantierpro.entity.Villa;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic dataset at production scale: projects, villas, categories, tasks, teams,
+ * task templates, team/template links, users and notifications.
+ *
+ * Rows are written with plain JDBC as multi-row INSERT statements, bypassing Hibernate, with ids
+ * assigned up front so that no generated keys have to be read back. Dates, statuses, progress,
+ * amounts and reception/payment flags follow the planning relative to today, and the denormalized
+ * counters (category, villa, project, team stats) are computed the same way the services compute them.
+ * Data is appended to whatever the database already contains.
+ */
+@Configuration
+public class SyntheticDatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDatasetGenerator.class);
+
+    private static final String[] PHASES = {
+            "Terrassement", "Gros Œuvre", "Étanchéité", "Plomberie", "Électricité",
+            "Menuiserie", "Plâtrerie", "Carrelage", "Peinture", "Finitions"
+    };
+
+    private static final String[][] PHASE_TASKS = {
+            {"Décapage du terrain", "Fouilles en rigole", "Remblai compacté", "Évacuation des déblais"},
+            {"Semelles filantes", "Élévation des murs", "Coulage de la dalle", "Poteaux et chaînages"},
+            {"Étanchéité toiture", "Isolation terrasse", "Relevés d'étanchéité", "Protection lourde"},
+            {"Installation conduits principal", "Raccordement sanitaires", "Pose chauffe-eau", "Essais de pression"},
+            {"Câblage électrique", "Pose tableau électrique", "Prises et interrupteurs", "Mise à la terre"},
+            {"Pose des fenêtres", "Pose des portes intérieures", "Placards intégrés", "Porte d'entrée"},
+            {"Cloisons en plâtre", "Faux plafonds", "Enduits intérieurs", "Corniches"},
+            {"Chape de ravoirage", "Carrelage sol", "Faïence salle de bain", "Plinthes"},
+            {"Sous-couche", "Peinture intérieure", "Peinture façade", "Retouches"},
+            {"Nettoyage de chantier", "Pose des équipements", "Contrôle qualité", "Levée des réserves"}
+    };
+
+    private static final String[] PROJECT_NAMES = {
+            "Les Oliviers", "Al Manar", "Les Jardins", "Palmeraie", "Les Orangers", "Al Andalous",
+            "Les Amandiers", "Bab Salam", "Les Cèdres", "Anfa Park"
+    };
+    private static final String[] PROJECT_TYPES = {"Résidentiel", "Résidentiel", "Résidentiel", "Commercial", "Mixte"};
+    private static final String[] LOCATIONS = {"Casablanca", "Rabat", "Marrakech", "Tanger", "Agadir", "Fès", "Kénitra"};
+    private static final String[] VILLA_TYPES = {"Villa Type A", "Villa Type B", "Villa Type C", "Villa Jumelée"};
+    private static final String[] FIRST_NAMES = {"Ahmed", "Fatima", "Mohamed", "Khadija", "Youssef", "Aicha", "Omar", "Salma", "Karim", "Nadia"};
+    private static final String[] LAST_NAMES = {"Benali", "Zahra", "Alami", "Bennani", "Tazi", "Idrissi", "Fassi", "Berrada", "Chraibi", "Lahlou"};
+    private static final String[] DELAY_REMARKS = {
+            "Retard dû aux conditions météo", "Livraison des matériaux en retard", "Équipe incomplète",
+            "Attente validation du bureau de contrôle", "Reprise de travaux non conformes"
+    };
+    private static final String[] REMARKS = {"Travail conforme aux normes", "RAS", "À vérifier lors de la réception"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${dataset.projects:50}")
+    private int projects;
+
+    @Value("${dataset.villas-per-project:200}")
+    private int villasPerProject;
+
+    @Value("${dataset.categories-per-villa:10}")
+    private int categoriesPerVilla;
+
+    @Value("${dataset.tasks-per-category:20}")
+    private int tasksPerCategory;
+
+    @Value("${dataset.teams:20}")
+    private int teams;
+
+    @Value("${dataset.templates:60}")
+    private int templates;
+
+    @Value("${dataset.users:50}")
+    private int users;
+
+    @Value("${dataset.notification-ratio:0.5}")
+    private double notificationRatio;
+
+    @Value("${dataset.rows-per-statement:1000}")
+    private int rowsPerStatement;
+
+    @Value("${dataset.seed:42}")
+    private long seed;
+
+    /**
+     * This bean will run only when the 'dataset' profile is active.
+     * To generate the default 2M-task dataset: mvn spring-boot:run -Dspring-boot.run.profiles=dataset
+     * Sizes are overridden with -Dspring-boot.run.arguments="--dataset.projects=5 --dataset.villas-per-project=20"
+     * The JVM exits once the dataset is written, before ApplicationReadyEvent would start the in-memory
+     * index loaders (search, analytics, capacity, typeahead, inbox, counters, deadline alerts).
+     */
+    @Bean
+    @Profile("dataset")
+    public CommandLineRunner generateSyntheticDataset() {
+        return args -> {
+            generate();
+            System.exit(SpringApplication.exit(applicationContext));
+        };
+    }
+
+    public void generate() {
+        long startedAt = System.nanoTime();
+        long expectedTasks = (long) projects * villasPerProject * categoriesPerVilla * tasksPerCategory;
+        log.info("Generating synthetic dataset: {} projects x {} villas x {} categories x {} tasks ({} tasks)",
+                projects, villasPerProject, categoriesPerVilla, tasksPerCategory, expectedTasks);
+
+        new Run(new SplittableRandom(seed)).execute();
+
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        log.info("Synthetic dataset generated in {} s", String.format("%.1f", seconds));
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return (max == null ? 0 : max) + 1;
+    }
+
+    /**
+     * State of one generation run: id counters, inserters and the per-team counters used for team stats.
+     */
+    private class Run {
+
+        private final SplittableRandom random;
+        private final LocalDate today = LocalDate.now();
+        private final LocalDateTime now = LocalDateTime.now();
+
+        private final MultiRowInserter projectRows;
+        private final MultiRowInserter villaRows;
+        private final MultiRowInserter categoryRows;
+        private final MultiRowInserter taskRows;
+        private final MultiRowInserter notificationRows;
+
+        private long nextProjectId = nextId("projects");
+        private long nextVillaId = nextId("villas");
+        private long nextCategoryId = nextId("categories");
+        private long nextTaskId = nextId("tasks");
+        private long nextNotificationId = nextId("notifications");
+
+        private long[] teamIds;
+        private long[] templateIds;
+        private String[] templateNames;
+        private String[] templateDescriptions;
+        private BigDecimal[] templateAmounts;
+        private final List<List<Integer>> teamsByPhase = new ArrayList<>();
+        private final List<List<Integer>> templatesByPhase = new ArrayList<>();
+        private int[] teamTotalTasks;
+        private int[] teamActiveTasks;
+        private int[] teamCompletedTasks;
+
+        private final List<Object[]> projectUpdates = new ArrayList<>();
+        private int projectUnreadAlerts;
+
+        Run(SplittableRandom random) {
+            this.random = random;
+            this.projectRows = new MultiRowInserter(jdbcTemplate, "projects", new String[]{
+                    "id", "name", "type", "location", "start_date", "end_date", "status", "progress",
+                    "villas_count", "alerts_count", "created_at", "updated_at"}, rowsPerStatement, null);
+            this.villaRows = new MultiRowInserter(jdbcTemplate, "villas", new String[]{
+                    "id", "project_id", "name", "type", "surface", "progress", "status", "categories_count",
+                    "tasks_count", "last_modified", "created_at"}, rowsPerStatement, projectRows);
+            this.categoryRows = new MultiRowInserter(jdbcTemplate, "categories", new String[]{
+                    "id", "villa_id", "name", "start_date", "end_date", "progress", "status", "tasks_count",
+                    "completed_tasks", "created_at", "updated_at"}, rowsPerStatement, villaRows);
+            this.taskRows = new MultiRowInserter(jdbcTemplate, "tasks", new String[]{
+                    "id", "category_id", "villa_id", "template_id", "team_id", "name", "description",
+                    "start_date", "end_date", "planned_start_date", "planned_end_date", "status", "progress",
+                    "progress_status", "is_received", "is_paid", "amount", "remarks", "created_at", "updated_at"},
+                    rowsPerStatement, categoryRows);
+            this.notificationRows = new MultiRowInserter(jdbcTemplate, "notifications", new String[]{
+                    "id", "type", "title", "message", "priority", "is_read", "created_at", "project_id",
+                    "villa_id", "task_id"}, rowsPerStatement, taskRows);
+        }
+
+        void execute() {
+            generateUsers();
+            generateTeams();
+            generateTemplates();
+            generateTeamTemplateLinks();
+
+            for (int p = 0; p < projects; p++) {
+                generateProject(p);
+                if ((p + 1) % Math.max(1, projects / 20) == 0 || p == projects - 1) {
+                    log.info("{}/{} projects, {} task ids used", p + 1, projects, nextTaskId - 1);
+                }
+            }
+            generateInactiveTeamNotifications();
+            notificationRows.flush();
+
+            jdbcTemplate.batchUpdate("UPDATE projects SET status = ?, progress = ?, villas_count = ?, alerts_count = ? WHERE id = ?",
+                    projectUpdates);
+            List<Object[]> teamUpdates = new ArrayList<>();
+            for (int t = 0; t < teamIds.length; t++) {
+                int performance = teamTotalTasks[t] == 0 ? 0 : teamCompletedTasks[t] * 100 / teamTotalTasks[t];
+                teamUpdates.add(new Object[]{teamActiveTasks[t], performance, teamIds[t]});
+            }
+            jdbcTemplate.batchUpdate("UPDATE teams SET active_tasks = ?, performance = ? WHERE id = ?", teamUpdates);
+
+            restartIdentityColumnsIfNeeded();
+
+            for (MultiRowInserter inserter : List.of(projectRows, villaRows, categoryRows, taskRows, notificationRows)) {
+                log.info("{}: {} rows", inserter.getTable(), inserter.getRowCount());
+            }
+        }
+
+        private void generateUsers() {
+            MultiRowInserter userRows = new MultiRowInserter(jdbcTemplate, "users", new String[]{
+                    "id", "name", "email", "role", "created_at", "updated_at"}, rowsPerStatement, null);
+            long id = nextId("users");
+            for (int u = 0; u < users; u++, id++) {
+                String first = pick(FIRST_NAMES);
+                String last = pick(LAST_NAMES);
+                double r = random.nextDouble();
+                User.UserRole role = r < 0.05 ? User.UserRole.ADMIN : r < 0.25 ? User.UserRole.TEAM_LEADER : User.UserRole.WORKER;
+                userRows.add(id, first + " " + last, (first + "." + last + "." + id + "@example.com").toLowerCase(),
+                        role.name(), now, now);
+            }
+            userRows.flush();
+        }
+
+        private void generateTeams() {
+            MultiRowInserter teamRows = new MultiRowInserter(jdbcTemplate, "teams", new String[]{
+                    "id", "name", "specialty", "members_count", "active_tasks", "performance", "last_activity",
+                    "created_at", "updated_at"}, rowsPerStatement, null);
+            for (int phase = 0; phase < PHASES.length; phase++) {
+                teamsByPhase.add(new ArrayList<>());
+            }
+            teamIds = new long[teams];
+            teamTotalTasks = new int[teams];
+            teamActiveTasks = new int[teams];
+            teamCompletedTasks = new int[teams];
+            long id = nextId("teams");
+            for (int t = 0; t < teams; t++, id++) {
+                int phase = t % PHASES.length;
+                teamIds[t] = id;
+                teamsByPhase.get(phase).add(t);
+                String name = "Équipe " + PHASES[phase] + (t >= PHASES.length ? " " + (t / PHASES.length + 1) : "");
+                teamRows.add(id, name, PHASES[phase], random.nextInt(2, 11), 0, 0,
+                        now.minusHours(random.nextInt(0, 24 * 14)), now, now);
+            }
+            teamRows.flush();
+        }
+
+        private void generateTemplates() {
+            MultiRowInserter templateRows = new MultiRowInserter(jdbcTemplate, "task_templates", new String[]{
+                    "id", "name", "description", "duration_days", "default_amount", "created_at", "updated_at"},
+                    rowsPerStatement, null);
+            for (int phase = 0; phase < PHASES.length; phase++) {
+                templatesByPhase.add(new ArrayList<>());
+            }
+            templateIds = new long[templates];
+            templateNames = new String[templates];
+            templateDescriptions = new String[templates];
+            templateAmounts = new BigDecimal[templates];
+            long id = nextId("task_templates");
+            for (int t = 0; t < templates; t++, id++) {
+                int phase = t % PHASES.length;
+                int variant = t / PHASES.length;
+                String[] names = PHASE_TASKS[phase];
+                templateIds[t] = id;
+                templateNames[t] = names[variant % names.length] + (variant >= names.length ? " (" + (variant / names.length + 1) + ")" : "");
+                templateDescriptions[t] = templateNames[t] + " - lot " + PHASES[phase];
+                templateAmounts[t] = BigDecimal.valueOf(random.nextInt(4, 81) * 500L).setScale(2);
+                templatesByPhase.get(phase).add(t);
+                templateRows.add(id, templateNames[t], templateDescriptions[t], random.nextInt(2, 16), templateAmounts[t], now, now);
+            }
+            templateRows.flush();
+        }
+
+        private void generateTeamTemplateLinks() {
+            MultiRowInserter linkRows = new MultiRowInserter(jdbcTemplate, "team_task_template", new String[]{
+                    "id", "team_id", "task_template_id"}, rowsPerStatement, null);
+            long id = nextId("team_task_template");
+            for (int t = 0; t < teams; t++) {
+                for (int template : templatesByPhase.get(t % PHASES.length)) {
+                    linkRows.add(id++, teamIds[t], templateIds[template]);
+                }
+            }
+            linkRows.flush();
+        }
+
+        private void generateProject(int index) {
+            long projectId = nextProjectId++;
+            LocalDate start = today.minusDays(random.nextInt(60, 900));
+            int duration = random.nextInt(300, 721);
+            LocalDate end = start.plusDays(duration);
+            projectRows.add(projectId, "Résidence " + PROJECT_NAMES[index % PROJECT_NAMES.length] + " " + (index / PROJECT_NAMES.length + 1),
+                    pick(PROJECT_TYPES), pick(LOCATIONS), start, end, Project.ProjectStatus.ACTIVE.name(), 0, 0, 0, now, now);
+
+            projectUnreadAlerts = 0;
+            int completedVillas = 0;
+            for (int v = 0; v < villasPerProject; v++) {
+                if (generateVilla(projectId, v, start, duration) == Villa.VillaStatus.COMPLETED) {
+                    completedVillas++;
+                }
+            }
+
+            int progress = villasPerProject == 0 ? 0 : completedVillas * 100 / villasPerProject;
+            Project.ProjectStatus status = progress == 100 ? Project.ProjectStatus.COMPLETED
+                    : random.nextDouble() < 0.05 ? Project.ProjectStatus.PAUSED : Project.ProjectStatus.ACTIVE;
+            projectUpdates.add(new Object[]{status.name(), progress, villasPerProject, projectUnreadAlerts, projectId});
+        }
+
+        /**
+         * Builds one villa with its categories and tasks in memory so the villa row carries its final stats,
+         * then queues the villa, category and task rows in foreign-key order.
+         */
+        private Villa.VillaStatus generateVilla(long projectId, int index, LocalDate projectStart, int projectDuration) {
+            long villaId = nextVillaId++;
+            LocalDate villaStart = projectStart.plusDays(random.nextInt(0, projectDuration / 4 + 1));
+            int villaSpan = (int) (projectDuration * (0.6 + random.nextDouble() * 0.15));
+            double categorySlice = (double) villaSpan / Math.max(1, categoriesPerVilla);
+
+            List<Object[]> categories = new ArrayList<>(categoriesPerVilla);
+            List<Object[]> tasks = new ArrayList<>(categoriesPerVilla * tasksPerCategory);
+            List<Object[]> notifications = new ArrayList<>();
+            int completedCategories = 0;
+
+            for (int c = 0; c < categoriesPerVilla; c++) {
+                long categoryId = nextCategoryId++;
+                int phase = c % PHASES.length;
+                LocalDate categoryStart = villaStart.plusDays((long) (c * categorySlice * 0.85));
+                int categorySpan = Math.max(tasksPerCategory, (int) (categorySlice * 1.3));
+                LocalDate categoryEnd = categoryStart.plusDays(categorySpan);
+                double taskSlot = (double) categorySpan / Math.max(1, tasksPerCategory);
+
+                int completedTasks = 0;
+                for (int t = 0; t < tasksPerCategory; t++) {
+                    LocalDate plannedStart = categoryStart.plusDays((long) (t * taskSlot * 0.8));
+                    LocalDate plannedEnd = plannedStart.plusDays(Math.max(1, (long) (taskSlot * (0.8 + random.nextDouble() * 0.6))));
+                    if (generateTask(projectId, villaId, categoryId, phase, plannedStart, plannedEnd, tasks, notifications)) {
+                        completedTasks++;
+                    }
+                }
+
+                // Same rules as CategoryService.updateCategoryStats
+                int progress = 0;
+                Category.CategoryStatus status = Category.CategoryStatus.ON_SCHEDULE;
+                if (tasksPerCategory > 0) {
+                    progress = completedTasks * 100 / tasksPerCategory;
+                    if (progress == 100) {
+                        status = Category.CategoryStatus.ON_SCHEDULE;
+                    } else if (progress > 75) {
+                        status = Category.CategoryStatus.IN_PROGRESS;
+                    } else if (progress > 50) {
+                        status = Category.CategoryStatus.WARNING;
+                    } else {
+                        status = Category.CategoryStatus.DELAYED;
+                    }
+                }
+                if (status == Category.CategoryStatus.ON_SCHEDULE) {
+                    completedCategories++;
+                }
+                String name = PHASES[phase] + (c >= PHASES.length ? " " + (c / PHASES.length + 1) : "");
+                categories.add(new Object[]{categoryId, villaId, name, categoryStart, categoryEnd, progress, status.name(),
+                        tasksPerCategory, completedTasks, now, now});
+            }
+
+            // Same rules as VillaService.updateVillaStats
+            int progress = 0;
+            Villa.VillaStatus status = Villa.VillaStatus.NOT_STARTED;
+            if (categoriesPerVilla > 0) {
+                progress = completedCategories * 100 / categoriesPerVilla;
+                if (progress == 100) {
+                    status = Villa.VillaStatus.COMPLETED;
+                } else if (progress > 0) {
+                    status = Villa.VillaStatus.IN_PROGRESS;
+                }
+            }
+            villaRows.add(villaId, projectId, "Villa " + (char) ('A' + index % 26) + (index / 26 + 1), pick(VILLA_TYPES),
+                    random.nextInt(120, 351), progress, status.name(), categoriesPerVilla, categoriesPerVilla * tasksPerCategory,
+                    now.minusHours(random.nextInt(0, 24 * 30)), now);
+            for (Object[] row : categories) {
+                categoryRows.add(row);
+            }
+            for (Object[] row : tasks) {
+                taskRows.add(row);
+            }
+            for (Object[] row : notifications) {
+                notificationRows.add(row);
+            }
+            return status;
+        }
+
+        /**
+         * Derives status, progress and flags of one task from its planning, a random slip and today's date.
+         * Returns whether the task is completed.
+         */
+        private boolean generateTask(long projectId, long villaId, long categoryId, int phase, LocalDate plannedStart,
+                                     LocalDate plannedEnd, List<Object[]> tasks, List<Object[]> notifications) {
+            long taskId = nextTaskId++;
+            int team = pickIndex(teamsByPhase.get(phase), teams);
+            int template = pickIndex(templatesByPhase.get(phase), templates);
+
+            String name = template >= 0 ? templateNames[template] : pick(PHASE_TASKS[phase]);
+            String description = template >= 0 ? templateDescriptions[template] : name;
+            BigDecimal baseAmount = template >= 0 ? templateAmounts[template] : BigDecimal.valueOf(random.nextInt(4, 81) * 500L);
+            BigDecimal amount = baseAmount.multiply(BigDecimal.valueOf(0.8 + random.nextDouble() * 0.5)).setScale(2, RoundingMode.HALF_UP);
+
+            // 65% on time, 20% late by up to 20 days, 15% early by up to 5 days
+            double r = random.nextDouble();
+            int slip = r < 0.65 ? 0 : r < 0.85 ? random.nextInt(1, 21) : -random.nextInt(1, 6);
+            LocalDate actualEnd = plannedEnd.plusDays(slip);
+            LocalDate actualStart = slip > 0 ? plannedStart.plusDays(random.nextInt(0, slip / 2 + 1)) : plannedStart;
+
+            Task.TaskStatus status;
+            Task.ProgressStatus progressStatus;
+            int progress;
+            if (actualEnd.isBefore(today)) {
+                status = Task.TaskStatus.COMPLETED;
+                progress = 100;
+                progressStatus = slip < 0 ? Task.ProgressStatus.AHEAD : slip == 0 ? Task.ProgressStatus.ON_SCHEDULE : Task.ProgressStatus.BEHIND;
+            } else if (plannedStart.isAfter(today)) {
+                status = Task.TaskStatus.PENDING;
+                progress = 0;
+                progressStatus = Task.ProgressStatus.ON_SCHEDULE;
+            } else if (today.isAfter(plannedEnd)) {
+                status = Task.TaskStatus.DELAYED;
+                progress = random.nextInt(10, 20) * 5;
+                progressStatus = slip > 10 ? Task.ProgressStatus.AT_RISK : Task.ProgressStatus.BEHIND;
+            } else {
+                status = Task.TaskStatus.IN_PROGRESS;
+                long elapsed = ChronoUnit.DAYS.between(plannedStart, today);
+                long span = Math.max(1, ChronoUnit.DAYS.between(plannedStart, actualEnd));
+                progress = (int) Math.min(95, Math.round(elapsed * 20.0 / span) * 5);
+                progressStatus = slip > 10 ? Task.ProgressStatus.AT_RISK : slip > 0 ? Task.ProgressStatus.BEHIND
+                        : slip < 0 ? Task.ProgressStatus.AHEAD : Task.ProgressStatus.ON_SCHEDULE;
+            }
+
+            boolean received = status == Task.TaskStatus.COMPLETED && random.nextDouble() < 0.85;
+            boolean paid = received && random.nextDouble() < 0.8;
+            String remarks = status == Task.TaskStatus.DELAYED ? pick(DELAY_REMARKS)
+                    : random.nextDouble() < 0.1 ? pick(REMARKS) : null;
+            LocalDateTime createdAt = plannedStart.minusDays(random.nextInt(7, 60)).atTime(8, 0);
+            LocalDateTime updatedAt = status == Task.TaskStatus.PENDING ? createdAt : now.minusHours(random.nextInt(0, 24 * 7));
+
+            tasks.add(new Object[]{taskId, categoryId, villaId, template >= 0 ? templateIds[template] : null,
+                    team >= 0 ? teamIds[team] : null, name, description, actualStart, actualEnd, plannedStart, plannedEnd,
+                    status.name(), progress, progressStatus.name(), received, paid, amount, remarks, createdAt, updatedAt});
+
+            if (team >= 0) {
+                teamTotalTasks[team]++;
+                if (status == Task.TaskStatus.COMPLETED) {
+                    teamCompletedTasks[team]++;
+                } else if (status == Task.TaskStatus.IN_PROGRESS || status == Task.TaskStatus.PENDING) {
+                    teamActiveTasks[team]++;
+                }
+            }
+
+            if (random.nextDouble() < notificationRatio) {
+                addTaskNotification(projectId, villaId, taskId, name, status, slip, plannedEnd, actualEnd, received, paid,
+                        amount, notifications);
+            }
+            return status == Task.TaskStatus.COMPLETED;
+        }
+
+        private void addTaskNotification(long projectId, long villaId, long taskId, String taskName, Task.TaskStatus status,
+                                         int slip, LocalDate plannedEnd, LocalDate actualEnd, boolean received, boolean paid,
+                                         BigDecimal amount, List<Object[]> notifications) {
+            Notification.NotificationType type;
+            Notification.Priority priority;
+            String title;
+            String message;
+            if (status == Task.TaskStatus.DELAYED) {
+                long late = ChronoUnit.DAYS.between(plannedEnd, today);
+                type = Notification.NotificationType.DELAY;
+                priority = slip > 10 ? Notification.Priority.CRITICAL : Notification.Priority.HIGH;
+                title = "Retard détecté";
+                message = "La tâche \"" + taskName + "\" accuse un retard de " + late + " jours";
+            } else if (status == Task.TaskStatus.IN_PROGRESS && !plannedEnd.isAfter(today.plusDays(7))) {
+                type = Notification.NotificationType.DEADLINE;
+                priority = Notification.Priority.MEDIUM;
+                title = "Deadline approche";
+                message = "La tâche \"" + taskName + "\" se termine dans " + ChronoUnit.DAYS.between(today, plannedEnd) + " jours";
+            } else if (status == Task.TaskStatus.COMPLETED && !received) {
+                type = Notification.NotificationType.UNRECEIVED;
+                priority = Notification.Priority.MEDIUM;
+                title = "Réception en attente";
+                message = "La tâche \"" + taskName + "\" est terminée et en attente de réception depuis "
+                        + ChronoUnit.DAYS.between(actualEnd, today) + " jours";
+            } else if (received && !paid) {
+                long waiting = ChronoUnit.DAYS.between(actualEnd, today);
+                type = Notification.NotificationType.UNPAID;
+                priority = waiting > 30 ? Notification.Priority.HIGH : Notification.Priority.LOW;
+                title = "Paiement en attente";
+                message = "La tâche \"" + taskName + "\" (" + amount.toPlainString() + " MAD) n'est pas encore payée";
+            } else {
+                return;
+            }
+            boolean read = random.nextDouble() < (priority == Notification.Priority.CRITICAL ? 0.3 : 0.6);
+            if (!read) {
+                projectUnreadAlerts++;
+            }
+            notifications.add(new Object[]{nextNotificationId++, type.name(), title, message, priority.name(), read,
+                    now.minusHours(random.nextInt(0, 24 * 30)), projectId, villaId, taskId});
+        }
+
+        private void generateInactiveTeamNotifications() {
+            for (int t = 0; t < teams; t++) {
+                if (teamActiveTasks[t] == 0) {
+                    notificationRows.add(nextNotificationId++, Notification.NotificationType.TEAM_INACTIVE.name(),
+                            "Équipe inactive", "L'équipe #" + teamIds[t] + " n'a aucune tâche active",
+                            Notification.Priority.LOW.name(), false, now, null, null, null);
+                }
+            }
+        }
+
+        /**
+         * MySQL moves AUTO_INCREMENT past explicitly inserted ids on its own; H2 identity columns do not.
+         */
+        private void restartIdentityColumnsIfNeeded() {
+            String product = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+            if (!"H2".equals(product)) {
+                return;
+            }
+            for (String table : List.of("users", "teams", "task_templates", "team_task_template", "projects", "villas",
+                    "categories", "tasks", "notifications")) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+            }
+        }
+
+        private String pick(String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        /**
+         * Picks an index from the candidates for a phase, falling back to any index below {@code count},
+         * or -1 when there is nothing to pick from.
+         */
+        private int pickIndex(List<Integer> candidates, int count) {
+            if (!candidates.isEmpty()) {
+                return candidates.get(random.nextInt(candidates.size()));
+            }
+            return count > 0 ? random.nextInt(count) : -1;
+        }
+    }
+}
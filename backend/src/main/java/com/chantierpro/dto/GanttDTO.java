@@ -0,0 +1,89 @@
+package com.chantierpro.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Categories and tasks overlapping a date window, in columns: the i-th bar is made of the i-th value of each
+ * list. Dates are day offsets from {@code from} (negative before the window), which keeps the payload small and
+ * maps directly to timeline columns.
+ */
+public class GanttDTO {
+    private Long projectId;
+    private Long villaId;
+    private LocalDate from;
+    private LocalDate to;
+    private Categories categories = new Categories();
+    private Tasks tasks = new Tasks();
+
+    public static class Categories {
+        private List<Long> id = new ArrayList<>();
+        private List<Long> villaId = new ArrayList<>();
+        private List<String> name = new ArrayList<>();
+        private List<Integer> start = new ArrayList<>();
+        private List<Integer> end = new ArrayList<>();
+        private List<Integer> progress = new ArrayList<>();
+        private List<String> status = new ArrayList<>();
+
+        public List<Long> getId() { return id; }
+        public List<Long> getVillaId() { return villaId; }
+        public List<String> getName() { return name; }
+        public List<Integer> getStart() { return start; }
+        public List<Integer> getEnd() { return end; }
+        public List<Integer> getProgress() { return progress; }
+        public List<String> getStatus() { return status; }
+    }
+
+    public static class Tasks {
+        private List<Long> id = new ArrayList<>();
+        private List<Long> categoryId = new ArrayList<>();
+        private List<Long> villaId = new ArrayList<>();
+        private List<Long> teamId = new ArrayList<>();
+        private List<String> name = new ArrayList<>();
+        // Planned bar
+        private List<Integer> plannedStart = new ArrayList<>();
+        private List<Integer> plannedEnd = new ArrayList<>();
+        // Actual bar
+        private List<Integer> start = new ArrayList<>();
+        private List<Integer> end = new ArrayList<>();
+        private List<Integer> progress = new ArrayList<>();
+        private List<String> status = new ArrayList<>();
+
+        public List<Long> getId() { return id; }
+        public List<Long> getCategoryId() { return categoryId; }
+        public List<Long> getVillaId() { return villaId; }
+        public List<Long> getTeamId() { return teamId; }
+        public List<String> getName() { return name; }
+        public List<Integer> getPlannedStart() { return plannedStart; }
+        public List<Integer> getPlannedEnd() { return plannedEnd; }
+        public List<Integer> getStart() { return start; }
+        public List<Integer> getEnd() { return end; }
+        public List<Integer> getProgress() { return progress; }
+        public List<String> getStatus() { return status; }
+    }
+
+    public GanttDTO() {}
+
+    public GanttDTO(Long projectId, Long villaId, LocalDate from, LocalDate to) {
+        this.projectId = projectId;
+        this.villaId = villaId;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Long getVillaId() { return villaId; }
+    public void setVillaId(Long villaId) { this.villaId = villaId; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public Categories getCategories() { return categories; }
+    public Tasks getTasks() { return tasks; }
+}
@@ -0,0 +1,64 @@
+package com.chantierpro.dto;
+
+import com.chantierpro.entity.Notification;
+
+import java.util.List;
+
+public class InboxPageDTO {
+    private Long userId;
+    private int page;
+    private int size;
+    private long total;
+    private long unreadCount;
+    private List<Item> items;
+
+    public static class Item {
+        private Notification notification;
+        // Read by this user
+        private boolean read;
+
+        public Item() {}
+
+        public Item(Notification notification, boolean read) {
+            this.notification = notification;
+            this.read = read;
+        }
+
+        public Notification getNotification() { return notification; }
+        public void setNotification(Notification notification) { this.notification = notification; }
+
+        public boolean isRead() { return read; }
+        public void setRead(boolean read) { this.read = read; }
+    }
+
+    // Constructors
+    public InboxPageDTO() {}
+
+    public InboxPageDTO(Long userId, int page, int size, long total, long unreadCount, List<Item> items) {
+        this.userId = userId;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.unreadCount = unreadCount;
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getUnreadCount() { return unreadCount; }
+    public void setUnreadCount(long unreadCount) { this.unreadCount = unreadCount; }
+
+    public List<Item> getItems() { return items; }
+    public void setItems(List<Item> items) { this.items = items; }
+}
@@ -0,0 +1,39 @@
+package com.chantierpro.dto;
+
+public class SearchResultDTO {
+    private String kind;
+    private Long id;
+    private String title;
+    private String excerpt;
+    private Long projectId;
+    private float score;
+
+    public SearchResultDTO() {}
+
+    public SearchResultDTO(String kind, Long id, String title, String excerpt, Long projectId, float score) {
+        this.kind = kind;
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.projectId = projectId;
+        this.score = score;
+    }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getExcerpt() { return excerpt; }
+    public void setExcerpt(String excerpt) { this.excerpt = excerpt; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public float getScore() { return score; }
+    public void setScore(float score) { this.score = score; }
+}
@@ -0,0 +1,84 @@
+package com.chantierpro.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tasks aggregated by one dimension (project, villa, category, team, template, status or planned end month).
+ */
+public class TaskAnalyticsDTO {
+    private String groupBy;
+    // Tasks matching the filters
+    private long tasks;
+    private long elapsedMicros;
+    private List<Group> groups = new ArrayList<>();
+
+    public static class Group {
+        // Id of the project, villa, category, team or template; null for "none" and for status/month groups
+        private Long id;
+        private String label;
+        private long tasks;
+        private long completed;
+        private long delayed;
+        private BigDecimal amountTotal;
+        private BigDecimal amountPaid;
+        private double averageProgress;
+
+        public Group() {}
+
+        public Group(Long id, String label, long tasks, long completed, long delayed, BigDecimal amountTotal,
+                     BigDecimal amountPaid, double averageProgress) {
+            this.id = id;
+            this.label = label;
+            this.tasks = tasks;
+            this.completed = completed;
+            this.delayed = delayed;
+            this.amountTotal = amountTotal;
+            this.amountPaid = amountPaid;
+            this.averageProgress = averageProgress;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getLabel() { return label; }
+        public void setLabel(String label) { this.label = label; }
+
+        public long getTasks() { return tasks; }
+        public void setTasks(long tasks) { this.tasks = tasks; }
+
+        public long getCompleted() { return completed; }
+        public void setCompleted(long completed) { this.completed = completed; }
+
+        public long getDelayed() { return delayed; }
+        public void setDelayed(long delayed) { this.delayed = delayed; }
+
+        public BigDecimal getAmountTotal() { return amountTotal; }
+        public void setAmountTotal(BigDecimal amountTotal) { this.amountTotal = amountTotal; }
+
+        public BigDecimal getAmountPaid() { return amountPaid; }
+        public void setAmountPaid(BigDecimal amountPaid) { this.amountPaid = amountPaid; }
+
+        public double getAverageProgress() { return averageProgress; }
+        public void setAverageProgress(double averageProgress) { this.averageProgress = averageProgress; }
+    }
+
+    public TaskAnalyticsDTO() {}
+
+    public TaskAnalyticsDTO(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public String getGroupBy() { return groupBy; }
+    public void setGroupBy(String groupBy) { this.groupBy = groupBy; }
+
+    public long getTasks() { return tasks; }
+    public void setTasks(long tasks) { this.tasks = tasks; }
+
+    public long getElapsedMicros() { return elapsedMicros; }
+    public void setElapsedMicros(long elapsedMicros) { this.elapsedMicros = elapsedMicros; }
+
+    public List<Group> getGroups() { return groups; }
+    public void setGroups(List<Group> groups) { this.groups = groups; }
+}
@@ -0,0 +1,75 @@
+package com.chantierpro.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Open tasks of a team on each day of a range, against the number of tasks it can run at a time.
+ */
+public class TeamLoadDTO {
+    private Long teamId;
+    private String teamName;
+    private int capacity;
+    private int peakLoad;
+    private int overallocatedDays;
+    // Tasks overlapping the range
+    private List<Long> taskIds;
+    private List<Day> days;
+
+    public static class Day {
+        private LocalDate date;
+        private int tasks;
+        private boolean overallocated;
+
+        public Day() {}
+
+        public Day(LocalDate date, int tasks, boolean overallocated) {
+            this.date = date;
+            this.tasks = tasks;
+            this.overallocated = overallocated;
+        }
+
+        public LocalDate getDate() { return date; }
+        public void setDate(LocalDate date) { this.date = date; }
+
+        public int getTasks() { return tasks; }
+        public void setTasks(int tasks) { this.tasks = tasks; }
+
+        public boolean isOverallocated() { return overallocated; }
+        public void setOverallocated(boolean overallocated) { this.overallocated = overallocated; }
+    }
+
+    public TeamLoadDTO() {}
+
+    public TeamLoadDTO(Long teamId, String teamName, int capacity, int peakLoad, int overallocatedDays,
+                       List<Long> taskIds, List<Day> days) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.capacity = capacity;
+        this.peakLoad = peakLoad;
+        this.overallocatedDays = overallocatedDays;
+        this.taskIds = taskIds;
+        this.days = days;
+    }
+
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+
+    public String getTeamName() { return teamName; }
+    public void setTeamName(String teamName) { this.teamName = teamName; }
+
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+
+    public int getPeakLoad() { return peakLoad; }
+    public void setPeakLoad(int peakLoad) { this.peakLoad = peakLoad; }
+
+    public int getOverallocatedDays() { return overallocatedDays; }
+    public void setOverallocatedDays(int overallocatedDays) { this.overallocatedDays = overallocatedDays; }
+
+    public List<Long> getTaskIds() { return taskIds; }
+    public void setTaskIds(List<Long> taskIds) { this.taskIds = taskIds; }
+
+    public List<Day> getDays() { return days; }
+    public void setDays(List<Day> days) { this.days = days; }
+}
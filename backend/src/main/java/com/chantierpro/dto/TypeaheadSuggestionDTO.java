@@ -0,0 +1,30 @@
+package com.chantierpro.dto;
+
+public class TypeaheadSuggestionDTO {
+    private String kind;
+    private Long id;
+    private String name;
+    // Project of a project or villa
+    private Long projectId;
+
+    public TypeaheadSuggestionDTO() {}
+
+    public TypeaheadSuggestionDTO(String kind, Long id, String name, Long projectId) {
+        this.kind = kind;
+        this.id = id;
+        this.name = name;
+        this.projectId = projectId;
+    }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+}
@@ -1,5 +1,6 @@
 package com.chantierpro.entity;
 
+import com.chantierpro.listener.DeadlineAlertListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,7 +12,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        // Range scan of upcoming deadlines (DeadlineAlertService)
+        @Index(name = "idx_categories_end_date", columnList = "end_date"),
+        // Gantt window of a villa (GanttService)
+        @Index(name = "idx_categories_villa_start", columnList = "villa_id, start_date"),
+        @Index(name = "idx_categories_villa_end", columnList = "villa_id, end_date")
+})
+@EntityListeners(DeadlineAlertListener.class)
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,57 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked background scan (keyset over id), so an interrupted scan resumes where it stopped.
+ */
+@Entity
+@Table(name = "detector_checkpoints")
+public class DetectorCheckpoint {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    // Highest id already processed in the current pass; 0 when a new pass starts
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+
+    @Column(name = "pass_started_at")
+    private LocalDateTime passStartedAt;
+
+    @Column(name = "last_completed_at")
+    private LocalDateTime lastCompletedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public DetectorCheckpoint() {}
+
+    public DetectorCheckpoint(String name) {
+        this.name = name;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getLastId() { return lastId; }
+    public void setLastId(Long lastId) { this.lastId = lastId; }
+
+    public LocalDateTime getPassStartedAt() { return passStartedAt; }
+    public void setPassStartedAt(LocalDateTime passStartedAt) { this.passStartedAt = passStartedAt; }
+
+    public LocalDateTime getLastCompletedAt() { return lastCompletedAt; }
+    public void setLastCompletedAt(LocalDateTime lastCompletedAt) { this.lastCompletedAt = lastCompletedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,12 +1,27 @@
 package com.chantierpro.entity;
 
+import com.chantierpro.listener.NotificationCountListener;
+import com.chantierpro.listener.NotificationInboxListener;
+import com.chantierpro.listener.SearchIndexListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Detector de-duplication: existing alerts for a range of task ids, or for a villa
+        @Index(name = "idx_notifications_task_type", columnList = "task_id, type"),
+        @Index(name = "idx_notifications_villa_type", columnList = "villa_id, type"),
+        // TEAM_INACTIVE de-duplication for a range of team ids
+        @Index(name = "idx_notifications_team_type", columnList = "team_id, type"),
+        // Unread counts per priority
+        @Index(name = "idx_notifications_read_priority", columnList = "is_read, priority")
+})
+@EntityListeners({NotificationCountListener.class, NotificationInboxListener.class, SearchIndexListener.class})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,20 +49,59 @@ public class Notification {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Number of alerts merged into this one by NotificationCoalescer
+    @Column(nullable = false, columnDefinition = "integer default 1")
+    private Integer occurrences = 1;
+
+    // References are exposed as projectId/villaId/taskId, like the frontend Notification type expects
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
+    @JsonIgnore
     private Project project;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "villa_id")
+    @JsonIgnore
     private Villa villa;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id")
+    @JsonIgnore
     private Task task;
 
+    // Subject of TEAM_INACTIVE alerts; deleting the team keeps the alert
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JsonIgnore
+    private Team team;
+
+    // Whether this row is currently included in the unread counters (NotificationCountListener)
+    @Transient
+    private boolean countedUnread;
+
+    @Transient
+    public Long getProjectId() {
+        return project != null ? project.getId() : null;
+    }
+
+    @Transient
+    public Long getVillaId() {
+        return villa != null ? villa.getId() : null;
+    }
+
+    @Transient
+    public Long getTaskId() {
+        return task != null ? task.getId() : null;
+    }
+
+    @Transient
+    public Long getTeamId() {
+        return team != null ? team.getId() : null;
+    }
+
     public enum NotificationType {
-        DEADLINE, DELAY, UNRECEIVED, UNPAID, TEAM_INACTIVE
+        DEADLINE, DELAY, UNRECEIVED, UNPAID, TEAM_INACTIVE, DIGEST
     }
 
     public enum Priority {
@@ -91,6 +145,9 @@ public class Notification {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public Integer getOccurrences() { return occurrences; }
+    public void setOccurrences(Integer occurrences) { this.occurrences = occurrences; }
+
     public Project getProject() { return project; }
     public void setProject(Project project) { this.project = project; }
 
@@ -99,4 +156,11 @@ public class Notification {
 
     public Task getTask() { return task; }
     public void setTask(Task task) { this.task = task; }
+
+    public Team getTeam() { return team; }
+    public void setTeam(Team team) { this.team = team; }
+
+    @JsonIgnore
+    public boolean isCountedUnread() { return countedUnread; }
+    public void setCountedUnread(boolean countedUnread) { this.countedUnread = countedUnread; }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dedup subject of a generated notification that was merged into a burst digest, and when it was last merged.
+ * Merged notifications leave no row of their own, so this keeps their deduplication window across restarts.
+ */
+@Entity
+@Table(name = "notification_dedup", indexes = {
+        // Purge of expired subjects
+        @Index(name = "idx_notification_dedup_written_at", columnList = "written_at")
+})
+public class NotificationDedup {
+    @Id
+    @Column(name = "subject_key", length = 255)
+    private String subjectKey;
+
+    @Column(name = "written_at", nullable = false)
+    private LocalDateTime writtenAt;
+
+    public NotificationDedup() {}
+
+    public NotificationDedup(String subjectKey, LocalDateTime writtenAt) {
+        this.subjectKey = subjectKey;
+        this.writtenAt = writtenAt;
+    }
+
+    // Getters and Setters
+    public String getSubjectKey() { return subjectKey; }
+    public void setSubjectKey(String subjectKey) { this.subjectKey = subjectKey; }
+
+    public LocalDateTime getWrittenAt() { return writtenAt; }
+    public void setWrittenAt(LocalDateTime writtenAt) { this.writtenAt = writtenAt; }
+}
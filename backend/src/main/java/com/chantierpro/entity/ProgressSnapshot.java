@@ -0,0 +1,107 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily state of a project, villa or category, appended every night by the snapshot job, so that reports can
+ * show progress over time. Plain ids, no foreign keys: history outlives deleted rows.
+ */
+@Entity
+@Table(name = "progress_snapshots", uniqueConstraints = {
+        // Trend line of one project, villa or category: one range scan
+        @UniqueConstraint(name = "uk_progress_snapshots_entity_date", columnNames = {"level", "entity_id", "snapshot_date"})
+}, indexes = {
+        // Trend lines of all villas or categories of a project
+        @Index(name = "idx_progress_snapshots_project", columnList = "project_id, level, snapshot_date"),
+        // Replacing one day's snapshot
+        @Index(name = "idx_progress_snapshots_date", columnList = "snapshot_date")
+})
+public class ProgressSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Level level;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    private Integer progress;
+
+    @Column(name = "tasks_total", nullable = false)
+    private Integer tasksTotal;
+
+    @Column(name = "tasks_pending", nullable = false)
+    private Integer tasksPending;
+
+    @Column(name = "tasks_in_progress", nullable = false)
+    private Integer tasksInProgress;
+
+    @Column(name = "tasks_delayed", nullable = false)
+    private Integer tasksDelayed;
+
+    @Column(name = "tasks_completed", nullable = false)
+    private Integer tasksCompleted;
+
+    @Column(name = "amount_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal amountTotal;
+
+    @Column(name = "amount_paid", nullable = false, precision = 14, scale = 2)
+    private BigDecimal amountPaid;
+
+    public enum Level {
+        PROJECT, VILLA, CATEGORY
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getSnapshotDate() { return snapshotDate; }
+    public void setSnapshotDate(LocalDate snapshotDate) { this.snapshotDate = snapshotDate; }
+
+    public Level getLevel() { return level; }
+    public void setLevel(Level level) { this.level = level; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Integer getProgress() { return progress; }
+    public void setProgress(Integer progress) { this.progress = progress; }
+
+    public Integer getTasksTotal() { return tasksTotal; }
+    public void setTasksTotal(Integer tasksTotal) { this.tasksTotal = tasksTotal; }
+
+    public Integer getTasksPending() { return tasksPending; }
+    public void setTasksPending(Integer tasksPending) { this.tasksPending = tasksPending; }
+
+    public Integer getTasksInProgress() { return tasksInProgress; }
+    public void setTasksInProgress(Integer tasksInProgress) { this.tasksInProgress = tasksInProgress; }
+
+    public Integer getTasksDelayed() { return tasksDelayed; }
+    public void setTasksDelayed(Integer tasksDelayed) { this.tasksDelayed = tasksDelayed; }
+
+    public Integer getTasksCompleted() { return tasksCompleted; }
+    public void setTasksCompleted(Integer tasksCompleted) { this.tasksCompleted = tasksCompleted; }
+
+    public BigDecimal getAmountTotal() { return amountTotal; }
+    public void setAmountTotal(BigDecimal amountTotal) { this.amountTotal = amountTotal; }
+
+    public BigDecimal getAmountPaid() { return amountPaid; }
+    public void setAmountPaid(BigDecimal amountPaid) { this.amountPaid = amountPaid; }
+}
@@ -1,5 +1,7 @@
 package com.chantierpro.entity;
 
+import com.chantierpro.listener.SearchIndexListener;
+import com.chantierpro.listener.TypeaheadListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,6 +13,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "projects")
+@EntityListeners({SearchIndexListener.class, TypeaheadListener.class})
 public class Project {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,63 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Work calendar of a project: its working days of the week and its public holidays. Projects without one use
+ * the default calendar ({@code chantierpro.calendar}).
+ */
+@Entity
+@Table(name = "project_calendars")
+public class ProjectCalendar {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "project_calendar_working_days", joinColumns = @JoinColumn(name = "project_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private Set<DayOfWeek> workingDays = EnumSet.noneOf(DayOfWeek.class);
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "project_calendar_holidays", joinColumns = @JoinColumn(name = "project_id"))
+    @Column(name = "holiday", nullable = false)
+    private Set<LocalDate> holidays = new HashSet<>();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ProjectCalendar() {}
+
+    public ProjectCalendar(Long projectId, Set<DayOfWeek> workingDays, Set<LocalDate> holidays) {
+        this.projectId = projectId;
+        this.workingDays = workingDays;
+        this.holidays = holidays;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Set<DayOfWeek> getWorkingDays() { return workingDays; }
+    public void setWorkingDays(Set<DayOfWeek> workingDays) { this.workingDays = workingDays; }
+
+    public Set<LocalDate> getHolidays() { return holidays; }
+    public void setHolidays(Set<LocalDate> holidays) { this.holidays = holidays; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,5 +1,9 @@
 package com.chantierpro.entity;
 
+import com.chantierpro.listener.DeadlineAlertListener;
+import com.chantierpro.listener.SearchIndexListener;
+import com.chantierpro.listener.TaskColumnStoreListener;
+import com.chantierpro.listener.TeamCapacityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,7 +16,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Range scan of upcoming deadlines (DeadlineAlertService)
+        @Index(name = "idx_tasks_planned_end_date", columnList = "planned_end_date"),
+        // Gantt window of a villa (GanttService)
+        @Index(name = "idx_tasks_villa_planned_start", columnList = "villa_id, planned_start_date"),
+        @Index(name = "idx_tasks_villa_planned_end", columnList = "villa_id, planned_end_date")
+})
+@EntityListeners({SearchIndexListener.class, TeamCapacityListener.class, TaskColumnStoreListener.class,
+        DeadlineAlertListener.class})
 public class Task {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
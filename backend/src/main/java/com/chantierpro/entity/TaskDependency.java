@@ -0,0 +1,83 @@
+package com.chantierpro.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Finish-to-start dependency: the successor starts at the earliest on the first working day after the
+ * predecessor's planned end, plus {@code lagDays} working days. Removed with either task.
+ */
+@Entity
+@Table(name = "task_dependencies", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_task_dependencies_pair", columnNames = {"predecessor_id", "successor_id"})
+}, indexes = {
+        // Incoming edges of a task (the pair constraint covers outgoing ones)
+        @Index(name = "idx_task_dependencies_successor", columnList = "successor_id")
+})
+public class TaskDependency {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "predecessor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Task predecessor;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "successor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Task successor;
+
+    @Column(name = "lag_days", nullable = false)
+    private Integer lagDays = 0;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @Transient
+    public Long getPredecessorId() {
+        return predecessor != null ? predecessor.getId() : null;
+    }
+
+    @Transient
+    public Long getSuccessorId() {
+        return successor != null ? successor.getId() : null;
+    }
+
+    // Constructors
+    public TaskDependency() {}
+
+    public TaskDependency(Task predecessor, Task successor, Integer lagDays) {
+        this.predecessor = predecessor;
+        this.successor = successor;
+        this.lagDays = lagDays;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Task getPredecessor() { return predecessor; }
+    public void setPredecessor(Task predecessor) { this.predecessor = predecessor; }
+
+    public Task getSuccessor() { return successor; }
+    public void setSuccessor(Task successor) { this.successor = successor; }
+
+    public Integer getLagDays() { return lagDays; }
+    public void setLagDays(Integer lagDays) { this.lagDays = lagDays; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
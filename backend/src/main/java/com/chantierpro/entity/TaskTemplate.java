@@ -1,5 +1,6 @@
 package com.chantierpro.entity;
 
+import com.chantierpro.listener.TypeaheadListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "task_templates")
+@EntityListeners(TypeaheadListener.class)
 public class TaskTemplate {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,5 +1,8 @@
 package com.chantierpro.entity;
 
+import com.chantierpro.listener.SearchIndexListener;
+import com.chantierpro.listener.TeamCapacityListener;
+import com.chantierpro.listener.TypeaheadListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
@@ -9,6 +12,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "teams")
+@EntityListeners({SearchIndexListener.class, TypeaheadListener.class, TeamCapacityListener.class})
 public class Team {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
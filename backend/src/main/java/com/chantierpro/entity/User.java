@@ -1,5 +1,7 @@
 package com.chantierpro.entity;
 
+import com.chantierpro.listener.SearchIndexListener;
+import com.chantierpro.listener.TypeaheadListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners({SearchIndexListener.class, TypeaheadListener.class})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
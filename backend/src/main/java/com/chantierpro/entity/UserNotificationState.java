@@ -0,0 +1,48 @@
+package com.chantierpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user read state of the notification inbox: the ids of the notifications the user has read, stored as a
+ * serialized Roaring bitmap.
+ */
+@Entity
+@Table(name = "user_notification_states")
+public class UserNotificationState {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Mediumblob on MySQL; a fully read inbox is a single run and takes a few bytes
+    @Lob
+    @Column(name = "read_bitmap", nullable = false, length = 16_777_215)
+    private byte[] readBitmap;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public UserNotificationState() {}
+
+    public UserNotificationState(Long userId, byte[] readBitmap) {
+        this.userId = userId;
+        this.readBitmap = readBitmap;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public byte[] getReadBitmap() { return readBitmap; }
+    public void setReadBitmap(byte[] readBitmap) { this.readBitmap = readBitmap; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,5 +1,7 @@
 package com.chantierpro.entity;
 
+import com.chantierpro.listener.SearchIndexListener;
+import com.chantierpro.listener.TypeaheadListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,6 +14,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "villas")
+@EntityListeners({SearchIndexListener.class, TypeaheadListener.class})
 public class Villa {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,38 @@
+package com.chantierpro.listener;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Task;
+import com.chantierpro.service.DeadlineAlertService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener of {@link Task} and {@link Category} rescheduling their deadline alerts in
+ * {@link DeadlineAlertService} whenever an end date, status or progress is written, whatever the service saving it.
+ */
+public class DeadlineAlertListener {
+
+    @Autowired
+    private DeadlineAlertService deadlineAlertService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Task task) {
+            deadlineAlertService.taskChanged(task);
+        } else if (entity instanceof Category category) {
+            deadlineAlertService.categoryChanged(category);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Task task) {
+            deadlineAlertService.taskRemoved(task.getId());
+        } else if (entity instanceof Category category) {
+            deadlineAlertService.categoryRemoved(category.getId());
+        }
+    }
+}
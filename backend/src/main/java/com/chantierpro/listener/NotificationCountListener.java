@@ -0,0 +1,47 @@
+package com.chantierpro.listener;
+
+import com.chantierpro.entity.Notification;
+import com.chantierpro.service.NotificationCounterService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener of {@link Notification} keeping {@link NotificationCounterService} in step with inserts, read-state
+ * changes and deletes; the service applies each delta once the transaction has committed. Instantiated by
+ * Hibernate through Spring, hence the field injection without a stereotype.
+ */
+public class NotificationCountListener {
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
+    @PostLoad
+    public void onLoad(Notification notification) {
+        notification.setCountedUnread(!Boolean.TRUE.equals(notification.getIsRead()));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Notification notification) {
+        boolean unread = !Boolean.TRUE.equals(notification.getIsRead());
+        if (unread != notification.isCountedUnread()) {
+            if (unread) {
+                notificationCounterService.unreadAdded(notification.getType(), notification.getPriority(), notification.getProjectId());
+            } else {
+                notificationCounterService.unreadRemoved(notification.getType(), notification.getPriority(), notification.getProjectId());
+            }
+            notification.setCountedUnread(unread);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Notification notification) {
+        if (notification.isCountedUnread()) {
+            notificationCounterService.unreadRemoved(notification.getType(), notification.getPriority(), notification.getProjectId());
+            notification.setCountedUnread(false);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.chantierpro.listener;
+
+import com.chantierpro.entity.Notification;
+import com.chantierpro.service.NotificationInboxService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+/**
+ * JPA listener of {@link Notification} keeping the notification id bitmap of {@link NotificationInboxService}
+ * in step with inserts and deletes.
+ */
+public class NotificationInboxListener {
+
+    @Autowired
+    private NotificationInboxService notificationInboxService;
+
+    @PostPersist
+    public void onPersist(Notification notification) {
+        notificationInboxService.notificationAdded(notification.getId());
+    }
+
+    @PostRemove
+    public void onRemove(Notification notification) {
+        notificationInboxService.notificationsRemoved(List.of(notification.getId()));
+    }
+}
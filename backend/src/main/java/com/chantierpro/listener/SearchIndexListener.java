@@ -0,0 +1,71 @@
+package com.chantierpro.listener;
+
+import com.chantierpro.entity.Notification;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Team;
+import com.chantierpro.entity.User;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.service.SearchIndexService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener of the searchable entities, sending their text to {@link SearchIndexService} on insert and
+ * update and removing it on delete. The index itself is only touched after the transaction commits.
+ */
+public class SearchIndexListener {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        SearchIndexService.Entry entry = entry(entity);
+        if (entry != null) {
+            searchIndexService.index(entry);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        SearchIndexService.Entry entry = entry(entity);
+        if (entry != null) {
+            searchIndexService.delete(entry.getKind(), entry.getId());
+        }
+    }
+
+    private static SearchIndexService.Entry entry(Object entity) {
+        if (entity instanceof Project project) {
+            return new SearchIndexService.Entry(SearchIndexService.PROJECT, project.getId(), project.getName(),
+                    join(project.getType(), project.getLocation()), project.getId(), null);
+        }
+        if (entity instanceof Villa villa) {
+            return new SearchIndexService.Entry(SearchIndexService.VILLA, villa.getId(), villa.getName(), villa.getType(),
+                    villa.getProject() != null ? villa.getProject().getId() : null, villa.getId());
+        }
+        if (entity instanceof Task task) {
+            return new SearchIndexService.Entry(SearchIndexService.TASK, task.getId(), task.getName(),
+                    join(task.getDescription(), task.getRemarks()), null,
+                    task.getVilla() != null ? task.getVilla().getId() : null);
+        }
+        if (entity instanceof Team team) {
+            return new SearchIndexService.Entry(SearchIndexService.TEAM, team.getId(), team.getName(), team.getSpecialty(), null, null);
+        }
+        if (entity instanceof User user) {
+            return new SearchIndexService.Entry(SearchIndexService.USER, user.getId(), user.getName(), user.getEmail(), null, null);
+        }
+        if (entity instanceof Notification notification) {
+            return new SearchIndexService.Entry(SearchIndexService.NOTIFICATION, notification.getId(), notification.getTitle(),
+                    notification.getMessage(), notification.getProjectId(), notification.getVillaId());
+        }
+        return null;
+    }
+
+    private static String join(String first, String second) {
+        return first == null ? second : second == null ? first : first + "\n" + second;
+    }
+}
@@ -0,0 +1,32 @@
+package com.chantierpro.listener;
+
+import com.chantierpro.entity.Task;
+import com.chantierpro.service.TaskColumnStore;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener of {@link Task} applying task writes to the columns of {@link TaskColumnStore}.
+ */
+public class TaskColumnStoreListener {
+
+    @Autowired
+    private TaskColumnStore taskColumnStore;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Task task) {
+            taskColumnStore.taskChanged(task);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Task task) {
+            taskColumnStore.taskRemoved(task.getId());
+        }
+    }
+}
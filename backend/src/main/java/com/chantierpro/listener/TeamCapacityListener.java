@@ -0,0 +1,39 @@
+package com.chantierpro.listener;
+
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Team;
+import com.chantierpro.service.TeamCapacityService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener of {@link Task} and {@link Team} keeping the interval indexes of {@link TeamCapacityService} in
+ * step with task bookings (team, planned dates, status) and team sizes.
+ */
+public class TeamCapacityListener {
+
+    @Autowired
+    private TeamCapacityService teamCapacityService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Task task) {
+            teamCapacityService.taskChanged(task.getId(), task.getTeamId(), task.getPlannedStartDate(),
+                    task.getPlannedEndDate(), task.getStatus() == Task.TaskStatus.COMPLETED);
+        } else if (entity instanceof Team team) {
+            teamCapacityService.teamChanged(team.getId(), team.getName(), team.getMembersCount());
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Task task) {
+            teamCapacityService.taskRemoved(task.getId());
+        } else if (entity instanceof Team team) {
+            teamCapacityService.teamRemoved(team.getId());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.chantierpro.listener;
+
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.TaskTemplate;
+import com.chantierpro.entity.Team;
+import com.chantierpro.entity.User;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.service.TypeaheadService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener of the entities offered in autocomplete, keeping {@link TypeaheadService} in step with their names.
+ */
+public class TypeaheadListener {
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Project project) {
+            typeaheadService.nameChanged(TypeaheadService.PROJECT, project.getId(), project.getName(), project.getId());
+        } else if (entity instanceof Villa villa) {
+            typeaheadService.nameChanged(TypeaheadService.VILLA, villa.getId(), villa.getName(),
+                    villa.getProject() != null ? villa.getProject().getId() : null);
+        } else if (entity instanceof Team team) {
+            typeaheadService.nameChanged(TypeaheadService.TEAM, team.getId(), team.getName(), null);
+        } else if (entity instanceof TaskTemplate template) {
+            typeaheadService.nameChanged(TypeaheadService.TASK_TEMPLATE, template.getId(), template.getName(), null);
+        } else if (entity instanceof User user) {
+            typeaheadService.nameChanged(TypeaheadService.USER, user.getId(), user.getName(), null);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Project project) {
+            typeaheadService.removed(TypeaheadService.PROJECT, project.getId());
+        } else if (entity instanceof Villa villa) {
+            typeaheadService.removed(TypeaheadService.VILLA, villa.getId());
+        } else if (entity instanceof Team team) {
+            typeaheadService.removed(TypeaheadService.TEAM, team.getId());
+        } else if (entity instanceof TaskTemplate template) {
+            typeaheadService.removed(TypeaheadService.TASK_TEMPLATE, template.getId());
+        } else if (entity instanceof User user) {
+            typeaheadService.removed(TypeaheadService.USER, user.getId());
+        }
+    }
+}
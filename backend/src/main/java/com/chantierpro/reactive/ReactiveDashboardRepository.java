@@ -0,0 +1,336 @@
+package com.chantierpro.reactive;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Notification;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.TaskTemplate;
+import com.chantierpro.entity.Team;
+import com.chantierpro.entity.Villa;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Dashboard reads over R2DBC. Results are detached entity graphs built from a fixed number of queries
+ * per project (villas, categories, tasks, photos), so they serialize to exactly the same JSON as the
+ * JPA-backed endpoints, in the same order. Lists are streamed one project (or one batch of villas) at a
+ * time: the next subtree is only queried once the previous one has been consumed.
+ *
+ * Each call runs in one read-only transaction ({@link ReactiveDatabase#readOnly}), so the queries of a
+ * request run one after the other on a single connection and see the same snapshot.
+ */
+@Repository
+public class ReactiveDashboardRepository {
+
+    // Villas loaded per round trip by the villa list
+    private static final int VILLA_BATCH = 50;
+
+    @Autowired
+    private ReactiveDatabase database;
+
+    public Flux<Project> findAllProjects() {
+        Mono<Lookups> lookups = loadLookups().cache();
+        // Same order as ProjectRepository.findAllOrderByCreatedAtDesc
+        return database.readOnly(client().sql("SELECT * FROM projects ORDER BY created_at DESC, id DESC")
+                .map(ReactiveDashboardRepository::toProject)
+                .all()
+                .collectList()
+                .flatMapIterable(projects -> projects)
+                .concatMap(project -> withVillas(project, lookups), 1));
+    }
+
+    public Mono<Project> findProjectById(Long id) {
+        return database.readOnly(client().sql("SELECT * FROM projects WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveDashboardRepository::toProject)
+                .one()
+                .flatMap(project -> withVillas(project, loadLookups())));
+    }
+
+    // Id order, like VillaRepository.findAll
+    public Flux<Villa> findAllVillas() {
+        Mono<Lookups> lookups = loadLookups().cache();
+        return database.readOnly(client().sql("SELECT id FROM villas ORDER BY id")
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .flatMapIterable(ids -> ids)
+                .buffer(VILLA_BATCH)
+                .concatMap(villaIds -> lookups.flatMap(l -> loadVillaTrees("v.id IN (:key)", villaIds, l))
+                        .flatMapIterable(villas -> villas), 1));
+    }
+
+    public Flux<Villa> findVillasByProjectId(Long projectId) {
+        return database.readOnly(loadLookups()
+                .flatMap(lookups -> loadVillaTrees(projectId, lookups))
+                .flatMapIterable(villas -> villas));
+    }
+
+    /**
+     * Same counters as GET /notifications/stats/count, in a single round trip.
+     */
+    public Mono<Map<String, Long>> countUnreadNotifications() {
+        return client().sql("SELECT COUNT(*) AS unread_count, "
+                        + "COUNT(CASE WHEN priority = :high THEN 1 END) AS high_count, "
+                        + "COUNT(CASE WHEN priority = :critical THEN 1 END) AS critical_count "
+                        + "FROM notifications WHERE is_read = false")
+                .bind("high", Notification.Priority.HIGH.name())
+                .bind("critical", Notification.Priority.CRITICAL.name())
+                .map(row -> {
+                    Map<String, Long> counts = new LinkedHashMap<>();
+                    counts.put("unreadCount", number(row, "unread_count"));
+                    counts.put("highPriorityCount", number(row, "high_count"));
+                    counts.put("criticalCount", number(row, "critical_count"));
+                    return counts;
+                })
+                .one();
+    }
+
+    private Mono<Project> withVillas(Project project, Mono<Lookups> lookups) {
+        return lookups.flatMap(l -> loadVillaTrees(project.getId(), l))
+                .map(villas -> {
+                    project.setVillas(villas);
+                    return project;
+                });
+    }
+
+    private Mono<List<Villa>> loadVillaTrees(Long projectId, Lookups lookups) {
+        return loadVillaTrees("v.project_id = :key", projectId, lookups);
+    }
+
+    /**
+     * Loads the villas matching {@code villaFilter} (a condition on villa alias {@code v}, bound to {@code key})
+     * with their categories, tasks and task photos (four queries, one after the other on the request's connection)
+     * and links them the way JPA would.
+     */
+    private Mono<List<Villa>> loadVillaTrees(String villaFilter, Object key, Lookups lookups) {
+        Mono<List<Villa>> villas = client().sql("SELECT v.* FROM villas v WHERE " + villaFilter + " ORDER BY v.id")
+                .bind("key", key)
+                .map(ReactiveDashboardRepository::toVilla)
+                .all()
+                .collectList();
+        Mono<List<Object[]>> categories = client().sql("SELECT c.* FROM categories c JOIN villas v ON v.id = c.villa_id "
+                        + "WHERE " + villaFilter + " ORDER BY c.id")
+                .bind("key", key)
+                .map(row -> new Object[]{toCategory(row), row.get("villa_id", Long.class)})
+                .all()
+                .collectList();
+        Mono<List<TaskRow>> tasks = client().sql("SELECT t.* FROM tasks t JOIN categories c ON c.id = t.category_id "
+                        + "JOIN villas v ON v.id = c.villa_id WHERE " + villaFilter + " ORDER BY t.id")
+                .bind("key", key)
+                .map(ReactiveDashboardRepository::toTaskRow)
+                .all()
+                .collectList();
+        Mono<Map<Long, List<String>>> photos = client().sql("SELECT p.task_id, p.photo_url FROM task_photos p "
+                        + "JOIN tasks t ON t.id = p.task_id JOIN categories c ON c.id = t.category_id "
+                        + "JOIN villas v ON v.id = c.villa_id WHERE " + villaFilter + " ORDER BY p.task_id")
+                .bind("key", key)
+                .map(row -> new Object[]{row.get("task_id", Long.class), row.get("photo_url", String.class)})
+                .all()
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> (String) row[1], Collectors.toList())));
+
+        // Subscribed in sequence: the statements share the request's single connection
+        return villas.flatMap(villaRows -> categories.flatMap(categoryRows -> tasks.flatMap(taskRows ->
+                photos.flatMap(photoRows -> link(villaRows, categoryRows, taskRows, photoRows, lookups)))));
+    }
+
+    /**
+     * Rows whose parent is not in the result (deleted by a concurrent write) are left out rather than
+     * linked to nothing.
+     */
+    private Mono<List<Villa>> link(List<Villa> villaRows, List<Object[]> categoryRows, List<TaskRow> taskRows,
+                                   Map<Long, List<String>> photoRows, Lookups lookups) {
+        Map<Long, Villa> villaById = new LinkedHashMap<>();
+        for (Villa villa : villaRows) {
+            villa.setCategories(new ArrayList<>());
+            villaById.put(villa.getId(), villa);
+        }
+        Map<Long, Category> categoryById = new HashMap<>();
+        for (Object[] row : categoryRows) {
+            Category category = (Category) row[0];
+            Villa villa = villaById.get((Long) row[1]);
+            if (villa == null) {
+                continue;
+            }
+            category.setVilla(villa);
+            category.setTasks(new ArrayList<>());
+            villa.getCategories().add(category);
+            categoryById.put(category.getId(), category);
+        }
+
+        // A task's own villa is normally its category's villa, but nothing enforces it
+        Set<Long> foreignVillaIds = taskRows.stream()
+                .map(TaskRow::villaId)
+                .filter(id -> !villaById.containsKey(id))
+                .collect(Collectors.toSet());
+        return findVillasById(foreignVillaIds).map(foreignVillas -> {
+            for (TaskRow row : taskRows) {
+                Category category = categoryById.get(row.categoryId());
+                if (category == null) {
+                    continue;
+                }
+                Task task = row.task();
+                Villa villa = villaById.get(row.villaId());
+                task.setVilla(villa != null ? villa : foreignVillas.get(row.villaId()));
+                task.setTeam(row.teamId() != null ? lookups.teams().get(row.teamId()) : null);
+                task.setTemplate(row.templateId() != null ? lookups.templates().get(row.templateId()) : null);
+                task.setPhotos(photoRows.getOrDefault(task.getId(), new ArrayList<>()));
+                task.setCategory(category);
+                category.getTasks().add(task);
+            }
+            return new ArrayList<>(villaById.values());
+        });
+    }
+
+    private Mono<Map<Long, Villa>> findVillasById(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return client().sql("SELECT * FROM villas WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveDashboardRepository::toVilla)
+                .all()
+                .collectMap(Villa::getId);
+    }
+
+    /**
+     * Teams and templates referenced by tasks; both tables are small and loaded once per request.
+     */
+    private Mono<Lookups> loadLookups() {
+        Mono<Map<Long, Team>> teams = client().sql("SELECT * FROM teams")
+                .map(ReactiveDashboardRepository::toTeam)
+                .all()
+                .collectMap(Team::getId);
+        Mono<Map<Long, TaskTemplate>> templates = client().sql("SELECT * FROM task_templates")
+                .map(ReactiveDashboardRepository::toTemplate)
+                .all()
+                .collectMap(TaskTemplate::getId);
+        return teams.zipWhen(loaded -> templates, Lookups::new);
+    }
+
+    private DatabaseClient client() {
+        return database.getClient();
+    }
+
+    private static Project toProject(Readable row) {
+        Project project = new Project();
+        project.setId(row.get("id", Long.class));
+        project.setName(row.get("name", String.class));
+        project.setType(row.get("type", String.class));
+        project.setLocation(row.get("location", String.class));
+        project.setStartDate(row.get("start_date", LocalDate.class));
+        project.setEndDate(row.get("end_date", LocalDate.class));
+        project.setStatus(Project.ProjectStatus.valueOf(row.get("status", String.class)));
+        project.setProgress(row.get("progress", Integer.class));
+        project.setVillasCount(row.get("villas_count", Integer.class));
+        project.setAlertsCount(row.get("alerts_count", Integer.class));
+        project.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        project.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return project;
+    }
+
+    private static Villa toVilla(Readable row) {
+        Villa villa = new Villa();
+        villa.setId(row.get("id", Long.class));
+        villa.setName(row.get("name", String.class));
+        villa.setType(row.get("type", String.class));
+        villa.setSurface(row.get("surface", Integer.class));
+        villa.setProgress(row.get("progress", Integer.class));
+        villa.setStatus(Villa.VillaStatus.valueOf(row.get("status", String.class)));
+        villa.setCategoriesCount(row.get("categories_count", Integer.class));
+        villa.setTasksCount(row.get("tasks_count", Integer.class));
+        villa.setLastModified(row.get("last_modified", LocalDateTime.class));
+        villa.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        return villa;
+    }
+
+    private static Category toCategory(Readable row) {
+        Category category = new Category();
+        category.setId(row.get("id", Long.class));
+        category.setName(row.get("name", String.class));
+        category.setStartDate(row.get("start_date", LocalDate.class));
+        category.setEndDate(row.get("end_date", LocalDate.class));
+        category.setProgress(row.get("progress", Integer.class));
+        category.setStatus(Category.CategoryStatus.valueOf(row.get("status", String.class)));
+        category.setTasksCount(row.get("tasks_count", Integer.class));
+        category.setCompletedTasks(row.get("completed_tasks", Integer.class));
+        category.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        category.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return category;
+    }
+
+    private static TaskRow toTaskRow(Readable row) {
+        Task task = new Task();
+        task.setId(row.get("id", Long.class));
+        task.setName(row.get("name", String.class));
+        task.setDescription(row.get("description", String.class));
+        task.setStartDate(row.get("start_date", LocalDate.class));
+        task.setEndDate(row.get("end_date", LocalDate.class));
+        task.setPlannedStartDate(row.get("planned_start_date", LocalDate.class));
+        task.setPlannedEndDate(row.get("planned_end_date", LocalDate.class));
+        task.setStatus(Task.TaskStatus.valueOf(row.get("status", String.class)));
+        task.setProgress(row.get("progress", Integer.class));
+        task.setProgressStatus(Task.ProgressStatus.valueOf(row.get("progress_status", String.class)));
+        task.setIsReceived(row.get("is_received", Boolean.class));
+        task.setIsPaid(row.get("is_paid", Boolean.class));
+        task.setAmount(row.get("amount", BigDecimal.class));
+        task.setRemarks(row.get("remarks", String.class));
+        task.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        task.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return new TaskRow(task, row.get("category_id", Long.class), row.get("villa_id", Long.class),
+                row.get("team_id", Long.class), row.get("template_id", Long.class));
+    }
+
+    private static Team toTeam(Readable row) {
+        Team team = new Team();
+        team.setId(row.get("id", Long.class));
+        team.setName(row.get("name", String.class));
+        team.setSpecialty(row.get("specialty", String.class));
+        team.setMembersCount(row.get("members_count", Integer.class));
+        team.setActiveTasks(row.get("active_tasks", Integer.class));
+        team.setPerformance(row.get("performance", Integer.class));
+        team.setLastActivity(row.get("last_activity", LocalDateTime.class));
+        team.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        team.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return team;
+    }
+
+    private static TaskTemplate toTemplate(Readable row) {
+        TaskTemplate template = new TaskTemplate();
+        template.setId(row.get("id", Long.class));
+        template.setName(row.get("name", String.class));
+        template.setDescription(row.get("description", String.class));
+        template.setDurationDays(row.get("duration_days", Integer.class));
+        template.setDefaultAmount(row.get("default_amount", BigDecimal.class));
+        template.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        template.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return template;
+    }
+
+    private static Long number(Readable row, String column) {
+        Long value = row.get(column, Long.class);
+        return value != null ? value : 0L;
+    }
+
+    private record TaskRow(Task task, Long categoryId, Long villaId, Long teamId, Long templateId) {
+    }
+
+    private record Lookups(Map<Long, Team> teams, Map<Long, TaskTemplate> templates) {
+    }
+}
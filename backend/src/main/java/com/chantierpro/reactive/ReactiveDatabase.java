@@ -0,0 +1,90 @@
+package com.chantierpro.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking (R2DBC) connection pool used by the reactive read API, next to the JDBC pool used by JPA.
+ *
+ * The pool is deliberately not exposed as a {@code ConnectionFactory} bean: Spring Boot backs off its
+ * JDBC DataSource auto-configuration when such a bean exists, and JPA would lose its DataSource. For the
+ * same reason its transaction manager is not a bean: it only backs {@link #readOnly(Flux)}.
+ */
+@Component
+public class ReactiveDatabase {
+
+    @Value("${chantierpro.r2dbc.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    @Value("${chantierpro.r2dbc.pool.initial-size:5}")
+    private int initialSize;
+
+    @Value("${chantierpro.r2dbc.pool.max-size:20}")
+    private int maxSize;
+
+    private ConnectionPool pool;
+    private DatabaseClient client;
+    private TransactionalOperator readOnly;
+
+    @PostConstruct
+    public void start() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .maxAcquireTime(Duration.ofSeconds(5))
+                .build());
+        client = DatabaseClient.create(pool);
+
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        readOnly = TransactionalOperator.create(new R2dbcTransactionManager(pool), definition);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    public DatabaseClient getClient() {
+        return client;
+    }
+
+    /**
+     * Runs every statement of {@code flux} on one connection, in one read-only transaction: the reads see
+     * a single snapshot, and a request holds one pooled connection however many queries it issues.
+     */
+    public <T> Flux<T> readOnly(Flux<T> flux) {
+        return readOnly.transactional(flux);
+    }
+
+    public <T> Mono<T> readOnly(Mono<T> mono) {
+        return readOnly.transactional(mono);
+    }
+}
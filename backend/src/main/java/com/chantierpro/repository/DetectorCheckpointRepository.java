@@ -0,0 +1,9 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.DetectorCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DetectorCheckpointRepository extends JpaRepository<DetectorCheckpoint, String> {
+}
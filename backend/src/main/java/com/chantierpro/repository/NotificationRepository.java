@@ -2,6 +2,7 @@ package com.chantierpro.repository;
 
 import com.chantierpro.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -33,4 +34,8 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.isRead = false AND n.priority = ?1")
     Long countUnreadByPriority(Notification.Priority priority);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.isRead = false")
+    int markAllAsRead();
 }
\ No newline at end of file
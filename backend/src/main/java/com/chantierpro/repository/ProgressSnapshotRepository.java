@@ -0,0 +1,21 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.ProgressSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProgressSnapshotRepository extends JpaRepository<ProgressSnapshot, Long> {
+
+    @Query("SELECT s FROM ProgressSnapshot s WHERE s.level = ?1 AND s.entityId = ?2 AND s.snapshotDate BETWEEN ?3 AND ?4 "
+            + "ORDER BY s.snapshotDate")
+    List<ProgressSnapshot> findTrend(ProgressSnapshot.Level level, Long entityId, LocalDate from, LocalDate to);
+
+    @Query("SELECT s FROM ProgressSnapshot s WHERE s.projectId = ?1 AND s.level = ?2 AND s.snapshotDate BETWEEN ?3 AND ?4 "
+            + "ORDER BY s.entityId, s.snapshotDate")
+    List<ProgressSnapshot> findProjectTrends(Long projectId, ProgressSnapshot.Level level, LocalDate from, LocalDate to);
+}
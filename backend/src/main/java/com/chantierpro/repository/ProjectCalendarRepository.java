@@ -0,0 +1,9 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.ProjectCalendar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProjectCalendarRepository extends JpaRepository<ProjectCalendar, Long> {
+}
@@ -19,6 +19,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p FROM Project p WHERE p.name LIKE %?1% OR p.location LIKE %?1%")
     List<Project> findByNameOrLocationContaining(String searchTerm);
     
-    @Query("SELECT p FROM Project p ORDER BY p.createdAt DESC")
+    // Id breaks ties so that the reactive /reactive/projects stream can use the same order
+    @Query("SELECT p FROM Project p ORDER BY p.createdAt DESC, p.id DESC")
     List<Project> findAllOrderByCreatedAtDesc();
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+
+    @Query("SELECT d FROM TaskDependency d WHERE d.successor.id = ?1 OR d.predecessor.id = ?1")
+    List<TaskDependency> findByTaskId(Long taskId);
+
+    @Query("SELECT d FROM TaskDependency d WHERE d.predecessor.id = ?1 AND d.successor.id = ?2")
+    Optional<TaskDependency> findByPredecessorIdAndSuccessorId(Long predecessorId, Long successorId);
+}
@@ -0,0 +1,9 @@
+package com.chantierpro.repository;
+
+import com.chantierpro.entity.UserNotificationState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserNotificationStateRepository extends JpaRepository<UserNotificationState, Long> {
+}
@@ -9,6 +9,9 @@ import com.chantierpro.repository.VillaRepository;
 import com.chantierpro.repository.TeamRepository;
 import com.chantierpro.repository.TaskRepository;
 import jakarta.validation.Valid;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +23,8 @@ import java.util.Optional;
 @Transactional
 public class CategoryService {
 
+    private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
+
     @Autowired
     private CategoryRepository categoryRepository;
 
@@ -35,18 +40,22 @@ public class CategoryService {
     @Autowired
     private VillaService villaService;
 
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Category> getCategoriesByVillaId(Long villaId) {
         return categoryRepository.findByVilla_Id(villaId);
     }
 
+    @Transactional(readOnly = true)
     public List<Category> getCategoriesByProjectId(Long projectId) {
         return categoryRepository.findByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Category> getCategoryById(Long id) {
         return categoryRepository.findById(id);
     }
@@ -69,12 +78,9 @@ public class CategoryService {
     
     public Category createCategoryFromDTO(@Valid CategoryDTO categoryDTO) {
         try {
-            System.out.println("Processing CategoryDTO: villaId=" + categoryDTO.getVillaId() + ", name=" + categoryDTO.getName() + ", startDate=" + categoryDTO.getStartDate() + ", endDate=" + categoryDTO.getEndDate());
-            
             // Find the villa
             Villa villa = villaRepository.findById(categoryDTO.getVillaId())
                     .orElseThrow(() -> new RuntimeException("Villa not found with id: " + categoryDTO.getVillaId()));
-            System.out.println("Found villa: " + villa.getName());
             
             // Create new category
             Category category = new Category();
@@ -86,15 +92,15 @@ public class CategoryService {
             // Team assignment removed as per requirement - teams are now only assigned at task level
             
             Category savedCategory = categoryRepository.save(category);
-            System.out.println("Category saved successfully with id: " + savedCategory.getId());
+            log.info("Created category {} \"{}\" for villa {} ({} to {})", savedCategory.getId(), savedCategory.getName(),
+                    villa.getId(), savedCategory.getStartDate(), savedCategory.getEndDate());
             
             // Update villa stats
             villaService.updateVillaStats(villa.getId());
             
             return savedCategory;
         } catch (Exception e) {
-            System.err.println("Error in createCategoryFromDTO: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating category \"{}\" for villa {}", categoryDTO.getName(), categoryDTO.getVillaId(), e);
             throw e;
         }
     }
@@ -135,11 +141,13 @@ public class CategoryService {
     //     return categoryRepository.findByTeamId(teamId);
     // }
 
+    @Transactional(readOnly = true)
     public List<Category> getCategoriesByStatus(Category.CategoryStatus status) {
         return categoryRepository.findByStatus(status);
     }
 
     @Transactional
+    @Timed(value = "chantierpro.stats.cascade", extraTags = {"level", "category"})
     public void updateCategoryStats(Long categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + categoryId));
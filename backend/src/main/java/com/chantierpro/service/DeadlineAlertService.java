@@ -0,0 +1,252 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Notification;
+import com.chantierpro.entity.Task;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fires DEADLINE notifications for tasks and categories when their end date enters the deadline window.
+ *
+ * Upcoming deadlines are kept in an in-memory {@link TimingWheel} (minute, hour and day levels), loaded at startup
+ * and every night from a range scan of {@code tasks.planned_end_date} and {@code categories.end_date}, and updated
+ * by {@link com.chantierpro.listener.DeadlineAlertListener} once a task or category saved or deleted through JPA
+ * has committed. Nothing is persisted: after a restart the window is simply loaded again, and alerts that came due
+ * while the application was down fire on the first tick. Each alert re-reads its row and skips deadlines already
+ * alerted before inserting, so stale or repeated wheel entries are harmless.
+ */
+@Service
+public class DeadlineAlertService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineAlertService.class);
+
+    private static final String TASK = "task:";
+    private static final String CATEGORY = "category:";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationCoalescer notificationCoalescer;
+
+    @Value("${chantierpro.detectors.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chantierpro.detectors.deadline-days:3}")
+    private int deadlineDays;
+
+    @Value("${chantierpro.detectors.deadline-alert-hour:8}")
+    private int alertHour;
+
+    // Days of deadlines loaded ahead; must stay below the 64-day horizon of the wheel
+    @Value("${chantierpro.detectors.deadline-window-days:30}")
+    private int windowDays;
+
+    private TimingWheel<String> wheel;
+
+    @PostConstruct
+    void createWheel() {
+        wheel = new TimingWheel<>(60_000L, System.currentTimeMillis(), 60, 24, 64);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            loadWindow();
+        }
+    }
+
+    @Scheduled(cron = "${chantierpro.detectors.deadline-reload-cron:0 5 0 * * *}")
+    public void reloadWindow() {
+        if (enabled) {
+            loadWindow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chantierpro.detectors.deadline-tick-millis:60000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<String> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        for (String key : due) {
+            try {
+                if (key.startsWith(TASK)) {
+                    fireTask(Long.parseLong(key.substring(TASK.length())));
+                } else {
+                    fireCategory(Long.parseLong(key.substring(CATEGORY.length())));
+                }
+            } catch (RuntimeException e) {
+                log.error("Error firing deadline alert {}", key, e);
+            }
+        }
+    }
+
+    public void taskChanged(Task task) {
+        boolean open = task.getStatus() != Task.TaskStatus.COMPLETED;
+        update(TASK + task.getId(), open ? task.getPlannedEndDate() : null);
+    }
+
+    public void taskRemoved(Long taskId) {
+        update(TASK + taskId, null);
+    }
+
+    public void categoryChanged(Category category) {
+        boolean open = category.getProgress() == null || category.getProgress() < 100;
+        update(CATEGORY + category.getId(), open ? category.getEndDate() : null);
+    }
+
+    public void categoryRemoved(Long categoryId) {
+        update(CATEGORY + categoryId, null);
+    }
+
+    int scheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void update(String key, LocalDate endDate) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            synchronized (wheel) {
+                if (endDate == null || endDate.isBefore(LocalDate.now())) {
+                    wheel.cancel(key);
+                } else {
+                    wheel.schedule(key, alertMillis(endDate));
+                }
+            }
+        });
+    }
+
+    /**
+     * Schedules every open task and category ending within the window. Alerts already due (deadline moved into the
+     * alert period by a JDBC write, or missed while the application was down) fire on the next tick; the ones
+     * already raised are skipped when firing.
+     */
+    private void loadWindow() {
+        LocalDate today = LocalDate.now();
+        LocalDate windowEnd = today.plusDays(windowDays);
+        long startedAt = System.nanoTime();
+        int[] loaded = new int[1];
+
+        jdbcTemplate.query("SELECT id, planned_end_date FROM tasks "
+                        + "WHERE planned_end_date BETWEEN ? AND ? AND status <> 'COMPLETED'",
+                rs -> {
+                    loaded[0] += load(TASK + rs.getLong(1), rs.getDate(2).toLocalDate());
+                }, Date.valueOf(today), Date.valueOf(windowEnd));
+        jdbcTemplate.query("SELECT id, end_date FROM categories WHERE end_date BETWEEN ? AND ? AND progress < 100",
+                rs -> {
+                    loaded[0] += load(CATEGORY + rs.getLong(1), rs.getDate(2).toLocalDate());
+                }, Date.valueOf(today), Date.valueOf(windowEnd));
+
+        log.info("Loaded {} deadline alerts up to {} in {} ms ({} scheduled)", loaded[0], windowEnd,
+                (System.nanoTime() - startedAt) / 1_000_000, scheduledCount());
+    }
+
+    private int load(String key, LocalDate endDate) {
+        synchronized (wheel) {
+            return wheel.schedule(key, alertMillis(endDate)) ? 1 : 0;
+        }
+    }
+
+    private long alertMillis(LocalDate endDate) {
+        return endDate.minusDays(deadlineDays).atTime(alertHour, 0)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void fireTask(Long taskId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT t.name, t.status, t.planned_end_date, t.villa_id, v.project_id "
+                        + "FROM tasks t JOIN villas v ON v.id = t.villa_id WHERE t.id = ?", taskId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, Object> row = rows.get(0);
+        LocalDate endDate = ((Date) row.get("planned_end_date")).toLocalDate();
+        if (Task.TaskStatus.COMPLETED.name().equals(row.get("status")) || !inWindow(endDate)) {
+            return;
+        }
+        // One alert per task and deadline: an alert raised for an earlier planned end date does not count
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications "
+                        + "WHERE task_id = ? AND type = 'DEADLINE' AND created_at >= ?",
+                Long.class, taskId, windowStart(endDate));
+        if (existing > 0) {
+            return;
+        }
+        insert("La tâche \"" + row.get("name") + "\" se termine " + inDays(endDate),
+                ((Number) row.get("project_id")).longValue(), ((Number) row.get("villa_id")).longValue(), taskId, null);
+    }
+
+    private void fireCategory(Long categoryId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT c.name, c.progress, c.end_date, c.villa_id, v.project_id "
+                        + "FROM categories c JOIN villas v ON v.id = c.villa_id WHERE c.id = ?", categoryId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, Object> row = rows.get(0);
+        LocalDate endDate = ((Date) row.get("end_date")).toLocalDate();
+        if (((Number) row.get("progress")).intValue() >= 100 || !inWindow(endDate)) {
+            return;
+        }
+        // Category alerts have no category column: they are recognised by villa and message prefix
+        String prefix = "La catégorie \"" + row.get("name") + "\" ";
+        Long villaId = ((Number) row.get("villa_id")).longValue();
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications "
+                        + "WHERE villa_id = ? AND type = 'DEADLINE' AND task_id IS NULL AND message LIKE ? AND created_at >= ?",
+                Long.class, villaId, prefix.replace("%", "\\%").replace("_", "\\_") + "%", windowStart(endDate));
+        if (existing > 0) {
+            return;
+        }
+        // Without its own subject the coalescer would key the alert on the villa, and drop the villa's other categories
+        insert(prefix + "se termine " + inDays(endDate), ((Number) row.get("project_id")).longValue(), villaId, null,
+                CATEGORY + categoryId);
+    }
+
+    private void insert(String message, Long projectId, Long villaId, Long taskId, String subject) {
+        if (notificationCoalescer.submit(List.of(new NotificationCoalescer.Draft(Notification.NotificationType.DEADLINE,
+                Notification.Priority.MEDIUM, "Deadline approche", message, projectId, villaId, taskId, null, subject))).isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE projects SET alerts_count = "
+                + "(SELECT COUNT(*) FROM notifications n WHERE n.project_id = ? AND n.is_read = false) WHERE id = ?",
+                projectId, projectId);
+    }
+
+    private boolean inWindow(LocalDate endDate) {
+        LocalDate today = LocalDate.now();
+        return !endDate.isBefore(today) && !endDate.isAfter(today.plusDays(deadlineDays));
+    }
+
+    private Timestamp windowStart(LocalDate endDate) {
+        return Timestamp.valueOf(endDate.minusDays(deadlineDays).atStartOfDay());
+    }
+
+    private static String inDays(LocalDate endDate) {
+        long days = ChronoUnit.DAYS.between(LocalDate.now(), endDate);
+        return days == 0 ? "aujourd'hui" : days == 1 ? "demain" : "dans " + days + " jours";
+    }
+}
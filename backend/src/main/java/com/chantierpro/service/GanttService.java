@@ -0,0 +1,110 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.GanttDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Gantt data of a villa or project for a date window: the categories and tasks whose bars overlap [from, to].
+ *
+ * Tasks are selected on their planned bar ({@code planned_start_date <= to AND planned_end_date >= from}), served
+ * by the {@code (villa_id, planned_start_date)} and {@code (villa_id, planned_end_date)} indexes; categories the same
+ * way on their dates. Rows are read with JDBC straight into the columns of {@link GanttDTO}, without loading
+ * entities, so scrolling the timeline only costs the rows of the visible window.
+ */
+@Service
+public class GanttService {
+
+    // Longest window served by one query
+    public static final int MAX_WINDOW_DAYS = 731;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public GanttDTO getVillaGantt(Long villaId, LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        List<Long> projectIds = jdbcTemplate.queryForList("SELECT project_id FROM villas WHERE id = ?", Long.class, villaId);
+        if (projectIds.isEmpty()) {
+            throw new RuntimeException("Villa not found with id: " + villaId);
+        }
+        GanttDTO gantt = new GanttDTO(projectIds.get(0), villaId, from, to);
+        fill(gantt, Collections.singletonList(villaId));
+        return gantt;
+    }
+
+    public GanttDTO getProjectGantt(Long projectId, LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        Integer projects = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projects WHERE id = ?", Integer.class, projectId);
+        if (projects == null || projects == 0) {
+            throw new RuntimeException("Project not found with id: " + projectId);
+        }
+        GanttDTO gantt = new GanttDTO(projectId, null, from, to);
+        fill(gantt, jdbcTemplate.queryForList("SELECT id FROM villas WHERE project_id = ?", Long.class, projectId));
+        return gantt;
+    }
+
+    private void fill(GanttDTO gantt, List<Long> villaIds) {
+        if (villaIds.isEmpty()) {
+            return;
+        }
+        LocalDate from = gantt.getFrom();
+        String villas = villaIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        Date windowStart = Date.valueOf(from);
+        Date windowEnd = Date.valueOf(gantt.getTo());
+
+        GanttDTO.Categories categories = gantt.getCategories();
+        jdbcTemplate.query("SELECT id, villa_id, name, start_date, end_date, progress, status FROM categories "
+                        + "WHERE villa_id IN (" + villas + ") AND start_date <= ? AND end_date >= ? "
+                        + "ORDER BY villa_id, start_date, id",
+                rs -> {
+                    categories.getId().add(rs.getLong(1));
+                    categories.getVillaId().add(rs.getLong(2));
+                    categories.getName().add(rs.getString(3));
+                    categories.getStart().add(offset(from, rs, 4));
+                    categories.getEnd().add(offset(from, rs, 5));
+                    categories.getProgress().add(rs.getInt(6));
+                    categories.getStatus().add(rs.getString(7));
+                }, windowEnd, windowStart);
+
+        GanttDTO.Tasks tasks = gantt.getTasks();
+        jdbcTemplate.query("SELECT id, category_id, villa_id, team_id, name, planned_start_date, planned_end_date, "
+                        + "start_date, end_date, progress, status FROM tasks "
+                        + "WHERE villa_id IN (" + villas + ") AND planned_start_date <= ? AND planned_end_date >= ? "
+                        + "ORDER BY villa_id, planned_start_date, id",
+                rs -> {
+                    tasks.getId().add(rs.getLong(1));
+                    tasks.getCategoryId().add(rs.getLong(2));
+                    tasks.getVillaId().add(rs.getLong(3));
+                    long teamId = rs.getLong(4);
+                    tasks.getTeamId().add(rs.wasNull() ? null : teamId);
+                    tasks.getName().add(rs.getString(5));
+                    tasks.getPlannedStart().add(offset(from, rs, 6));
+                    tasks.getPlannedEnd().add(offset(from, rs, 7));
+                    tasks.getStart().add(offset(from, rs, 8));
+                    tasks.getEnd().add(offset(from, rs, 9));
+                    tasks.getProgress().add(rs.getInt(10));
+                    tasks.getStatus().add(rs.getString(11));
+                }, windowEnd, windowStart);
+    }
+
+    private static Integer offset(LocalDate from, ResultSet rs, int column) throws SQLException {
+        Date date = rs.getDate(column);
+        return date != null ? (int) ChronoUnit.DAYS.between(from, date.toLocalDate()) : null;
+    }
+
+    private static void checkWindow(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Window must be from 1 to " + MAX_WINDOW_DAYS + " days");
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Write stage of the generated notifications (detectors, deadline alerts, digests), in front of the
+ * {@code notifications} table.
+ *
+ * <ul>
+ *   <li>Deduplication: a notification with the same type and subject (the draft's explicit subject, else its task,
+ *   team, villa, project) as one written less than {@code dedup-window} ago is dropped. Digests are not
+ *   deduplicated.</li>
+ *   <li>Coalescing: after {@code burst-threshold} notifications of one type on one villa (or project) within
+ *   {@code burst-window}, further ones are merged into a single digest notification whose {@code occurrences}
+ *   grows instead of adding rows; pending merges are written every {@code flush-millis}.</li>
+ *   <li>Digests: once a day, one {@code DIGEST} notification per project summarizes its unread notifications.</li>
+ * </ul>
+ *
+ * The windows live in memory. After a restart, notifications that were written are still found by the generators'
+ * own checks against their rows; notifications merged into a digest have no row of their own, so their subjects
+ * are also stored in {@code notification_dedup} and read back for any subject not in memory.
+ */
+@Service
+public class NotificationCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    private static final String INSERT_NOTIFICATION = "INSERT INTO notifications "
+            + "(type, title, message, priority, is_read, created_at, project_id, villa_id, task_id, team_id, occurrences) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Length of notification_dedup.subject_key
+    private static final int SUBJECT_KEY_LENGTH = 255;
+    // Subject keys per IN list when reading notification_dedup
+    private static final int IN_CHUNK = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
+    @Value("${chantierpro.notifications.coalescing.dedup-window:24h}")
+    private Duration dedupWindow;
+
+    @Value("${chantierpro.notifications.coalescing.burst-window:1h}")
+    private Duration burstWindow;
+
+    @Value("${chantierpro.notifications.coalescing.burst-threshold:5}")
+    private int burstThreshold;
+
+    @Value("${chantierpro.notifications.coalescing.digests-enabled:true}")
+    private boolean digestsEnabled;
+
+    // Subject key -> time the last notification was written
+    private final Map<String, LocalDateTime> lastWritten = new HashMap<>();
+    // Burst key -> notifications written individually in the current burst window
+    private final Map<String, Burst> bursts = new HashMap<>();
+
+    /**
+     * A notification to write.
+     */
+    public static class Draft {
+        private final Notification.NotificationType type;
+        private final Notification.Priority priority;
+        private final String title;
+        private final String message;
+        private final Long projectId;
+        private final Long villaId;
+        private final Long taskId;
+        private final Long teamId;
+        // What the notification is about when no id column says it, e.g. "category:12"; null otherwise
+        private final String subject;
+
+        public Draft(Notification.NotificationType type, Notification.Priority priority, String title, String message,
+                     Long projectId, Long villaId, Long taskId) {
+            this(type, priority, title, message, projectId, villaId, taskId, null);
+        }
+
+        public Draft(Notification.NotificationType type, Notification.Priority priority, String title, String message,
+                     Long projectId, Long villaId, Long taskId, Long teamId) {
+            this(type, priority, title, message, projectId, villaId, taskId, teamId, null);
+        }
+
+        public Draft(Notification.NotificationType type, Notification.Priority priority, String title, String message,
+                     Long projectId, Long villaId, Long taskId, Long teamId, String subject) {
+            this.type = type;
+            this.priority = priority;
+            this.title = title;
+            this.message = message;
+            this.projectId = projectId;
+            this.villaId = villaId;
+            this.taskId = taskId;
+            this.teamId = teamId;
+            this.subject = subject;
+        }
+
+        public Notification.NotificationType getType() { return type; }
+        public Notification.Priority getPriority() { return priority; }
+        public String getTitle() { return title; }
+        public String getMessage() { return message; }
+        public Long getProjectId() { return projectId; }
+        public Long getVillaId() { return villaId; }
+        public Long getTaskId() { return taskId; }
+        public Long getTeamId() { return teamId; }
+        public String getSubject() { return subject; }
+
+        String subjectKey() {
+            String key = subject != null ? subject
+                    : taskId != null ? "task:" + taskId
+                    : teamId != null ? "team:" + teamId
+                    : villaId != null ? "villa:" + villaId
+                    : projectId != null ? "project:" + projectId
+                    : "message:" + message;
+            return type + "|" + key;
+        }
+
+        String burstKey() {
+            String scope = villaId != null ? "villa:" + villaId : projectId != null ? "project:" + projectId : "global";
+            return type + "|" + scope;
+        }
+    }
+
+    private static class Burst {
+        private final LocalDateTime startedAt;
+        private int written;
+        // Merged since the last flush
+        private int pending;
+        private Notification.Priority pendingPriority;
+        private Draft sample;
+        // Digest row of this burst and its occurrences so far
+        private Long digestId;
+        private int digestOccurrences;
+
+        Burst(LocalDateTime startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+
+    /**
+     * Writes the drafts that pass deduplication and coalescing in one batch, and returns them.
+     */
+    public List<Draft> submit(List<Draft> drafts) {
+        Map<String, LocalDateTime> mergedBefore = mergedSubjects(drafts);
+        List<Draft> accepted = new ArrayList<>();
+        List<Object[]> mergedRows = new ArrayList<>();
+        int dropped = 0;
+        int merged = 0;
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now();
+            for (Draft draft : drafts) {
+                // Already one per project and day (daily cron); the 24h window would drop every other run
+                if (draft.getType() == Notification.NotificationType.DIGEST) {
+                    accepted.add(draft);
+                    continue;
+                }
+                String subjectKey = draft.subjectKey();
+                LocalDateTime previous = lastWritten.getOrDefault(subjectKey, mergedBefore.get(subjectKey));
+                if (previous != null && previous.isAfter(now.minus(dedupWindow))) {
+                    dropped++;
+                    continue;
+                }
+                lastWritten.put(subjectKey, now);
+
+                Burst burst = bursts.get(draft.burstKey());
+                // An expired window with merges not yet flushed is kept until the flush writes them
+                if (burst == null || (burst.pending == 0 && burst.startedAt.isBefore(now.minus(burstWindow)))) {
+                    burst = new Burst(now);
+                    bursts.put(draft.burstKey(), burst);
+                }
+                if (burst.written < burstThreshold) {
+                    burst.written++;
+                    accepted.add(draft);
+                } else {
+                    burst.pending++;
+                    burst.sample = draft;
+                    if (burst.pendingPriority == null || draft.getPriority().compareTo(burst.pendingPriority) > 0) {
+                        burst.pendingPriority = draft.getPriority();
+                    }
+                    merged++;
+                    if (subjectKey.length() <= SUBJECT_KEY_LENGTH) {
+                        Timestamp mergedAt = Timestamp.valueOf(now);
+                        mergedRows.add(new Object[]{subjectKey, mergedAt, mergedAt});
+                    }
+                }
+            }
+        }
+
+        if (!mergedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO notification_dedup (subject_key, written_at) VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE written_at = ?", mergedRows);
+        }
+
+        if (!accepted.isEmpty()) {
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(accepted.size());
+            for (Draft draft : accepted) {
+                rows.add(new Object[]{draft.getType().name(), draft.getTitle(), draft.getMessage(), draft.getPriority().name(),
+                        false, createdAt, draft.getProjectId(), draft.getVillaId(), draft.getTaskId(), draft.getTeamId(), 1});
+            }
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, rows);
+            accepted.forEach(draft -> notificationCounterService.unreadAdded(draft.getType(), draft.getPriority(), draft.getProjectId()));
+        }
+        if (dropped > 0 || merged > 0) {
+            log.debug("Coalesced {} notifications: {} written, {} duplicates dropped, {} merged into digests",
+                    drafts.size(), accepted.size(), dropped, merged);
+        }
+        return accepted;
+    }
+
+    /**
+     * When the subjects of {@code drafts} that are not in memory were last merged into a digest, within the window.
+     */
+    private Map<String, LocalDateTime> mergedSubjects(List<Draft> drafts) {
+        List<String> unknown;
+        synchronized (this) {
+            unknown = drafts.stream()
+                    .filter(draft -> draft.getType() != Notification.NotificationType.DIGEST)
+                    .map(Draft::subjectKey)
+                    .filter(key -> !lastWritten.containsKey(key) && key.length() <= SUBJECT_KEY_LENGTH)
+                    .distinct()
+                    .toList();
+        }
+        Map<String, LocalDateTime> mergedAt = new HashMap<>();
+        Timestamp windowStart = Timestamp.valueOf(LocalDateTime.now().minus(dedupWindow));
+        for (int from = 0; from < unknown.size(); from += IN_CHUNK) {
+            List<String> keys = unknown.subList(from, Math.min(from + IN_CHUNK, unknown.size()));
+            List<Object> args = new ArrayList<>(keys);
+            args.add(windowStart);
+            jdbcTemplate.query("SELECT subject_key, written_at FROM notification_dedup WHERE subject_key IN ("
+                            + String.join(", ", Collections.nCopies(keys.size(), "?")) + ") AND written_at >= ?",
+                    rs -> {
+                        mergedAt.put(rs.getString(1), rs.getTimestamp(2).toLocalDateTime());
+                    }, args.toArray());
+        }
+        return mergedAt;
+    }
+
+    /**
+     * Writes the notifications merged since the last flush into their burst's digest row, and forgets expired windows.
+     */
+    @Scheduled(fixedDelayString = "${chantierpro.notifications.coalescing.flush-millis:60000}")
+    public void flushBursts() {
+        Map<String, Burst> toFlush = new LinkedHashMap<>();
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now();
+            bursts.forEach((key, burst) -> {
+                if (burst.pending > 0) {
+                    toFlush.put(key, burst);
+                }
+            });
+            lastWritten.values().removeIf(writtenAt -> writtenAt.isBefore(now.minus(dedupWindow)));
+            bursts.values().removeIf(burst -> burst.pending == 0 && burst.startedAt.isBefore(now.minus(burstWindow)));
+        }
+        jdbcTemplate.update("DELETE FROM notification_dedup WHERE written_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(dedupWindow)));
+
+        for (Burst burst : toFlush.values()) {
+            Draft sample;
+            int pending;
+            Notification.Priority priority;
+            synchronized (this) {
+                sample = burst.sample;
+                pending = burst.pending;
+                priority = burst.pendingPriority;
+                burst.pending = 0;
+                burst.pendingPriority = null;
+            }
+            writeDigest(burst, sample, pending, priority);
+        }
+    }
+
+    private void writeDigest(Burst burst, Draft sample, int pending, Notification.Priority priority) {
+        String scope = sample.getVillaId() != null
+                ? "la villa \"" + name("villas", sample.getVillaId()) + "\""
+                : sample.getProjectId() != null ? "le projet \"" + name("projects", sample.getProjectId()) + "\"" : "le chantier";
+
+        // Grow the digest while it is unread; once read, the next merges start a new one
+        int grown = burst.digestOccurrences + pending;
+        int updated = burst.digestId == null ? 0 : jdbcTemplate.update(
+                "UPDATE notifications SET title = ?, message = ?, occurrences = ? WHERE id = ? AND is_read = false",
+                digestTitle(sample, grown), digestMessage(sample, scope, grown), grown, burst.digestId);
+        if (updated > 0) {
+            synchronized (this) {
+                burst.digestOccurrences = grown;
+            }
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        Object[] values = {sample.getType().name(), digestTitle(sample, pending), digestMessage(sample, scope, pending),
+                priority.name(), false, Timestamp.valueOf(LocalDateTime.now()), sample.getProjectId(), sample.getVillaId(),
+                null, null, pending};
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_NOTIFICATION, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            return statement;
+        }, keyHolder);
+        notificationCounterService.unreadAdded(sample.getType(), priority, sample.getProjectId());
+        synchronized (this) {
+            burst.digestId = Objects.requireNonNull(keyHolder.getKey()).longValue();
+            burst.digestOccurrences = pending;
+        }
+    }
+
+    private static String digestTitle(Draft sample, int occurrences) {
+        return sample.getTitle() + " (" + occurrences + ")";
+    }
+
+    private static String digestMessage(Draft sample, String scope, int occurrences) {
+        return occurrences + " alertes \"" + sample.getTitle() + "\" regroupées pour " + scope + ", dont : " + sample.getMessage();
+    }
+
+    /**
+     * One DIGEST notification per project with unread notifications, summarizing them by type.
+     */
+    @Scheduled(cron = "${chantierpro.notifications.coalescing.digest-cron:0 0 7 * * *}")
+    public void projectDigests() {
+        if (!digestsEnabled) {
+            return;
+        }
+        Map<Long, Map<String, Long>> unreadByProject = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT project_id, type, COUNT(*) FROM notifications "
+                        + "WHERE is_read = false AND project_id IS NOT NULL AND type <> 'DIGEST' "
+                        + "GROUP BY project_id, type ORDER BY project_id, type",
+                rs -> {
+                    unreadByProject.computeIfAbsent(rs.getLong(1), id -> new LinkedHashMap<>()).put(rs.getString(2), rs.getLong(3));
+                });
+
+        List<Draft> digests = new ArrayList<>();
+        unreadByProject.forEach((projectId, byType) -> {
+            long total = byType.values().stream().mapToLong(Long::longValue).sum();
+            String detail = byType.entrySet().stream()
+                    .map(entry -> entry.getValue() + " " + label(entry.getKey()))
+                    .reduce((a, b) -> a + ", " + b)
+                    .orElse("");
+            digests.add(new Draft(Notification.NotificationType.DIGEST, Notification.Priority.LOW, "Résumé quotidien",
+                    "Projet \"" + name("projects", projectId) + "\" : " + total + " alertes non lues (" + detail + ")",
+                    projectId, null, null));
+        });
+        log.info("Wrote {} project digests", submit(digests).size());
+    }
+
+    private String name(String table, Long id) {
+        List<String> names = jdbcTemplate.queryForList("SELECT name FROM " + table + " WHERE id = ?", String.class, id);
+        return names.isEmpty() ? "#" + id : names.get(0);
+    }
+
+    private static String label(String type) {
+        return switch (Notification.NotificationType.valueOf(type)) {
+            case DELAY -> "retards";
+            case DEADLINE -> "échéances proches";
+            case UNRECEIVED -> "réceptions en attente";
+            case UNPAID -> "paiements en attente";
+            case TEAM_INACTIVE -> "équipes inactives";
+            case DIGEST -> "résumés";
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unread notification counters (total, per priority, per type and per project), kept in memory so badge polling
+ * never queries the {@code notifications} table.
+ *
+ * Counters are updated by {@link com.chantierpro.listener.NotificationCountListener} for every notification saved
+ * or deleted through JPA, and directly by the services that write notifications with JDBC; every change is applied
+ * once the current transaction has committed, so a rolled-back write never shows in the badges. They are rebuilt
+ * from one grouped query at startup and every {@code chantierpro.notifications.counters.reconcile-millis}, which
+ * also corrects any drift (updates racing with a rebuild, rows changed outside the application).
+ */
+@Service
+public class NotificationCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCounterService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Counters counters = new Counters();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${chantierpro.notifications.counters.reconcile-millis:300000}",
+            fixedDelayString = "${chantierpro.notifications.counters.reconcile-millis:300000}")
+    public void reconcile() {
+        Counters rebuilt = new Counters();
+        jdbcTemplate.query("SELECT type, priority, project_id, COUNT(*) FROM notifications "
+                        + "WHERE is_read = false GROUP BY type, priority, project_id",
+                rs -> {
+                    long projectId = rs.getLong(3);
+                    rebuilt.add(Notification.NotificationType.valueOf(rs.getString(1)),
+                            Notification.Priority.valueOf(rs.getString(2)),
+                            rs.wasNull() ? null : projectId, rs.getLong(4));
+                });
+        long drift = rebuilt.unread.get() - counters.unread.get();
+        counters = rebuilt;
+        if (drift != 0) {
+            log.info("Reconciled unread notification counters: {} unread (drift {})", rebuilt.unread.get(), drift);
+        }
+    }
+
+    public void unreadAdded(Notification.NotificationType type, Notification.Priority priority, Long projectId) {
+        AfterCommit.run(() -> counters.add(type, priority, projectId, 1));
+    }
+
+    public void unreadRemoved(Notification.NotificationType type, Notification.Priority priority, Long projectId) {
+        AfterCommit.run(() -> counters.add(type, priority, projectId, -1));
+    }
+
+    public void allRead() {
+        AfterCommit.run(() -> counters = new Counters());
+    }
+
+    public long getUnreadCount() {
+        return counters.unread.get();
+    }
+
+    public long getUnreadCount(Notification.Priority priority) {
+        return counters.byPriority.get(priority).get();
+    }
+
+    public long getUnreadCount(Notification.NotificationType type) {
+        return counters.byType.get(type).get();
+    }
+
+    public long getUnreadCountByProject(Long projectId) {
+        AtomicLong count = counters.byProject.get(projectId);
+        return count != null ? count.get() : 0L;
+    }
+
+    /**
+     * All counters: {@code unreadCount}, {@code byPriority}, {@code byType} and {@code byProject}.
+     */
+    public Map<String, Object> snapshot() {
+        Counters current = counters;
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        current.byPriority.forEach((priority, count) -> byPriority.put(priority.name(), count.get()));
+        Map<String, Long> byType = new LinkedHashMap<>();
+        current.byType.forEach((type, count) -> byType.put(type.name(), count.get()));
+        Map<Long, Long> byProject = new TreeMap<>();
+        current.byProject.forEach((projectId, count) -> {
+            if (count.get() > 0) {
+                byProject.put(projectId, count.get());
+            }
+        });
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("unreadCount", current.unread.get());
+        snapshot.put("byPriority", byPriority);
+        snapshot.put("byType", byType);
+        snapshot.put("byProject", byProject);
+        return snapshot;
+    }
+
+    private static final class Counters {
+        private final AtomicLong unread = new AtomicLong();
+        private final Map<Notification.Priority, AtomicLong> byPriority = new EnumMap<>(Notification.Priority.class);
+        private final Map<Notification.NotificationType, AtomicLong> byType = new EnumMap<>(Notification.NotificationType.class);
+        private final Map<Long, AtomicLong> byProject = new ConcurrentHashMap<>();
+
+        Counters() {
+            // Enum keys are created up front, so these maps are never modified afterwards
+            for (Notification.Priority priority : Notification.Priority.values()) {
+                byPriority.put(priority, new AtomicLong());
+            }
+            for (Notification.NotificationType type : Notification.NotificationType.values()) {
+                byType.put(type, new AtomicLong());
+            }
+        }
+
+        void add(Notification.NotificationType type, Notification.Priority priority, Long projectId, long delta) {
+            unread.addAndGet(delta);
+            byPriority.get(priority).addAndGet(delta);
+            byType.get(type).addAndGet(delta);
+            if (projectId != null) {
+                byProject.computeIfAbsent(projectId, id -> new AtomicLong()).addAndGet(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.DetectorCheckpoint;
+import com.chantierpro.entity.Notification;
+import com.chantierpro.entity.Task;
+import com.chantierpro.repository.DetectorCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Generates DELAY, UNRECEIVED, UNPAID and TEAM_INACTIVE notifications (DEADLINE alerts are fired at their
+ * exact time by {@link DeadlineAlertService}).
+ *
+ * Tasks and teams are each scanned in primary-key order, one chunk at a time
+ * ({@code WHERE id > :lastId ORDER BY id LIMIT :chunk}), with the last processed id stored in
+ * {@link DetectorCheckpoint} after every chunk, so an interrupted scan resumes where it stopped.
+ * Every chunk is a short auto-committed read, one indexed look-up of the alerts that already exist
+ * for that chunk, and one batched insert through {@link NotificationCoalescer}; a pause between chunks
+ * leaves room for regular traffic.
+ * A notification is only created once per task and type, archived notifications included; a team gets a new
+ * TEAM_INACTIVE alert once its previous one has been read.
+ */
+@Service
+public class NotificationDetectorService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDetectorService.class);
+
+    static final String TASK_SCAN = "notification-detector.tasks";
+    static final String TEAM_SCAN = "notification-detector.teams";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DetectorCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private NotificationCoalescer notificationCoalescer;
+
+    @Value("${chantierpro.detectors.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chantierpro.detectors.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${chantierpro.detectors.pause-millis:20}")
+    private long pauseMillis;
+
+    @Value("${chantierpro.detectors.critical-delay-days:14}")
+    private int criticalDelayDays;
+
+    @Value("${chantierpro.detectors.unreceived-after-days:3}")
+    private int unreceivedAfterDays;
+
+    @Value("${chantierpro.detectors.unpaid-after-days:30}")
+    private int unpaidAfterDays;
+
+    @Value("${chantierpro.detectors.team-inactive-days:7}")
+    private int teamInactiveDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${chantierpro.detectors.cron:0 */15 * * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            runDetectors();
+        }
+    }
+
+    /**
+     * Runs (or resumes) one pass of every detector and returns the number of notifications created per type.
+     * Returns an empty map when a pass is already running.
+     */
+    public Map<String, Long> runDetectors() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Notification detectors already running, skipping");
+            return Collections.emptyMap();
+        }
+        try {
+            long startedAt = System.nanoTime();
+            Run run = new Run(LocalDate.now(), LocalDateTime.now());
+            scan(TASK_SCAN, run, this::detectTasks);
+            scan(TEAM_SCAN, run, this::detectTeams);
+            refreshProjectAlertCounts(run.touchedProjects);
+
+            log.info("Notification detectors finished in {} ms: {} rows scanned, created {}",
+                    (System.nanoTime() - startedAt) / 1_000_000, run.scannedRows, run.created);
+            return run.created;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void scan(String name, Run run, ChunkDetector detector) {
+        DetectorCheckpoint checkpoint = checkpointRepository.findById(name).orElseGet(() -> new DetectorCheckpoint(name));
+        if (checkpoint.getLastId() == 0L) {
+            checkpoint.setPassStartedAt(run.now);
+        } else {
+            log.info("Resuming {} after id {}", name, checkpoint.getLastId());
+        }
+
+        while (true) {
+            long lastId = detector.detect(checkpoint.getLastId(), run);
+            if (lastId < 0) {
+                checkpoint.setLastId(0L);
+                checkpoint.setLastCompletedAt(LocalDateTime.now());
+                checkpointRepository.save(checkpoint);
+                return;
+            }
+            checkpoint.setLastId(lastId);
+            checkpointRepository.save(checkpoint);
+            pause();
+        }
+    }
+
+    /**
+     * DELAY, UNRECEIVED and UNPAID for one chunk of tasks. Returns the last id of the chunk,
+     * or -1 when there are no tasks left.
+     */
+    private long detectTasks(long afterId, Run run) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT t.id, t.name, t.status, t.planned_end_date, t.end_date, t.is_received, t.is_paid, t.amount, "
+                        + "t.villa_id, v.project_id FROM tasks t JOIN villas v ON v.id = t.villa_id "
+                        + "WHERE t.id > ? ORDER BY t.id LIMIT ?", afterId, chunkSize);
+        if (rows.isEmpty()) {
+            return -1;
+        }
+        run.scannedRows += rows.size();
+        long firstId = ((Number) rows.get(0).get("id")).longValue();
+        long lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT CONCAT(task_id, ':', type) FROM notifications WHERE task_id BETWEEN ? AND ? "
+                        + "UNION SELECT CONCAT(task_id, ':', type) FROM notifications_archive WHERE task_id BETWEEN ? AND ?",
+                String.class, firstId, lastId, firstId, lastId));
+
+        List<NotificationCoalescer.Draft> drafts = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            long taskId = ((Number) row.get("id")).longValue();
+            String name = (String) row.get("name");
+            Task.TaskStatus status = Task.TaskStatus.valueOf((String) row.get("status"));
+            LocalDate plannedEnd = toLocalDate(row.get("planned_end_date"));
+            LocalDate end = toLocalDate(row.get("end_date"));
+            boolean received = Boolean.TRUE.equals(row.get("is_received"));
+            boolean paid = Boolean.TRUE.equals(row.get("is_paid"));
+            Long villaId = ((Number) row.get("villa_id")).longValue();
+            Long projectId = ((Number) row.get("project_id")).longValue();
+
+            Notification.NotificationType type = null;
+            Notification.Priority priority = Notification.Priority.MEDIUM;
+            String title = null;
+            String message = null;
+            if (status != Task.TaskStatus.COMPLETED && plannedEnd.isBefore(run.today)) {
+                long late = ChronoUnit.DAYS.between(plannedEnd, run.today);
+                type = Notification.NotificationType.DELAY;
+                priority = late > criticalDelayDays ? Notification.Priority.CRITICAL : Notification.Priority.HIGH;
+                title = "Retard détecté";
+                message = "La tâche \"" + name + "\" accuse un retard de " + late + " jours";
+            } else if (status == Task.TaskStatus.COMPLETED && !received
+                    && !end.isAfter(run.today.minusDays(unreceivedAfterDays))) {
+                type = Notification.NotificationType.UNRECEIVED;
+                title = "Réception en attente";
+                message = "La tâche \"" + name + "\" est terminée et en attente de réception depuis "
+                        + ChronoUnit.DAYS.between(end, run.today) + " jours";
+            } else if (received && !paid && !end.isAfter(run.today.minusDays(unpaidAfterDays))) {
+                BigDecimal amount = (BigDecimal) row.get("amount");
+                type = Notification.NotificationType.UNPAID;
+                priority = Notification.Priority.HIGH;
+                title = "Paiement en attente";
+                message = "La tâche \"" + name + "\"" + (amount != null ? " (" + amount.toPlainString() + " MAD)" : "")
+                        + " n'est pas encore payée, " + ChronoUnit.DAYS.between(end, run.today) + " jours après sa fin";
+            }
+
+            if (type != null && !existing.contains(taskId + ":" + type.name())) {
+                drafts.add(new NotificationCoalescer.Draft(type, priority, title, message, projectId, villaId, taskId));
+            }
+        }
+        insert(drafts, run);
+        return lastId;
+    }
+
+    /**
+     * TEAM_INACTIVE for teams with active tasks and no recorded activity for a while.
+     */
+    private long detectTeams(long afterId, Run run) {
+        // Read through the ResultSet: queryForList returns driver objects, a LocalDateTime for DATETIME on MySQL
+        List<TeamRow> rows = jdbcTemplate.query(
+                "SELECT id, name, active_tasks, last_activity FROM teams WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new TeamRow(rs.getLong("id"), rs.getString("name"), rs.getInt("active_tasks"),
+                        rs.getTimestamp("last_activity").toLocalDateTime()),
+                afterId, chunkSize);
+        if (rows.isEmpty()) {
+            return -1;
+        }
+        run.scannedRows += rows.size();
+        long firstId = rows.get(0).id();
+        long lastId = rows.get(rows.size() - 1).id();
+
+        Set<Long> alerted = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT team_id FROM notifications WHERE team_id BETWEEN ? AND ? AND type = 'TEAM_INACTIVE' AND is_read = false",
+                Long.class, firstId, lastId));
+        LocalDateTime threshold = run.now.minusDays(teamInactiveDays);
+        List<NotificationCoalescer.Draft> drafts = new ArrayList<>();
+        for (TeamRow row : rows) {
+            if (row.activeTasks() > 0 && row.lastActivity().isBefore(threshold) && !alerted.contains(row.id())) {
+                drafts.add(new NotificationCoalescer.Draft(Notification.NotificationType.TEAM_INACTIVE, Notification.Priority.MEDIUM,
+                        "Équipe inactive", "L'équipe \"" + row.name() + "\" n'a enregistré aucune activité depuis "
+                                + ChronoUnit.DAYS.between(row.lastActivity(), run.now) + " jours (" + row.activeTasks() + " tâches actives)",
+                        null, null, null, row.id()));
+            }
+        }
+        insert(drafts, run);
+        return lastId;
+    }
+
+    private void refreshProjectAlertCounts(Set<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>();
+        for (Long projectId : projectIds) {
+            args.add(new Object[]{projectId, projectId});
+        }
+        jdbcTemplate.batchUpdate("UPDATE projects SET alerts_count = "
+                + "(SELECT COUNT(*) FROM notifications n WHERE n.project_id = ? AND n.is_read = false) WHERE id = ?", args);
+    }
+
+    private void insert(List<NotificationCoalescer.Draft> drafts, Run run) {
+        if (!drafts.isEmpty()) {
+            notificationCoalescer.submit(drafts).forEach(draft -> run.count(draft.getType(), draft.getProjectId()));
+        }
+    }
+
+    private void pause() {
+        if (pauseMillis > 0) {
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Notification detectors interrupted", e);
+            }
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private record TeamRow(long id, String name, int activeTasks, LocalDateTime lastActivity) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkDetector {
+        long detect(long afterId, Run run);
+    }
+
+    /**
+     * Reference time and counters of one detector pass.
+     */
+    private static class Run {
+        private final LocalDate today;
+        private final LocalDateTime now;
+        private final Map<String, Long> created = new LinkedHashMap<>();
+        private final Set<Long> touchedProjects = new HashSet<>();
+        private long scannedRows;
+
+        Run(LocalDate today, LocalDateTime now) {
+            this.today = today;
+            this.now = now;
+            for (Notification.NotificationType type : Notification.NotificationType.values()) {
+                created.put(type.name(), 0L);
+            }
+        }
+
+        void count(Notification.NotificationType type, Long projectId) {
+            created.merge(type.name(), 1L, Long::sum);
+            if (projectId != null) {
+                touchedProjects.add(projectId);
+            }
+        }
+    }
+}
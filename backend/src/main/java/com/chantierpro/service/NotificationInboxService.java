@@ -0,0 +1,275 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.InboxPageDTO;
+import com.chantierpro.entity.Notification;
+import com.chantierpro.entity.UserNotificationState;
+import com.chantierpro.repository.NotificationRepository;
+import com.chantierpro.repository.UserNotificationStateRepository;
+import com.chantierpro.repository.UserRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-user notification inboxes. Every user sees every notification; what differs is the read state, kept per
+ * user as a Roaring bitmap of read notification ids.
+ *
+ * The ids of the notifications in the table are kept in memory as one bitmap too, so an unread count is a single
+ * {@code andNotCardinality} and a page of the inbox is picked by rank ({@code select}) on the unread bitmap before
+ * loading just those rows by id. New rows are picked up before each inbox call with an index range query on the
+ * ids above the highest known id minus {@code catch-up-window}, so an id allocated by a transaction that commits
+ * after a higher one is still found; inserts and deletes through JPA and archiving update the bitmap once
+ * committed, and the whole id bitmap is reloaded every {@code chantierpro.notifications.inbox.reload-millis}.
+ * Read bitmaps of the last {@code cached-users} active users are cached and written back to
+ * {@code user_notification_states} on every change. Writes happen outside the bitmap's lock, one at a time per
+ * user, and always store the latest version, so an older bitmap never overwrites a newer one.
+ */
+@Service
+public class NotificationInboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationInboxService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserNotificationStateRepository userNotificationStateRepository;
+
+    // Ids below the highest known one re-scanned on each catch-up, for inserts committed out of id order
+    @Value("${chantierpro.notifications.inbox.catch-up-window:200}")
+    private int catchUpWindow;
+
+    // Ids of the notifications in the table; also the lock for highestKnownId
+    private final RoaringBitmap notificationIds = new RoaringBitmap();
+    private long highestKnownId;
+
+    @Value("${chantierpro.notifications.inbox.cached-users:10000}")
+    private int cachedUsers;
+
+    // Least recently used first; guarded by itself
+    private final Map<Long, ReadState> readByUser = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ReadState> eldest) {
+            return size() > cachedUsers;
+        }
+    };
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${chantierpro.notifications.inbox.reload-millis:300000}",
+            fixedDelayString = "${chantierpro.notifications.inbox.reload-millis:300000}")
+    public void reloadNotificationIds() {
+        RoaringBitmap ids = new RoaringBitmap();
+        jdbcTemplate.query("SELECT id FROM notifications", rs -> {
+            ids.add(Math.toIntExact(rs.getLong(1)));
+        });
+        ids.runOptimize();
+        synchronized (notificationIds) {
+            notificationIds.clear();
+            notificationIds.or(ids);
+            highestKnownId = ids.isEmpty() ? 0 : Integer.toUnsignedLong(ids.last());
+        }
+        log.debug("Loaded {} notification ids", ids.getLongCardinality());
+    }
+
+    public void notificationAdded(Long id) {
+        AfterCommit.run(() -> {
+            synchronized (notificationIds) {
+                notificationIds.add(Math.toIntExact(id));
+                highestKnownId = Math.max(highestKnownId, id);
+            }
+        });
+    }
+
+    public void notificationsRemoved(Collection<Long> ids) {
+        AfterCommit.run(() -> {
+            synchronized (notificationIds) {
+                ids.forEach(id -> notificationIds.remove(Math.toIntExact(id)));
+            }
+        });
+    }
+
+    public long getUnreadCount(Long userId) {
+        ReadState state = readState(userId);
+        catchUp();
+        synchronized (notificationIds) {
+            synchronized (state) {
+                return RoaringBitmap.andNotCardinality(notificationIds, state.read);
+            }
+        }
+    }
+
+    /**
+     * One page of the inbox, newest first. With {@code unreadOnly}, only notifications the user has not read.
+     */
+    public InboxPageDTO getInbox(Long userId, boolean unreadOnly, int page, int size) {
+        ReadState state = readState(userId);
+        catchUp();
+
+        List<Long> pageIds = new ArrayList<>(size);
+        long total;
+        long unreadCount;
+        synchronized (notificationIds) {
+            RoaringBitmap unread;
+            synchronized (state) {
+                unread = RoaringBitmap.andNot(notificationIds, state.read);
+            }
+            RoaringBitmap candidates = unreadOnly ? unread : notificationIds;
+            total = candidates.getLongCardinality();
+            unreadCount = unread.getLongCardinality();
+            // Newest first: the k-th newest id is the (total - 1 - k)-th smallest
+            long first = (long) page * size;
+            for (long rank = total - 1 - first; rank >= 0 && pageIds.size() < size; rank--) {
+                pageIds.add(Integer.toUnsignedLong(candidates.select((int) rank)));
+            }
+        }
+
+        List<Notification> notifications = notificationRepository.findAllById(pageIds);
+        notifications.sort(Comparator.comparing(Notification::getId).reversed());
+        List<InboxPageDTO.Item> items = new ArrayList<>(notifications.size());
+        synchronized (state) {
+            for (Notification notification : notifications) {
+                items.add(new InboxPageDTO.Item(notification, state.read.contains(Math.toIntExact(notification.getId()))));
+            }
+        }
+        return new InboxPageDTO(userId, page, size, total, unreadCount, items);
+    }
+
+    public void markAsRead(Long userId, Long notificationId) {
+        ReadState state = readState(userId);
+        catchUp();
+        synchronized (notificationIds) {
+            if (!notificationIds.contains(Math.toIntExact(notificationId))) {
+                throw new RuntimeException("Notification not found with id: " + notificationId);
+            }
+        }
+        synchronized (state) {
+            state.read.add(Math.toIntExact(notificationId));
+            state.version++;
+        }
+        write(userId, state);
+    }
+
+    /**
+     * Marks every notification currently in the table as read. Consecutive ids are stored as runs, so a fully read
+     * inbox takes a few bytes whatever the number of notifications; an id committed after the catch-up, even a
+     * lower one, stays unread.
+     */
+    public void markAllAsRead(Long userId) {
+        ReadState state = readState(userId);
+        catchUp();
+        RoaringBitmap known;
+        synchronized (notificationIds) {
+            known = notificationIds.clone();
+        }
+        synchronized (state) {
+            state.read.or(known);
+            state.version++;
+        }
+        write(userId, state);
+    }
+
+    /**
+     * Stores the user's latest bitmap unless a concurrent call already has. The bitmap is serialized under its
+     * lock and saved after releasing it, so readers of the bitmap never wait on the database.
+     */
+    private void write(Long userId, ReadState state) {
+        state.writeLock.lock();
+        try {
+            long version;
+            byte[] bytes;
+            synchronized (state) {
+                if (state.version == state.writtenVersion) {
+                    return;
+                }
+                version = state.version;
+                bytes = serialize(state.read);
+            }
+            userNotificationStateRepository.save(new UserNotificationState(userId, bytes));
+            state.writtenVersion = version;
+        } finally {
+            state.writeLock.unlock();
+        }
+    }
+
+    private ReadState readState(Long userId) {
+        synchronized (readByUser) {
+            ReadState state = readByUser.get(userId);
+            if (state != null) {
+                return state;
+            }
+        }
+        // Loaded outside the map's lock; a concurrent load of the same user keeps the first one cached
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        RoaringBitmap read = userNotificationStateRepository.findById(userId)
+                .map(state -> new ImmutableRoaringBitmap(ByteBuffer.wrap(state.getReadBitmap())).toRoaringBitmap())
+                .orElseGet(RoaringBitmap::new);
+        synchronized (readByUser) {
+            return readByUser.computeIfAbsent(userId, id -> new ReadState(read));
+        }
+    }
+
+    // Adds notifications inserted since the last call (primary key range of at most catch-up-window known ids)
+    private void catchUp() {
+        long after;
+        synchronized (notificationIds) {
+            after = Math.max(0, highestKnownId - catchUpWindow);
+        }
+        List<Long> newIds = jdbcTemplate.queryForList("SELECT id FROM notifications WHERE id > ?", Long.class, after);
+        if (!newIds.isEmpty()) {
+            synchronized (notificationIds) {
+                for (Long id : newIds) {
+                    notificationIds.add(Math.toIntExact(id));
+                    highestKnownId = Math.max(highestKnownId, id);
+                }
+            }
+        }
+    }
+
+    /**
+     * A user's read bitmap, guarded by this object's monitor together with {@code version}, the number of changes
+     * made to it. {@code writtenVersion} is the version last stored and is guarded by {@code writeLock}, which is
+     * a ReentrantLock rather than a monitor so that a virtual thread waiting on the database does not pin its carrier.
+     */
+    private static class ReadState {
+        private final RoaringBitmap read;
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private long version;
+        private long writtenVersion;
+
+        ReadState(RoaringBitmap read) {
+            this.read = read;
+        }
+    }
+
+    private static byte[] serialize(RoaringBitmap bitmap) {
+        bitmap.runOptimize();
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,188 @@
+package com.chantierpro.service;
+
+import com.chantierpro.NotificationRetentionProperties;
+import com.chantierpro.entity.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Moves notifications past their retention to {@code notifications_archive} and purges old archived rows.
+ *
+ * Both steps work in chunks of {@code chunk-size} ids, each in its own short transaction (copy then delete by
+ * primary key), with a pause between chunks, so no statement holds locks on more than one chunk of rows and the
+ * {@code notifications} table stays available to the API while the job runs.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private static final String COLUMNS = "id, type, title, message, priority, is_read, created_at, occurrences, project_id, villa_id, task_id, team_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NotificationRetentionProperties properties;
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
+    @Autowired
+    private NotificationInboxService notificationInboxService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${chantierpro.notifications.retention.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        if (properties.isEnabled()) {
+            applyRetention();
+        }
+    }
+
+    /**
+     * Archives expired notifications, then purges the archive. Returns the number of archived and purged rows,
+     * or an empty map when the job is already running.
+     */
+    public Map<String, Long> applyRetention() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Notification retention already running, skipping");
+            return Collections.emptyMap();
+        }
+        try {
+            long startedAt = System.nanoTime();
+            Map<String, Long> result = new LinkedHashMap<>();
+            result.put("archived", archiveExpired(LocalDateTime.now()));
+            result.put("purged", purgeArchive(LocalDateTime.now().minus(properties.getPurgeAfter())));
+            log.info("Notification retention finished in {} ms: {}", (System.nanoTime() - startedAt) / 1_000_000, result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long archiveExpired(LocalDateTime now) {
+        List<NotificationRetentionProperties.Rule> rules = properties.getRules();
+        // No notification younger than the shortest retention can expire
+        LocalDateTime oldestCutoff = rules.stream()
+                .filter(rule -> rule.getArchiveAfter() != null)
+                .map(rule -> now.minus(rule.getArchiveAfter()))
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        if (oldestCutoff == null) {
+            return 0;
+        }
+
+        long archived = 0;
+        long lastId = 0;
+        Set<Long> touchedProjects = new HashSet<>();
+        while (true) {
+            List<Candidate> rows = jdbcTemplate.query(
+                    "SELECT id, type, priority, is_read, created_at, project_id FROM notifications "
+                            + "WHERE id > ? AND created_at < ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Candidate(rs.getLong("id"),
+                            Notification.NotificationType.valueOf(rs.getString("type")),
+                            Notification.Priority.valueOf(rs.getString("priority")), rs.getBoolean("is_read"),
+                            rs.getTimestamp("created_at").toLocalDateTime(), rs.getObject("project_id", Long.class)),
+                    lastId, Timestamp.valueOf(oldestCutoff), properties.getChunkSize());
+            if (rows.isEmpty()) {
+                break;
+            }
+            lastId = rows.get(rows.size() - 1).id();
+
+            List<Long> expired = new ArrayList<>();
+            List<Runnable> counterUpdates = new ArrayList<>();
+            for (Candidate row : rows) {
+                NotificationRetentionProperties.Rule rule = rules.stream()
+                        .filter(candidate -> candidate.matches(row.type(), row.priority(), row.read()))
+                        .findFirst()
+                        .orElse(null);
+                if (rule != null && rule.getArchiveAfter() != null && row.createdAt().isBefore(now.minus(rule.getArchiveAfter()))) {
+                    expired.add(row.id());
+                    if (!row.read()) {
+                        Long projectId = row.projectId();
+                        counterUpdates.add(() -> notificationCounterService.unreadRemoved(row.type(), row.priority(), projectId));
+                        if (projectId != null) {
+                            touchedProjects.add(projectId);
+                        }
+                    }
+                }
+            }
+
+            if (!expired.isEmpty()) {
+                String ids = expired.stream().map(String::valueOf).collect(Collectors.joining(","));
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("INSERT INTO notifications_archive (" + COLUMNS + ", archived_at) "
+                            + "SELECT " + COLUMNS + ", ? FROM notifications WHERE id IN (" + ids + ")", Timestamp.valueOf(now));
+                    jdbcTemplate.update("DELETE FROM notifications WHERE id IN (" + ids + ")");
+                });
+                counterUpdates.forEach(Runnable::run);
+                notificationInboxService.notificationsRemoved(expired);
+                searchIndexService.deleteNotifications(expired);
+                archived += expired.size();
+            }
+            pause();
+        }
+
+        // Archived unread notifications no longer count as project alerts
+        List<Object[]> args = touchedProjects.stream().map(id -> new Object[]{id, id}).collect(Collectors.toList());
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE projects SET alerts_count = "
+                    + "(SELECT COUNT(*) FROM notifications n WHERE n.project_id = ? AND n.is_read = false) WHERE id = ?", args);
+        }
+        return archived;
+    }
+
+    private long purgeArchive(LocalDateTime cutoff) {
+        long purged = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM notifications_archive WHERE archived_at < ? ORDER BY archived_at LIMIT ?",
+                    Long.class, Timestamp.valueOf(cutoff), properties.getChunkSize());
+            if (ids.isEmpty()) {
+                return purged;
+            }
+            purged += jdbcTemplate.update("DELETE FROM notifications_archive WHERE id IN ("
+                    + ids.stream().map(String::valueOf).collect(Collectors.joining(",")) + ")");
+            pause();
+        }
+    }
+
+    private record Candidate(long id, Notification.NotificationType type, Notification.Priority priority, boolean read,
+                             LocalDateTime createdAt, Long projectId) {
+    }
+
+    private void pause() {
+        if (properties.getPauseMillis() > 0) {
+            try {
+                Thread.sleep(properties.getPauseMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Notification retention interrupted", e);
+            }
+        }
+    }
+}
@@ -2,11 +2,16 @@ package com.chantierpro.service;
 
 import com.chantierpro.entity.Notification;
 import com.chantierpro.repository.NotificationRepository;
+import com.chantierpro.repository.ProjectRepository;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.VillaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -16,14 +21,29 @@ public class NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
+    @Transactional(readOnly = true)
     public List<Notification> getAllNotifications() {
         return notificationRepository.findAllOrderByCreatedAtDesc();
     }
 
+    @Transactional(readOnly = true)
     public List<Notification> getUnreadNotifications() {
         return notificationRepository.findUnreadOrderByPriorityAndDate();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Notification> getNotificationById(Long id) {
         return notificationRepository.findById(id);
     }
@@ -41,9 +61,9 @@ public class NotificationService {
     }
 
     public void markAllAsRead() {
-        List<Notification> unreadNotifications = notificationRepository.findByIsReadFalse();
-        unreadNotifications.forEach(notification -> notification.setIsRead(true));
-        notificationRepository.saveAll(unreadNotifications);
+        // One bulk UPDATE; entity listeners do not see it, so the counters are reset here
+        notificationRepository.markAllAsRead();
+        notificationCounterService.allRead();
     }
 
     public void deleteNotification(Long id) {
@@ -52,24 +72,35 @@ public class NotificationService {
         notificationRepository.delete(notification);
     }
 
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationsByType(Notification.NotificationType type) {
         return notificationRepository.findByType(type);
     }
 
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationsByPriority(Notification.Priority priority) {
         return notificationRepository.findByPriority(priority);
     }
 
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationsByProjectId(Long projectId) {
         return notificationRepository.findByProjectId(projectId);
     }
 
+    // In-memory counters: no transaction, no connection
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long getUnreadCount() {
-        return notificationRepository.countUnread();
+        return notificationCounterService.getUnreadCount();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long getUnreadCountByPriority(Notification.Priority priority) {
-        return notificationRepository.countUnreadByPriority(priority);
+        return notificationCounterService.getUnreadCount(priority);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<String, Object> getUnreadCounters() {
+        return notificationCounterService.snapshot();
     }
 
     // Helper methods to create specific types of notifications
@@ -79,10 +110,8 @@ public class NotificationService {
         notification.setTitle(title);
         notification.setMessage(message);
         notification.setPriority(Notification.Priority.HIGH);
-        
-        // Set related entities if provided
-        // You would need to fetch and set the actual entities here
-        
+        setReferences(notification, projectId, villaId, taskId);
+
         return notificationRepository.save(notification);
     }
 
@@ -92,7 +121,8 @@ public class NotificationService {
         notification.setTitle(title);
         notification.setMessage(message);
         notification.setPriority(Notification.Priority.MEDIUM);
-        
+        setReferences(notification, projectId, villaId, null);
+
         return notificationRepository.save(notification);
     }
 
@@ -102,7 +132,21 @@ public class NotificationService {
         notification.setTitle(title);
         notification.setMessage(message);
         notification.setPriority(Notification.Priority.MEDIUM);
-        
+        setReferences(notification, projectId, villaId, null);
+
         return notificationRepository.save(notification);
     }
-}
\ No newline at end of file
+
+    // References only, the related rows are not loaded
+    private void setReferences(Notification notification, Long projectId, Long villaId, Long taskId) {
+        if (projectId != null) {
+            notification.setProject(projectRepository.getReferenceById(projectId));
+        }
+        if (villaId != null) {
+            notification.setVilla(villaRepository.getReferenceById(villaId));
+        }
+        if (taskId != null) {
+            notification.setTask(taskRepository.getReferenceById(taskId));
+        }
+    }
+}
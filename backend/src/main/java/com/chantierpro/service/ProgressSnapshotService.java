@@ -0,0 +1,117 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.ProgressSnapshot;
+import com.chantierpro.repository.ProgressSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends the daily state of every project, villa and category to {@code progress_snapshots}, and reads trend
+ * lines back.
+ *
+ * One snapshot is three {@code INSERT ... SELECT} statements (categories, villas, projects), each aggregating the
+ * tasks in a single pass, run in one transaction after removing the rows of the same day, so running the job
+ * twice a day just replaces that day's snapshot.
+ */
+@Service
+public class ProgressSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressSnapshotService.class);
+
+    // Longest trend line served by one query
+    public static final int MAX_RANGE_DAYS = 1100;
+
+    private static final String COLUMNS = "snapshot_date, level, entity_id, project_id, progress, tasks_total, "
+            + "tasks_pending, tasks_in_progress, tasks_delayed, tasks_completed, amount_total, amount_paid";
+
+    private static final String TASK_AGGREGATES = "COUNT(t.id), "
+            + "SUM(CASE WHEN t.status = 'PENDING' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.status = 'DELAYED' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.status = 'COMPLETED' THEN 1 ELSE 0 END), "
+            + "COALESCE(SUM(t.amount), 0), "
+            + "COALESCE(SUM(CASE WHEN t.is_paid = true THEN t.amount ELSE 0 END), 0)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProgressSnapshotRepository progressSnapshotRepository;
+
+    @Value("${chantierpro.snapshots.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(cron = "${chantierpro.snapshots.cron:0 45 23 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            takeSnapshot(LocalDate.now());
+        }
+    }
+
+    /**
+     * Writes the snapshot of {@code date}, replacing any earlier one of that day. Returns the rows written per level.
+     */
+    public Map<String, Integer> takeSnapshot(LocalDate date) {
+        long startedAt = System.nanoTime();
+        Date day = Date.valueOf(date);
+        Map<String, Integer> result = new LinkedHashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM progress_snapshots WHERE snapshot_date = ?", day);
+            result.put("categories", jdbcTemplate.update("INSERT INTO progress_snapshots (" + COLUMNS + ") "
+                    + "SELECT ?, 'CATEGORY', c.id, v.project_id, c.progress, " + TASK_AGGREGATES + " "
+                    + "FROM categories c JOIN villas v ON v.id = c.villa_id LEFT JOIN tasks t ON t.category_id = c.id "
+                    + "GROUP BY c.id, v.project_id, c.progress", day));
+            result.put("villas", jdbcTemplate.update("INSERT INTO progress_snapshots (" + COLUMNS + ") "
+                    + "SELECT ?, 'VILLA', v.id, v.project_id, v.progress, " + TASK_AGGREGATES + " "
+                    + "FROM villas v LEFT JOIN tasks t ON t.villa_id = v.id "
+                    + "GROUP BY v.id, v.project_id, v.progress", day));
+            result.put("projects", jdbcTemplate.update("INSERT INTO progress_snapshots (" + COLUMNS + ") "
+                    + "SELECT ?, 'PROJECT', p.id, p.id, p.progress, " + TASK_AGGREGATES + " "
+                    + "FROM projects p LEFT JOIN villas v ON v.project_id = p.id LEFT JOIN tasks t ON t.villa_id = v.id "
+                    + "GROUP BY p.id, p.progress", day));
+        });
+        log.info("Progress snapshot of {} written in {} ms: {}", date, (System.nanoTime() - startedAt) / 1_000_000, result);
+        return result;
+    }
+
+    /**
+     * Daily snapshots of one project, villa or category between two dates, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<ProgressSnapshot> getTrend(ProgressSnapshot.Level level, Long entityId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return progressSnapshotRepository.findTrend(level, entityId, from, to);
+    }
+
+    /**
+     * Daily snapshots of all villas (or categories) of a project between two dates, by entity then date.
+     */
+    @Transactional(readOnly = true)
+    public List<ProgressSnapshot> getProjectTrends(Long projectId, ProgressSnapshot.Level level, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return progressSnapshotRepository.findProjectTrends(projectId, level, from, to);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must be from 1 to " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
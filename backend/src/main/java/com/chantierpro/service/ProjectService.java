@@ -3,6 +3,7 @@ package com.chantierpro.service;
 import com.chantierpro.entity.Project;
 import com.chantierpro.repository.ProjectRepository;
 import com.chantierpro.repository.VillaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +21,12 @@ public class ProjectService {
     @Autowired
     private VillaRepository villaRepository;
 
+    @Transactional(readOnly = true)
     public List<Project> getAllProjects() {
         return projectRepository.findAllOrderByCreatedAtDesc();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Project> getProjectById(Long id) {
         return projectRepository.findById(id);
     }
@@ -53,15 +56,18 @@ public class ProjectService {
         projectRepository.delete(project);
     }
 
+    @Transactional(readOnly = true)
     public List<Project> searchProjects(String searchTerm) {
         return projectRepository.findByNameOrLocationContaining(searchTerm);
     }
 
+    @Transactional(readOnly = true)
     public List<Project> getProjectsByStatus(Project.ProjectStatus status) {
         return projectRepository.findByStatus(status);
     }
 
     @Transactional
+    @Timed(value = "chantierpro.stats.cascade", extraTags = {"level", "project"})
     public void updateProjectStats(Long projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
@@ -0,0 +1,380 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.SearchResultDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchLightStemFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.apache.lucene.analysis.util.ElisionFilterFactory;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded Lucene full-text index over projects, villas, tasks (name, description, remarks), teams, users and
+ * notifications, with a French analyzer (elision, accent folding, light stemming).
+ *
+ * Entities saved or deleted through JPA are indexed by {@link com.chantierpro.listener.SearchIndexListener} once
+ * their transaction has committed; notifications written with JDBC are picked up every {@code commit-millis}, when
+ * the index is also committed to disk, by reindexing the ids above the highest one seen by the previous catch-up
+ * minus {@code catch-up-window} (so an id committed after a higher one is still found). All index writes run on one background thread, so requests never wait on Lucene.
+ * The index is rebuilt from the database at startup when it is empty, and on demand.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    public static final String PROJECT = "project";
+    public static final String VILLA = "villa";
+    public static final String TASK = "task";
+    public static final String TEAM = "team";
+    public static final String USER = "user";
+    public static final String NOTIFICATION = "notification";
+
+    private static final int EXCERPT_LENGTH = 160;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${chantierpro.search.enabled:true}")
+    private boolean enabled;
+
+    // Empty: in-memory index, rebuilt at every start
+    @Value("${chantierpro.search.index-dir:}")
+    private String indexDir;
+
+    // Notification ids below the highest caught-up one reindexed on each catch-up
+    @Value("${chantierpro.search.catch-up-window:200}")
+    private int catchUpWindow;
+
+    private Analyzer analyzer;
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, Long> villaProjects = new ConcurrentHashMap<>();
+    // Highest id read by catchUpNotifications; only used on the indexer thread
+    private long highestNotificationId;
+
+    /**
+     * Text of one searchable entity. A villa id without project id is resolved to its project when indexed.
+     */
+    public static class Entry {
+        private final String kind;
+        private final Long id;
+        private final String title;
+        private final String body;
+        private final Long projectId;
+        private final Long villaId;
+
+        public Entry(String kind, Long id, String title, String body, Long projectId, Long villaId) {
+            this.kind = kind;
+            this.id = id;
+            this.title = title;
+            this.body = body;
+            this.projectId = projectId;
+            this.villaId = villaId;
+        }
+
+        public String getKind() { return kind; }
+        public Long getId() { return id; }
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        analyzer = CustomAnalyzer.builder()
+                .withTokenizer(StandardTokenizerFactory.class)
+                .addTokenFilter(ElisionFilterFactory.class)
+                .addTokenFilter(LowerCaseFilterFactory.class)
+                .addTokenFilter(ASCIIFoldingFilterFactory.class)
+                .addTokenFilter(FrenchLightStemFilterFactory.class)
+                .build();
+        directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Paths.get(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException, InterruptedException {
+        indexer.shutdown();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            if (writer.getDocStats().numDocs == 0) {
+                requestRebuild();
+            } else {
+                // Resume from the index, so notifications written while the application was down are caught up
+                indexer.submit(() -> run("notification catch-up", () -> {
+                    highestNotificationId = highestIndexedNotificationId();
+                    catchUpNotifications();
+                }));
+            }
+        }
+    }
+
+    public void index(Entry entry) {
+        afterCommit(() -> {
+            writer.updateDocument(uid(entry.kind, entry.id), document(entry));
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    public void delete(String kind, Long id) {
+        afterCommit(() -> {
+            writer.deleteDocuments(uid(kind, id));
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    public void deleteNotifications(Collection<Long> ids) {
+        List<Term> terms = ids.stream().map(id -> uid(NOTIFICATION, id)).toList();
+        afterCommit(() -> {
+            writer.deleteDocuments(terms.toArray(Term[]::new));
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    /**
+     * Drops the index and reindexes every row in the background.
+     */
+    public void requestRebuild() {
+        indexer.submit(() -> run("rebuild", this::rebuild));
+    }
+
+    @Scheduled(fixedDelayString = "${chantierpro.search.commit-millis:10000}")
+    public void commit() {
+        if (enabled) {
+            indexer.submit(() -> run("commit", () -> {
+                catchUpNotifications();
+                writer.commit();
+            }));
+        }
+    }
+
+    /**
+     * Best matches first, optionally restricted to one project and one kind of entity.
+     */
+    public List<SearchResultDTO> search(String text, Long projectId, String kind, int limit) throws IOException {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of("title", 2f, "body", 1f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query parsed = parser.parse(text);
+        if (parsed == null) {
+            return List.of();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(parsed, BooleanClause.Occur.MUST);
+        if (projectId != null) {
+            query.add(LongPoint.newExactQuery("projectId", projectId), BooleanClause.Occur.FILTER);
+        }
+        if (kind != null) {
+            query.add(new TermQuery(new Term("kind", kind)), BooleanClause.Occur.FILTER);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query.build(), limit);
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchResultDTO> results = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc hit : topDocs.scoreDocs) {
+                Document document = storedFields.document(hit.doc);
+                String body = document.get("body");
+                results.add(new SearchResultDTO(document.get("kind"),
+                        document.getField("id").numericValue().longValue(),
+                        document.get("title"),
+                        body != null && body.length() > EXCERPT_LENGTH ? body.substring(0, EXCERPT_LENGTH) + "…" : body,
+                        document.getField("projectId") != null ? document.getField("projectId").numericValue().longValue() : null,
+                        hit.score));
+            }
+            return results;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private void rebuild() throws IOException {
+        long startedAt = System.nanoTime();
+        writer.deleteAll();
+        villaProjects.clear();
+        jdbcTemplate.query("SELECT id, name, type, location FROM projects", rs -> {
+            add(new Entry(PROJECT, rs.getLong(1), rs.getString(2), join(rs.getString(3), rs.getString(4)), rs.getLong(1), null));
+        });
+        jdbcTemplate.query("SELECT id, name, type, project_id FROM villas", rs -> {
+            villaProjects.put(rs.getLong(1), rs.getLong(4));
+            add(new Entry(VILLA, rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4), rs.getLong(1)));
+        });
+        jdbcTemplate.query("SELECT id, name, description, remarks, villa_id FROM tasks", rs -> {
+            add(new Entry(TASK, rs.getLong(1), rs.getString(2), join(rs.getString(3), rs.getString(4)), null, rs.getLong(5)));
+        });
+        jdbcTemplate.query("SELECT id, name, specialty FROM teams", rs -> {
+            add(new Entry(TEAM, rs.getLong(1), rs.getString(2), rs.getString(3), null, null));
+        });
+        jdbcTemplate.query("SELECT id, name, email FROM users", rs -> {
+            add(new Entry(USER, rs.getLong(1), rs.getString(2), rs.getString(3), null, null));
+        });
+        highestNotificationId = 0;
+        catchUpNotifications();
+        writer.commit();
+        searcherManager.maybeRefresh();
+        log.info("Rebuilt search index: {} documents in {} ms", writer.getDocStats().numDocs,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    // Also refreshes digests whose text the coalescer grew with JDBC, as long as they are within the window
+    private void catchUpNotifications() {
+        jdbcTemplate.query("SELECT id, title, message, project_id, villa_id FROM notifications WHERE id > ? ORDER BY id",
+                rs -> {
+                    long projectId = rs.getLong(4);
+                    Long project = rs.wasNull() ? null : projectId;
+                    long villaId = rs.getLong(5);
+                    Long villa = rs.wasNull() ? null : villaId;
+                    updateQuietly(new Entry(NOTIFICATION, rs.getLong(1), rs.getString(2), rs.getString(3), project, villa));
+                    highestNotificationId = Math.max(highestNotificationId, rs.getLong(1));
+                }, Math.max(0, highestNotificationId - catchUpWindow));
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 0 when the index has no notification, or predates the notificationId point field (everything is caught up)
+    private long highestIndexedNotificationId() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            byte[] max = PointValues.getMaxPackedValue(searcher.getIndexReader(), "notificationId");
+            return max != null ? LongPoint.decodeDimension(max, 0) : 0;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private void add(Entry entry) {
+        try {
+            writer.addDocument(document(entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void updateQuietly(Entry entry) {
+        try {
+            writer.updateDocument(uid(entry.kind, entry.id), document(entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document document(Entry entry) {
+        Document document = new Document();
+        document.add(new StringField("uid", entry.kind + ":" + entry.id, Field.Store.NO));
+        document.add(new StringField("kind", entry.kind, Field.Store.YES));
+        document.add(new StoredField("id", entry.id));
+        document.add(new TextField("title", entry.title != null ? entry.title : "", Field.Store.YES));
+        if (entry.body != null) {
+            document.add(new TextField("body", entry.body, Field.Store.YES));
+        }
+        Long projectId = entry.projectId != null ? entry.projectId : projectOf(entry.villaId);
+        if (projectId != null) {
+            document.add(new LongPoint("projectId", projectId));
+            document.add(new StoredField("projectId", projectId));
+        }
+        if (NOTIFICATION.equals(entry.kind)) {
+            document.add(new LongPoint("notificationId", entry.id));
+        }
+        return document;
+    }
+
+    private Long projectOf(Long villaId) {
+        if (villaId == null) {
+            return null;
+        }
+        return villaProjects.computeIfAbsent(villaId, id -> {
+            List<Long> projectIds = jdbcTemplate.queryForList("SELECT project_id FROM villas WHERE id = ?", Long.class, id);
+            return projectIds.isEmpty() ? null : projectIds.get(0);
+        });
+    }
+
+    private static Term uid(String kind, Long id) {
+        return new Term("uid", kind + ":" + id);
+    }
+
+    private static String join(String first, String second) {
+        return first == null ? second : second == null ? first : first + "\n" + second;
+    }
+
+    private void afterCommit(IndexTask task) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> indexer.submit(() -> run("update", task)));
+    }
+
+    private void run(String what, IndexTask task) {
+        try {
+            task.run();
+        } catch (IOException | RuntimeException e) {
+            log.error("Search index {} failed", what, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexTask {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,477 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TaskAnalyticsDTO;
+import com.chantierpro.entity.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory columnar copy of the tasks for portfolio reports.
+ *
+ * Each task is a slot in primitive arrays, one per column: project, villa, category, team and template ids are
+ * dictionary-encoded to dense int codes, status and progress are bytes, amounts are cents, the planned end is a
+ * month number; paid tasks and each status have a bitset. A report filters with the status bitsets and the int
+ * columns, and aggregates into arrays indexed by group code; the slots are split in chunks aggregated in parallel
+ * on the common fork-join pool, then merged.
+ *
+ * The store is loaded at startup and every {@code chantierpro.analytics.reload-millis}, which also picks up
+ * changes made with JDBC (nightly status recompute) and renamed entities; tasks written through JPA are applied
+ * by {@link com.chantierpro.listener.TaskColumnStoreListener} once their transaction has committed. Changes applied
+ * while a reload reads the database are replayed on the loaded columns before they replace the current ones.
+ */
+@Service
+public class TaskColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskColumnStore.class);
+
+    public enum Dimension {
+        PROJECT, VILLA, CATEGORY, TEAM, TEMPLATE, STATUS, MONTH
+    }
+
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final int NONE = -1;
+    // Slots aggregated by one parallel task
+    private static final int CHUNK = 1 << 16;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns();
+    // Entity names by dimension, for group labels
+    private volatile Map<Dimension, Map<Long, String>> names = Map.of();
+    private volatile Map<Long, Long> villaProjects = new ConcurrentHashMap<>();
+    // Changes applied since the running reload started, replayed on its result; null when no reload runs.
+    // Guarded by the write lock
+    private List<Consumer<Columns>> changedDuringReload;
+
+    /**
+     * Long ids to dense int codes, in order of first appearance.
+     */
+    private static final class Dictionary {
+        private final Map<Long, Integer> codes = new HashMap<>();
+        private long[] ids = new long[64];
+
+        int encode(Long id) {
+            if (id == null) {
+                return NONE;
+            }
+            return codes.computeIfAbsent(id, key -> {
+                int code = codes.size();
+                if (code == ids.length) {
+                    ids = Arrays.copyOf(ids, code * 2);
+                }
+                ids[code] = key;
+                return code;
+            });
+        }
+
+        // NONE when the id was never seen
+        int lookup(Long id) {
+            return codes.getOrDefault(id, NONE);
+        }
+
+        long decode(int code) {
+            return ids[code];
+        }
+
+        int size() {
+            return codes.size();
+        }
+    }
+
+    private static final class Columns {
+        private int capacity = 1024;
+        // Slots in use are [0, size); freed slots are reused
+        private int size;
+        private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+        private final Map<Long, Integer> slotOfTask = new HashMap<>();
+
+        private long[] taskId = new long[capacity];
+        private int[] project = new int[capacity];
+        private int[] villa = new int[capacity];
+        private int[] category = new int[capacity];
+        private int[] team = new int[capacity];
+        private int[] template = new int[capacity];
+        private int[] month = new int[capacity];
+        private byte[] status = new byte[capacity];
+        private byte[] progress = new byte[capacity];
+        private long[] amountCents = new long[capacity];
+        private final BitSet live = new BitSet();
+        private final BitSet paid = new BitSet();
+        private final BitSet[] byStatus = new BitSet[STATUSES.length];
+        // Range of planned end months; month groups are offsets from minMonth
+        private int minMonth = Integer.MAX_VALUE;
+        private int maxMonth = Integer.MIN_VALUE;
+
+        private final Dictionary projects = new Dictionary();
+        private final Dictionary villas = new Dictionary();
+        private final Dictionary categories = new Dictionary();
+        private final Dictionary teams = new Dictionary();
+        private final Dictionary templates = new Dictionary();
+
+        Columns() {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new BitSet();
+            }
+        }
+
+        void put(Row row) {
+            Integer slot = slotOfTask.get(row.taskId);
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? size++ : freeSlots.poll();
+                if (slot == capacity) {
+                    grow();
+                }
+                slotOfTask.put(row.taskId, slot);
+            }
+            int s = slot;
+            taskId[s] = row.taskId;
+            project[s] = projects.encode(row.projectId);
+            villa[s] = villas.encode(row.villaId);
+            category[s] = categories.encode(row.categoryId);
+            team[s] = teams.encode(row.teamId);
+            template[s] = templates.encode(row.templateId);
+            month[s] = row.plannedEnd != null ? monthNumber(row.plannedEnd) : NONE;
+            if (month[s] != NONE) {
+                minMonth = Math.min(minMonth, month[s]);
+                maxMonth = Math.max(maxMonth, month[s]);
+            }
+            for (BitSet bits : byStatus) {
+                bits.clear(s);
+            }
+            status[s] = (byte) row.status.ordinal();
+            byStatus[row.status.ordinal()].set(s);
+            progress[s] = (byte) Math.max(0, Math.min(100, row.progress));
+            amountCents[s] = row.amount != null ? row.amount.movePointRight(2).longValue() : 0;
+            paid.set(s, row.paid);
+            live.set(s);
+        }
+
+        void remove(long id) {
+            Integer slot = slotOfTask.remove(id);
+            if (slot != null) {
+                live.clear(slot);
+                paid.clear(slot);
+                for (BitSet bits : byStatus) {
+                    bits.clear(slot);
+                }
+                freeSlots.add(slot);
+            }
+        }
+
+        private void grow() {
+            capacity *= 2;
+            taskId = Arrays.copyOf(taskId, capacity);
+            project = Arrays.copyOf(project, capacity);
+            villa = Arrays.copyOf(villa, capacity);
+            category = Arrays.copyOf(category, capacity);
+            team = Arrays.copyOf(team, capacity);
+            template = Arrays.copyOf(template, capacity);
+            month = Arrays.copyOf(month, capacity);
+            status = Arrays.copyOf(status, capacity);
+            progress = Arrays.copyOf(progress, capacity);
+            amountCents = Arrays.copyOf(amountCents, capacity);
+        }
+    }
+
+    private record Row(long taskId, Long projectId, Long villaId, Long categoryId, Long teamId, Long templateId,
+                       Task.TaskStatus status, int progress, BigDecimal amount, boolean paid, LocalDate plannedEnd) {
+    }
+
+    /**
+     * Filters of a report; null means any.
+     */
+    public record Filter(Long projectId, Long villaId, Long teamId, Task.TaskStatus status,
+                         YearMonth fromMonth, YearMonth toMonth) {
+    }
+
+    // Per-group sums of one chunk, merged at the end
+    private static final class Aggregate {
+        private final long[] tasks;
+        private final long[] completed;
+        private final long[] delayed;
+        private final long[] amountCents;
+        private final long[] paidCents;
+        private final long[] progress;
+
+        Aggregate(int groups) {
+            tasks = new long[groups];
+            completed = new long[groups];
+            delayed = new long[groups];
+            amountCents = new long[groups];
+            paidCents = new long[groups];
+            progress = new long[groups];
+        }
+
+        Aggregate merge(Aggregate other) {
+            for (int g = 0; g < tasks.length; g++) {
+                tasks[g] += other.tasks[g];
+                completed[g] += other.completed[g];
+                delayed[g] += other.delayed[g];
+                amountCents[g] += other.amountCents[g];
+                paidCents[g] += other.paidCents[g];
+                progress[g] += other.progress[g];
+            }
+            return this;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${chantierpro.analytics.reload-millis:600000}",
+            fixedDelayString = "${chantierpro.analytics.reload-millis:600000}")
+    public synchronized void reload() {
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void load() {
+        long startedAt = System.nanoTime();
+        Columns loaded = new Columns();
+        Map<Long, Long> loadedVillaProjects = new HashMap<>();
+        jdbcTemplate.query("SELECT t.id, v.project_id, t.villa_id, t.category_id, t.team_id, t.template_id, t.status, "
+                        + "t.progress, t.amount, t.is_paid, t.planned_end_date FROM tasks t JOIN villas v ON v.id = t.villa_id",
+                rs -> {
+                    loadedVillaProjects.put(rs.getLong(3), rs.getLong(2));
+                    Date plannedEnd = rs.getDate(11);
+                    loaded.put(new Row(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getObject(4, Long.class),
+                            rs.getObject(5, Long.class), rs.getObject(6, Long.class),
+                            Task.TaskStatus.valueOf(rs.getString(7)), rs.getInt(8), rs.getBigDecimal(9),
+                            rs.getBoolean(10), plannedEnd != null ? plannedEnd.toLocalDate() : null));
+                });
+
+        Map<Dimension, Map<Long, String>> loadedNames = new HashMap<>();
+        loadedNames.put(Dimension.PROJECT, loadNames("projects"));
+        loadedNames.put(Dimension.VILLA, loadNames("villas"));
+        loadedNames.put(Dimension.CATEGORY, loadNames("categories"));
+        loadedNames.put(Dimension.TEAM, loadNames("teams"));
+        loadedNames.put(Dimension.TEMPLATE, loadNames("task_templates"));
+
+        lock.writeLock().lock();
+        try {
+            // In commit order; a change the snapshot already holds is applied again with the same result
+            changedDuringReload.forEach(change -> change.accept(loaded));
+            columns = loaded;
+            names = loadedNames;
+            villaProjects = new ConcurrentHashMap<>(loadedVillaProjects);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded task column store: {} tasks in {} ms", loaded.slotOfTask.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public void taskChanged(Task task) {
+        Row row = new Row(task.getId(), null, task.getVillaId(), task.getCategoryId(), task.getTeamId(),
+                task.getTemplate() != null ? task.getTemplate().getId() : null, task.getStatus(),
+                task.getProgress() != null ? task.getProgress() : 0, task.getAmount(),
+                Boolean.TRUE.equals(task.getIsPaid()), task.getPlannedEndDate());
+        AfterCommit.run(() -> {
+            Long projectId = row.villaId() != null ? villaProjects.computeIfAbsent(row.villaId(), this::projectOfVilla) : null;
+            Row complete = new Row(row.taskId(), projectId, row.villaId(), row.categoryId(), row.teamId(), row.templateId(),
+                    row.status(), row.progress(), row.amount(), row.paid(), row.plannedEnd());
+            apply(c -> c.put(complete));
+        });
+    }
+
+    public void taskRemoved(Long taskId) {
+        AfterCommit.run(() -> apply(c -> c.remove(taskId)));
+    }
+
+    private void apply(Consumer<Columns> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(columns);
+            if (changedDuringReload != null) {
+                changedDuringReload.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tasks matching {@code filter}, grouped by {@code dimension}: count, completed and delayed counts, amounts and
+     * average progress per group, largest groups first.
+     */
+    public TaskAnalyticsDTO aggregate(Dimension dimension, Filter filter) {
+        long startedAt = System.nanoTime();
+        TaskAnalyticsDTO result = new TaskAnalyticsDTO(dimension.name());
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            int projectCode = code(c.projects, filter.projectId());
+            int villaCode = code(c.villas, filter.villaId());
+            int teamCode = code(c.teams, filter.teamId());
+            if (projectCode == NONE || villaCode == NONE || teamCode == NONE) {
+                // Filter on an id that has no task
+                return result;
+            }
+            int fromMonth = filter.fromMonth() != null ? monthNumber(filter.fromMonth().atDay(1)) : Integer.MIN_VALUE;
+            int toMonth = filter.toMonth() != null ? monthNumber(filter.toMonth().atDay(1)) : Integer.MAX_VALUE;
+            BitSet candidates = (BitSet) c.live.clone();
+            if (filter.status() != null) {
+                candidates.and(c.byStatus[filter.status().ordinal()]);
+            }
+
+            int[] groupColumn = groupColumn(c, dimension);
+            // Last group collects the tasks without a value (no team, no template, no planned end)
+            int groups = groupCount(c, dimension) + 1;
+            int noneGroup = groups - 1;
+            int groupOffset = dimension == Dimension.MONTH && c.minMonth <= c.maxMonth ? c.minMonth : 0;
+            int chunks = (c.size + CHUNK - 1) / CHUNK;
+            int completedCode = Task.TaskStatus.COMPLETED.ordinal();
+            int delayedCode = Task.TaskStatus.DELAYED.ordinal();
+
+            Aggregate total = IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+                Aggregate aggregate = new Aggregate(groups);
+                int end = Math.min(c.size, (chunk + 1) * CHUNK);
+                for (int s = candidates.nextSetBit(chunk * CHUNK); s >= 0 && s < end; s = candidates.nextSetBit(s + 1)) {
+                    if ((projectCode >= 0 && c.project[s] != projectCode)
+                            || (villaCode >= 0 && c.villa[s] != villaCode)
+                            || (teamCode >= 0 && c.team[s] != teamCode)
+                            || c.month[s] < fromMonth || c.month[s] > toMonth) {
+                        continue;
+                    }
+                    int value = groupColumn != null ? groupColumn[s] : c.status[s];
+                    int g = value == NONE ? noneGroup : value - groupOffset;
+                    aggregate.tasks[g]++;
+                    if (c.status[s] == completedCode) {
+                        aggregate.completed[g]++;
+                    } else if (c.status[s] == delayedCode) {
+                        aggregate.delayed[g]++;
+                    }
+                    aggregate.amountCents[g] += c.amountCents[s];
+                    if (c.paid.get(s)) {
+                        aggregate.paidCents[g] += c.amountCents[s];
+                    }
+                    aggregate.progress[g] += c.progress[s];
+                }
+                return aggregate;
+            }).reduce(Aggregate::merge).orElse(new Aggregate(groups));
+
+            Map<Long, String> labels = names.getOrDefault(dimension, Map.of());
+            long matched = 0;
+            for (int g = 0; g < groups; g++) {
+                if (total.tasks[g] == 0) {
+                    continue;
+                }
+                matched += total.tasks[g];
+                Long id = null;
+                String label;
+                if (g == noneGroup) {
+                    label = "—";
+                } else if (dimension == Dimension.STATUS) {
+                    label = STATUSES[g].name();
+                } else if (dimension == Dimension.MONTH) {
+                    int month = g + groupOffset;
+                    label = YearMonth.of(month / 12, month % 12 + 1).toString();
+                } else {
+                    id = dictionary(c, dimension).decode(g);
+                    label = labels.getOrDefault(id, "#" + id);
+                }
+                result.getGroups().add(new TaskAnalyticsDTO.Group(id, label, total.tasks[g], total.completed[g],
+                        total.delayed[g], BigDecimal.valueOf(total.amountCents[g], 2), BigDecimal.valueOf(total.paidCents[g], 2),
+                        (double) total.progress[g] / total.tasks[g]));
+            }
+            if (dimension != Dimension.MONTH) {
+                result.getGroups().sort((a, b) -> Long.compare(b.getTasks(), a.getTasks()));
+            }
+            result.setTasks(matched);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+            result.setElapsedMicros((System.nanoTime() - startedAt) / 1_000);
+        }
+    }
+
+    // Months since year 0, so that month / 12 and month % 12 give the year and month back
+    private static int monthNumber(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    // -2 for no filter, NONE for an id never seen
+    private static int code(Dictionary dictionary, Long id) {
+        return id == null ? -2 : dictionary.lookup(id);
+    }
+
+    private static int[] groupColumn(Columns c, Dimension dimension) {
+        return switch (dimension) {
+            case PROJECT -> c.project;
+            case VILLA -> c.villa;
+            case CATEGORY -> c.category;
+            case TEAM -> c.team;
+            case TEMPLATE -> c.template;
+            case MONTH -> c.month;
+            case STATUS -> null;
+        };
+    }
+
+    private static int groupCount(Columns c, Dimension dimension) {
+        return switch (dimension) {
+            case STATUS -> STATUSES.length;
+            case MONTH -> c.minMonth <= c.maxMonth ? c.maxMonth - c.minMonth + 1 : 0;
+            default -> dictionary(c, dimension).size();
+        };
+    }
+
+    private static Dictionary dictionary(Columns c, Dimension dimension) {
+        return switch (dimension) {
+            case PROJECT -> c.projects;
+            case VILLA -> c.villas;
+            case CATEGORY -> c.categories;
+            case TEAM -> c.teams;
+            case TEMPLATE -> c.templates;
+            default -> throw new IllegalArgumentException("No dictionary for " + dimension);
+        };
+    }
+
+    private Map<Long, String> loadNames(String table) {
+        Map<Long, String> loaded = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM " + table, rs -> {
+            loaded.put(rs.getLong(1), rs.getString(2));
+        });
+        return loaded;
+    }
+
+    private Long projectOfVilla(Long villaId) {
+        List<Long> projectIds = jdbcTemplate.queryForList("SELECT project_id FROM villas WHERE id = ?", Long.class, villaId);
+        return projectIds.isEmpty() ? null : projectIds.get(0);
+    }
+}
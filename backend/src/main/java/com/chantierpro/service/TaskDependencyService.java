@@ -0,0 +1,269 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.TaskDependency;
+import com.chantierpro.repository.TaskDependencyRepository;
+import com.chantierpro.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Finish-to-start dependencies between tasks and propagation of schedule slips.
+ *
+ * The graph is never loaded whole: adding a dependency walks the successors of the new successor, level by level
+ * with one query per level, and refuses it if the predecessor is reached (cycle). When a task's planned end moves,
+ * the same walk collects the tasks downstream of it, their incoming dependencies are loaded in one query, and the
+ * subgraph is visited in topological order: every open task that now starts before one of its predecessors ends
+ * is pushed later, keeping its duration. Lags and durations are counted in working days of the successor's
+ * project ({@link WorkCalendarService}). Tasks are only pushed, never pulled earlier, and completed tasks stay
+ * where they are. Only the pushed tasks are written. Additions lock the projects of both tasks first, so the
+ * cycle check of concurrent additions on one project never misses the other's dependency.
+ */
+@Service
+@Transactional
+public class TaskDependencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDependencyService.class);
+
+    private static final int IN_CHUNK = 1000;
+
+    @Autowired
+    private TaskDependencyRepository taskDependencyRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WorkCalendarService workCalendarService;
+
+    private record Edge(long predecessorId, long successorId, int lagDays) {
+    }
+
+    private static final class Bar {
+        private LocalDate start;
+        private LocalDate end;
+        private final boolean completed;
+        private final Long projectId;
+
+        Bar(LocalDate start, LocalDate end, boolean completed, Long projectId) {
+            this.start = start;
+            this.end = end;
+            this.completed = completed;
+            this.projectId = projectId;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDependency> getDependencies(Long taskId) {
+        return taskDependencyRepository.findByTaskId(taskId);
+    }
+
+    /**
+     * Makes {@code successorId} start after {@code predecessorId} ends, then pushes the successor and its own
+     * successors if needed.
+     */
+    public TaskDependency addDependency(Long successorId, Long predecessorId, int lagDays) {
+        if (successorId.equals(predecessorId)) {
+            throw new IllegalArgumentException("A task cannot depend on itself");
+        }
+        if (lagDays < 0) {
+            throw new IllegalArgumentException("Lag must not be negative");
+        }
+        lockForCycleCheck(successorId, predecessorId);
+        Task successor = taskRepository.findById(successorId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + successorId));
+        Task predecessor = taskRepository.findById(predecessorId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + predecessorId));
+        if (taskDependencyRepository.findByPredecessorIdAndSuccessorId(predecessorId, successorId).isPresent()) {
+            throw new IllegalArgumentException("Dependency already exists");
+        }
+        if (downstream(successorId, predecessorId).contains(predecessorId)) {
+            throw new IllegalArgumentException("Dependency would create a cycle");
+        }
+
+        TaskDependency dependency = taskDependencyRepository.save(new TaskDependency(predecessor, successor, lagDays));
+        propagate(predecessorId);
+        return dependency;
+    }
+
+    /**
+     * Locks both tasks, their villas and their projects, in id order and before anything else is read in the
+     * transaction. Two additions on the same project are then serialized, and the second one's cycle check sees the
+     * dependency committed by the first: without it, A -> B and B -> A added at the same time both pass the check.
+     * Only locking reads come first, so the transaction's snapshot is taken once the locks are held.
+     */
+    private void lockForCycleCheck(Long successorId, Long predecessorId) {
+        List<Long> villaIds = jdbcTemplate.queryForList(
+                "SELECT villa_id FROM tasks WHERE id IN (?, ?) ORDER BY id FOR UPDATE", Long.class, successorId, predecessorId);
+        if (villaIds.isEmpty()) {
+            return;
+        }
+        List<Long> projectIds = jdbcTemplate.queryForList("SELECT project_id FROM villas WHERE id IN ("
+                + join(villaIds.stream().distinct().toList()) + ") ORDER BY id FOR UPDATE", Long.class);
+        if (!projectIds.isEmpty()) {
+            jdbcTemplate.queryForList("SELECT id FROM projects WHERE id IN ("
+                    + join(projectIds.stream().distinct().toList()) + ") ORDER BY id FOR UPDATE", Long.class);
+        }
+    }
+
+    public void removeDependency(Long successorId, Long predecessorId) {
+        TaskDependency dependency = taskDependencyRepository.findByPredecessorIdAndSuccessorId(predecessorId, successorId)
+                .orElseThrow(() -> new RuntimeException("Dependency not found: " + predecessorId + " -> " + successorId));
+        taskDependencyRepository.delete(dependency);
+    }
+
+    /**
+     * Pushes the tasks downstream of {@code taskId} that would otherwise start before a predecessor ends.
+     * Returns the ids of the moved tasks.
+     */
+    public List<Long> propagate(Long taskId) {
+        long startedAt = System.nanoTime();
+        // The walk reads with JDBC: pending entity changes (the moved task) must be in the database first
+        taskRepository.flush();
+
+        Map<Long, List<Edge>> outgoing = new HashMap<>();
+        Set<Long> subgraph = downstream(taskId, null, outgoing);
+        subgraph.remove(taskId);
+        if (subgraph.isEmpty()) {
+            return List.of();
+        }
+
+        // Bars of the downstream tasks and of all their predecessors, and every incoming edge of the subgraph
+        Map<Long, Bar> bars = new HashMap<>();
+        Map<Long, List<Edge>> incoming = new HashMap<>();
+        for (List<Long> chunk : chunks(subgraph)) {
+            jdbcTemplate.query("SELECT d.predecessor_id, d.successor_id, d.lag_days, p.planned_start_date, "
+                            + "p.planned_end_date, p.status FROM task_dependencies d JOIN tasks p ON p.id = d.predecessor_id "
+                            + "WHERE d.successor_id IN (" + join(chunk) + ")",
+                    rs -> {
+                        Edge edge = new Edge(rs.getLong(1), rs.getLong(2), rs.getInt(3));
+                        incoming.computeIfAbsent(edge.successorId(), id -> new ArrayList<>()).add(edge);
+                        bars.putIfAbsent(edge.predecessorId(), new Bar(rs.getDate(4).toLocalDate(),
+                                rs.getDate(5).toLocalDate(), "COMPLETED".equals(rs.getString(6)), null));
+                    });
+            jdbcTemplate.query("SELECT t.id, t.planned_start_date, t.planned_end_date, t.status, v.project_id "
+                            + "FROM tasks t JOIN villas v ON v.id = t.villa_id WHERE t.id IN (" + join(chunk) + ")",
+                    rs -> {
+                        bars.put(rs.getLong(1), new Bar(rs.getDate(2).toLocalDate(), rs.getDate(3).toLocalDate(),
+                                "COMPLETED".equals(rs.getString(4)), rs.getLong(5)));
+                    });
+        }
+
+        // Kahn's algorithm over the edges inside the subgraph (plus the root), which is acyclic
+        Map<Long, Integer> pendingPredecessors = new HashMap<>();
+        for (Long id : subgraph) {
+            int inside = 0;
+            for (Edge edge : incoming.getOrDefault(id, List.of())) {
+                if (subgraph.contains(edge.predecessorId()) || edge.predecessorId() == taskId) {
+                    inside++;
+                }
+            }
+            pendingPredecessors.put(id, inside);
+        }
+        Deque<Long> ready = new ArrayDeque<>();
+        ready.add(taskId);
+        Map<Long, Bar> moved = new LinkedHashMap<>();
+        while (!ready.isEmpty()) {
+            Long id = ready.poll();
+            if (!id.equals(taskId)) {
+                Bar bar = bars.get(id);
+                LocalDate earliest = null;
+                for (Edge edge : incoming.getOrDefault(id, List.of())) {
+                    LocalDate after = workCalendarService.addWorkingDays(bar.projectId,
+                            bars.get(edge.predecessorId()).end, 1 + edge.lagDays());
+                    if (earliest == null || after.isAfter(earliest)) {
+                        earliest = after;
+                    }
+                }
+                if (!bar.completed && earliest != null && earliest.isAfter(bar.start)) {
+                    int duration = workCalendarService.workingDaysBetween(bar.projectId, bar.start, bar.end);
+                    bar.start = earliest;
+                    bar.end = workCalendarService.addWorkingDays(bar.projectId, earliest, duration);
+                    moved.put(id, bar);
+                }
+            }
+            for (Edge edge : outgoing.getOrDefault(id, List.of())) {
+                if (pendingPredecessors.merge(edge.successorId(), -1, Integer::sum) == 0) {
+                    ready.add(edge.successorId());
+                }
+            }
+        }
+
+        if (!moved.isEmpty()) {
+            for (Task task : taskRepository.findAllById(moved.keySet())) {
+                Bar bar = moved.get(task.getId());
+                task.setPlannedStartDate(bar.start);
+                task.setPlannedEndDate(bar.end);
+            }
+        }
+        log.debug("Propagated task {} to {} downstream tasks, {} moved in {} ms", taskId, subgraph.size(), moved.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return new ArrayList<>(moved.keySet());
+    }
+
+    private Set<Long> downstream(Long from, Long stopAt) {
+        return downstream(from, stopAt, new HashMap<>());
+    }
+
+    /**
+     * Tasks reachable from {@code from} through successor edges, {@code from} included, one query per level.
+     * Stops early once {@code stopAt} is reached. Fills {@code outgoing} with the edges walked.
+     */
+    private Set<Long> downstream(Long from, Long stopAt, Map<Long, List<Edge>> outgoing) {
+        Set<Long> visited = new HashSet<>();
+        visited.add(from);
+        List<Long> frontier = List.of(from);
+        while (!frontier.isEmpty()) {
+            List<Long> next = new ArrayList<>();
+            for (List<Long> chunk : chunks(frontier)) {
+                jdbcTemplate.query("SELECT predecessor_id, successor_id, lag_days FROM task_dependencies "
+                                + "WHERE predecessor_id IN (" + join(chunk) + ")",
+                        rs -> {
+                            Edge edge = new Edge(rs.getLong(1), rs.getLong(2), rs.getInt(3));
+                            outgoing.computeIfAbsent(edge.predecessorId(), id -> new ArrayList<>()).add(edge);
+                            if (visited.add(edge.successorId())) {
+                                next.add(edge.successorId());
+                            }
+                        });
+            }
+            if (stopAt != null && visited.contains(stopAt)) {
+                break;
+            }
+            frontier = next;
+        }
+        return visited;
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += IN_CHUNK) {
+            chunks.add(all.subList(i, Math.min(all.size(), i + IN_CHUNK)));
+        }
+        return chunks;
+    }
+
+    private static String join(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
@@ -7,6 +7,9 @@ import com.chantierpro.repository.VillaRepository;
 import com.chantierpro.repository.TeamRepository;
 import com.chantierpro.repository.TaskTemplateRepository;
 import com.chantierpro.repository.TeamTaskTemplateRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +24,8 @@ import java.util.Optional;
 @Transactional
 public class TaskService {
 
+    private static final Logger log = LoggerFactory.getLogger(TaskService.class);
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -45,26 +50,38 @@ public class TaskService {
     @Autowired
     private TaskTemplateService taskTemplateService;
 
+    @Autowired
+    private TaskDependencyService taskDependencyService;
+
+    @Autowired
+    private WorkCalendarService workCalendarService;
+
+    @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
         return taskRepository.findAllOrderByUpdatedAtDesc();
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getTasksByCategoryId(Long categoryId) {
         return taskRepository.findByCategoryId(categoryId);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getTasksByVillaId(Long villaId) {
         return taskRepository.findByVillaId(villaId);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getTasksByProjectId(Long projectId) {
         return taskRepository.findByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getTasksByTeamId(Long teamId) {
         return taskRepository.findByTeamId(teamId);
     }
     
+    @Transactional(readOnly = true)
     public List<Task> getTasksByCategoryIdAndVillaId(Long categoryId, Long villaId) {
         if (categoryId == null) {
             throw new IllegalArgumentException("Category ID cannot be null");
@@ -85,23 +102,20 @@ public class TaskService {
             throw new RuntimeException("Villa not found with ID: " + villaId);
         }
         
-        System.out.println("Service: Fetching tasks for category ID: " + categoryId + " and villa ID: " + villaId);
         List<Task> tasks = taskRepository.findByCategoryIdAndVillaId(categoryId, villaId);
-        System.out.println("Service: Found " + tasks.size() + " tasks");
+        log.debug("Found {} tasks for category {} and villa {}", tasks.size(), categoryId, villaId);
         
         return tasks;
     }
     
     @Transactional
     public Task createTaskForTeam(Long teamId, Task task) {
-        System.out.println("Creating task for team ID: " + teamId);
-        System.out.println("Task details: " + task.getName() + ", " + task.getDescription());
+        log.debug("Creating task \"{}\" for team {}", task.getName(), teamId);
         
         try {
             // Find the team
             Team team = teamRepository.findById(teamId)
                     .orElseThrow(() -> new RuntimeException("Team not found with id: " + teamId));
-            System.out.println("Found team: " + team.getName() + " (ID: " + team.getId() + ")");
             
             // Set the team for the task
             task.setTeam(team);
@@ -109,7 +123,6 @@ public class TaskService {
             // If villa is not set, find a default villa
             if (task.getVilla() == null) {
                 List<Villa> villas = villaRepository.findAll();
-                System.out.println("Found " + villas.size() + " villas in the database");
                 
                 if (villas.isEmpty()) {
                     throw new RuntimeException("No villas found in the database");
@@ -117,13 +130,12 @@ public class TaskService {
                 
                 Villa defaultVilla = villas.get(0);
                 task.setVilla(defaultVilla);
-                System.out.println("Set default villa: " + defaultVilla.getId());
+                log.debug("Using default villa {}", defaultVilla.getId());
             }
             
             // If category is not set, find a default category
             if (task.getCategory() == null) {
                 List<Category> categories = categoryRepository.findAll();
-                System.out.println("Found " + categories.size() + " categories in the database");
                 
                 if (categories.isEmpty()) {
                     throw new RuntimeException("No categories found in the database");
@@ -131,37 +143,34 @@ public class TaskService {
                 
                 Category defaultCategory = categories.get(0);
                 task.setCategory(defaultCategory);
-                System.out.println("Set default category: " + defaultCategory.getId());
+                log.debug("Using default category {}", defaultCategory.getId());
             }
             
-            // Set dates if not provided
+            // Set dates if not provided: from the next working day, for 7 working days of the project
+            Long projectId = projectIdOf(task.getVilla());
+            LocalDate start = workCalendarService.nextWorkingDay(projectId, LocalDate.now());
             if (task.getStartDate() == null) {
-                task.setStartDate(java.time.LocalDate.now());
-                System.out.println("Set default start date: " + task.getStartDate());
+                task.setStartDate(start);
             }
             
             if (task.getEndDate() == null) {
-                task.setEndDate(java.time.LocalDate.now().plusDays(7));
-                System.out.println("Set default end date: " + task.getEndDate());
+                task.setEndDate(workCalendarService.addWorkingDays(projectId, task.getStartDate(), 7));
             }
             
             if (task.getPlannedStartDate() == null) {
-                task.setPlannedStartDate(java.time.LocalDate.now());
-                System.out.println("Set default planned start date: " + task.getPlannedStartDate());
+                task.setPlannedStartDate(start);
             }
             
             if (task.getPlannedEndDate() == null) {
-                task.setPlannedEndDate(java.time.LocalDate.now().plusDays(7));
-                System.out.println("Set default planned end date: " + task.getPlannedEndDate());
+                task.setPlannedEndDate(workCalendarService.addWorkingDays(projectId, task.getPlannedStartDate(), 7));
             }
             
             // Save and return the task
             Task savedTask = taskRepository.save(task);
-            System.out.println("Task created successfully with ID: " + savedTask.getId() + " for team ID: " + teamId);
+            log.info("Created task {} for team {}", savedTask.getId(), teamId);
             return savedTask;
         } catch (Exception e) {
-            System.err.println("Error creating task for team: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating task for team {}", teamId, e);
             throw e;
         }
     }
@@ -172,17 +181,14 @@ public class TaskService {
      * @return List of created tasks
      */
     @Transactional
+    @Timed(value = "chantierpro.templates.generate", extraTags = {"operation", "team-templates"})
     public List<Task> generateTasksFromTemplates(Long teamId) {
-        System.out.println("Generating tasks from templates for team ID: " + teamId);
-        
         // Find the team
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team not found with id: " + teamId));
-        System.out.println("Found team: " + team.getName());
         
         // Find all task templates associated with this team
         List<TeamTaskTemplate> teamTaskTemplates = teamTaskTemplateRepository.findByTeamId(teamId);
-        System.out.println("Found " + teamTaskTemplates.size() + " task templates for team");
         
         if (teamTaskTemplates.isEmpty()) {
             throw new RuntimeException("No task templates found for team with id: " + teamId);
@@ -191,19 +197,19 @@ public class TaskService {
         // Find a default villa and category (required for tasks)
         Villa defaultVilla = villaRepository.findAll().stream().findFirst()
                 .orElseThrow(() -> new RuntimeException("No villas found in the database"));
-        System.out.println("Using default villa ID: " + defaultVilla.getId());
         
         Category defaultCategory = categoryRepository.findAll().stream().findFirst()
                 .orElseThrow(() -> new RuntimeException("No categories found in the database"));
-        System.out.println("Using default category ID: " + defaultCategory.getId());
         
         List<Task> createdTasks = new ArrayList<>();
+
+        // Durations are in working days of the villa's project
+        Long projectId = defaultVilla.getProject().getId();
+        LocalDate start = workCalendarService.nextWorkingDay(projectId, LocalDate.now());
         
         // Create tasks from each template
         for (TeamTaskTemplate teamTaskTemplate : teamTaskTemplates) {
             TaskTemplate template = teamTaskTemplate.getTaskTemplate();
-            System.out.println("Creating task from template: " + template.getName());
-            
             Task task = new Task();
             task.setName(template.getName());
             task.setDescription(template.getDescription());
@@ -213,11 +219,11 @@ public class TaskService {
             task.setAmount(template.getDefaultAmount());
             
             // Set dates
-            LocalDate now = LocalDate.now();
-            task.setStartDate(now);
-            task.setEndDate(now.plusDays(template.getDurationDays()));
-            task.setPlannedStartDate(now);
-            task.setPlannedEndDate(now.plusDays(template.getDurationDays()));
+            LocalDate end = workCalendarService.addWorkingDays(projectId, start, template.getDurationDays());
+            task.setStartDate(start);
+            task.setEndDate(end);
+            task.setPlannedStartDate(start);
+            task.setPlannedEndDate(end);
             
             // Set status fields
             task.setStatus(Task.TaskStatus.PENDING);
@@ -235,15 +241,15 @@ public class TaskService {
             
             try {
                 Task savedTask = taskRepository.save(task);
-                System.out.println("Created task with ID: " + savedTask.getId() + ", Name: " + savedTask.getName());
+                log.debug("Created task {} from template {}", savedTask.getId(), template.getId());
                 createdTasks.add(savedTask);
             } catch (Exception e) {
-                System.err.println("Error creating task from template: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Error creating task from template {} for team {}", template.getId(), teamId, e);
             }
         }
         
-        System.out.println("Successfully created " + createdTasks.size() + " tasks for team ID: " + teamId);
+        log.info("Generated {} tasks from {} templates for team {} (villa {}, category {})",
+                createdTasks.size(), teamTaskTemplates.size(), teamId, defaultVilla.getId(), defaultCategory.getId());
         return createdTasks;
     }
     
@@ -255,6 +261,7 @@ public class TaskService {
      * @param teamId The team ID (optional)
      * @return The created task
      */
+    @Timed(value = "chantierpro.templates.generate", extraTags = {"operation", "single-template"})
     public Task createTaskFromTemplate(Long templateId, Long categoryId, Long villaId, Long teamId) {
         TaskTemplate template = taskTemplateRepository.findById(templateId)
                 .orElseThrow(() -> new RuntimeException("Task template not found with id: " + templateId));
@@ -295,6 +302,7 @@ public class TaskService {
      * @param templateId The task template ID
      * @return List of tasks using the specified template
      */
+    @Transactional(readOnly = true)
     public List<Task> getTasksByTemplateId(Long templateId) {
         return taskRepository.findByTemplateId(templateId);
     }
@@ -305,6 +313,7 @@ public class TaskService {
      * @param status The task status
      * @return List of tasks using the specified template and having the specified status
      */
+    @Transactional(readOnly = true)
     public List<Task> getTasksByTemplateIdAndStatus(Long templateId, Task.TaskStatus status) {
         return taskRepository.findByTemplateIdAndStatus(templateId, status);
     }
@@ -315,6 +324,7 @@ public class TaskService {
      * @param teamId The team ID
      * @return List of tasks using the specified template and assigned to the specified team
      */
+    @Transactional(readOnly = true)
     public List<Task> getTasksByTemplateIdAndTeamId(Long templateId, Long teamId) {
         return taskRepository.findByTemplateIdAndTeamId(templateId, teamId);
     }
@@ -324,10 +334,12 @@ public class TaskService {
      * @param templateId The task template ID
      * @return Number of tasks using the specified template
      */
+    @Transactional(readOnly = true)
     public Long countByTemplateId(Long templateId) {
         return taskRepository.countByTemplateId(templateId);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Task> getTaskById(Long id) {
         return taskRepository.findById(id);
     }
@@ -378,6 +390,7 @@ public class TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
 
+        LocalDate previousPlannedEnd = task.getPlannedEndDate();
         task.setName(taskDetails.getName());
         task.setDescription(taskDetails.getDescription());
         task.setStartDate(taskDetails.getStartDate());
@@ -421,6 +434,11 @@ public class TaskService {
         }
 
         Task savedTask = taskRepository.save(task);
+
+        // Push successors that would now start before this task ends
+        if (!savedTask.getPlannedEndDate().equals(previousPlannedEnd)) {
+            taskDependencyService.propagate(savedTask.getId());
+        }
         
         // Update category stats
         categoryService.updateCategoryStats(task.getCategory().getId());
@@ -439,26 +457,32 @@ public class TaskService {
         categoryService.updateCategoryStats(categoryId);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getTasksByStatus(Task.TaskStatus status) {
         return taskRepository.findByStatus(status);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getTasksByProgressStatus(Task.ProgressStatus progressStatus) {
         return taskRepository.findByProgressStatus(progressStatus);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getUnreceivedCompletedTasks() {
         return taskRepository.findByIsReceivedFalseAndStatus(Task.TaskStatus.COMPLETED);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getUnpaidTasks() {
         return taskRepository.findByIsPaidFalse();
     }
 
+    @Transactional(readOnly = true)
     public Double getTotalAmountByProjectId(Long projectId) {
         return taskRepository.getTotalAmountByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
     public Double getPaidAmountByProjectId(Long projectId) {
         return taskRepository.getPaidAmountByProjectId(projectId);
     }
@@ -502,4 +526,13 @@ public class TaskService {
         task.setIsPaid(true);
         return taskRepository.save(task);
     }
-}
\ No newline at end of file
+
+    private Long projectIdOf(Villa villa) {
+        if (villa.getProject() != null) {
+            return villa.getProject().getId();
+        }
+        return villaRepository.findById(villa.getId())
+                .map(found -> found.getProject().getId())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,174 @@
+package com.chantierpro.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Derives {@code progress_status} and the DELAYED status of open tasks from their planned dates, today's date
+ * and their progress, every night.
+ *
+ * <ul>
+ *   <li>Expected progress is the share of the planned days elapsed. A task past its planned end is AT_RISK;
+ *   otherwise it is AHEAD, BEHIND or AT_RISK when its progress is {@code ahead-margin} points above, or
+ *   {@code behind-margin} / {@code at-risk-margin} points below, the expected progress, else ON_SCHEDULE.</li>
+ *   <li>A PENDING or IN_PROGRESS task past its planned end becomes DELAYED; a DELAYED task whose planned end was
+ *   moved back into the future returns to IN_PROGRESS (PENDING without progress).</li>
+ * </ul>
+ *
+ * The work is set-based, one project at a time: one SELECT finds the tasks whose derived values differ from the
+ * stored ones, then {@code UPDATE ... CASE} statements by primary key write them, {@value #IN_CHUNK} ids at a
+ * time. Completed tasks are never touched. The stats of each category with a changed task are then recomputed
+ * once. Day counts use {@code TIMESTAMPDIFF(DAY, ...)}, which MySQL and H2 both support.
+ */
+@Service
+public class TaskStatusRecomputeService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusRecomputeService.class);
+
+    private static final int IN_CHUNK = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TaskColumnStore taskColumnStore;
+
+    @Value("${chantierpro.task-status.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chantierpro.task-status.ahead-margin:10}")
+    private int aheadMargin;
+
+    @Value("${chantierpro.task-status.behind-margin:10}")
+    private int behindMargin;
+
+    @Value("${chantierpro.task-status.at-risk-margin:25}")
+    private int atRiskMargin;
+
+    @Value("${chantierpro.task-status.pause-millis:20}")
+    private long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${chantierpro.task-status.cron:0 0 1 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            recompute();
+        }
+    }
+
+    /**
+     * Recomputes every open task. Returns the number of changed tasks and recomputed categories, or an empty map
+     * when the job is already running.
+     */
+    public Map<String, Long> recompute() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Task status recompute already running, skipping");
+            return Collections.emptyMap();
+        }
+        try {
+            long startedAt = System.nanoTime();
+            // A literal rather than a parameter: the date appears in several CASE branches
+            String today = "DATE '" + LocalDate.now() + "'";
+            String progressStatus = progressStatusCase(today);
+            String status = statusCase(today);
+
+            long changed = 0;
+            Set<Long> categoryIds = new TreeSet<>();
+            for (Long projectId : jdbcTemplate.queryForList("SELECT id FROM projects ORDER BY id", Long.class)) {
+                List<Long> taskIds = new ArrayList<>();
+                jdbcTemplate.query("SELECT id, category_id FROM tasks "
+                                + "WHERE villa_id IN (SELECT id FROM villas WHERE project_id = ?) AND status <> 'COMPLETED' "
+                                + "AND (progress_status <> " + progressStatus + " OR status <> " + status + ")",
+                        rs -> {
+                            taskIds.add(rs.getLong(1));
+                            categoryIds.add(rs.getLong(2));
+                        }, projectId);
+                // A task completed since the SELECT keeps its COMPLETED status
+                for (int i = 0; i < taskIds.size(); i += IN_CHUNK) {
+                    changed += jdbcTemplate.update("UPDATE tasks SET progress_status = " + progressStatus
+                                    + ", status = " + status + ", updated_at = ? WHERE id IN ("
+                                    + taskIds.subList(i, Math.min(taskIds.size(), i + IN_CHUNK)).stream()
+                                    .map(String::valueOf).collect(Collectors.joining(",")) + ") AND status <> 'COMPLETED'",
+                            Timestamp.valueOf(LocalDateTime.now()));
+                    pause();
+                }
+            }
+
+            long categories = 0;
+            for (Long categoryId : categoryIds) {
+                try {
+                    categoryService.updateCategoryStats(categoryId);
+                    categories++;
+                } catch (RuntimeException e) {
+                    log.warn("Stats recompute failed for category {}: {}", categoryId, e.getMessage());
+                }
+            }
+
+            if (changed > 0) {
+                // The UPDATE bypasses the JPA listeners
+                taskColumnStore.reload();
+            }
+
+            Map<String, Long> result = new LinkedHashMap<>();
+            result.put("tasks", changed);
+            result.put("categories", categories);
+            log.info("Task status recompute finished in {} ms: {}", (System.nanoTime() - startedAt) / 1_000_000, result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private String progressStatusCase(String today) {
+        // Share of the planned days elapsed, 0 to 100
+        String expected = "LEAST(100, GREATEST(0, TIMESTAMPDIFF(DAY, planned_start_date, " + today + ") + 1) * 100.0 "
+                + "/ GREATEST(1, TIMESTAMPDIFF(DAY, planned_start_date, planned_end_date) + 1))";
+        return "(CASE"
+                + " WHEN " + today + " > planned_end_date THEN 'AT_RISK'"
+                + " WHEN progress >= " + expected + " + " + aheadMargin + " THEN 'AHEAD'"
+                + " WHEN progress < " + expected + " - " + atRiskMargin + " THEN 'AT_RISK'"
+                + " WHEN progress < " + expected + " - " + behindMargin + " THEN 'BEHIND'"
+                + " ELSE 'ON_SCHEDULE' END)";
+    }
+
+    private static String statusCase(String today) {
+        return "(CASE"
+                + " WHEN " + today + " > planned_end_date AND status IN ('PENDING', 'IN_PROGRESS') THEN 'DELAYED'"
+                + " WHEN " + today + " <= planned_end_date AND status = 'DELAYED'"
+                + " THEN (CASE WHEN progress > 0 THEN 'IN_PROGRESS' ELSE 'PENDING' END)"
+                + " ELSE status END)";
+    }
+
+    private void pause() {
+        if (pauseMillis > 0) {
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Task status recompute interrupted", e);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.chantierpro.entity.TaskTemplate;
 import com.chantierpro.repository.TaskTemplateRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,18 +15,22 @@ public class TaskTemplateService {
     @Autowired
     private TaskTemplateRepository taskTemplateRepository;
 
+    @Transactional(readOnly = true)
     public List<TaskTemplate> getAllTaskTemplates() {
         return taskTemplateRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<TaskTemplate> getRecentTaskTemplates() {
         return taskTemplateRepository.findAllByOrderByUpdatedAtDesc();
     }
 
+    @Transactional(readOnly = true)
     public List<TaskTemplate> searchTaskTemplates(String query) {
         return taskTemplateRepository.findByNameContainingIgnoreCase(query);
     }
 
+    @Transactional(readOnly = true)
     public Optional<TaskTemplate> getTaskTemplateById(Long id) {
         return taskTemplateRepository.findById(id);
     }
@@ -0,0 +1,267 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TeamLoadDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Day-by-day load of the teams, from the planned dates of their open tasks (every status but COMPLETED).
+ *
+ * Each team has an interval index of its tasks: bookings sorted by planned start date, plus the longest booking
+ * seen, so the tasks overlapping a range are the bookings starting between {@code from - longest} and {@code to}
+ * (one range of the sorted set) that end on or after {@code from}. The load per day is then a sweep over those
+ * bookings. A team's capacity is {@code members_count / members-per-task} tasks at a time (at least one); a day
+ * above it is overallocated.
+ *
+ * The indexes are loaded at startup and every night, and kept current by
+ * {@link com.chantierpro.listener.TeamCapacityListener} when tasks and teams are written through JPA, once their
+ * transaction has committed. Changes applied while a reload reads the database are replayed on the loaded indexes.
+ */
+@Service
+public class TeamCapacityService {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamCapacityService.class);
+
+    // Longest range served by one query
+    public static final int MAX_RANGE_DAYS = 366;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${chantierpro.capacity.members-per-task:2}")
+    private int membersPerTask;
+
+    private final Map<Long, TeamSchedule> schedules = new ConcurrentHashMap<>();
+    // Task id -> team it is booked on, to move it when it changes team
+    private final Map<Long, Long> taskTeams = new ConcurrentHashMap<>();
+    // Changes applied since the running reload started, replayed on its result; null when no reload runs.
+    // Guarded by schedules
+    private List<Runnable> changedDuringReload;
+
+    private record Booking(long taskId, LocalDate start, LocalDate end) {
+    }
+
+    private static final Comparator<Booking> BY_START =
+            Comparator.comparing(Booking::start).thenComparingLong(Booking::taskId);
+
+    private static class TeamSchedule {
+        private volatile String name;
+        private volatile int membersCount;
+        private final NavigableSet<Booking> bookings = new TreeSet<>(BY_START);
+        private final Map<Long, Booking> byTask = new HashMap<>();
+        // Only grows until the next reload, which keeps the range scan correct
+        private long longestDays;
+
+        TeamSchedule(String name, int membersCount) {
+            this.name = name;
+            this.membersCount = membersCount;
+        }
+
+        synchronized void put(Booking booking) {
+            remove(booking.taskId());
+            bookings.add(booking);
+            byTask.put(booking.taskId(), booking);
+            longestDays = Math.max(longestDays, ChronoUnit.DAYS.between(booking.start(), booking.end()));
+        }
+
+        synchronized void remove(long taskId) {
+            Booking previous = byTask.remove(taskId);
+            if (previous != null) {
+                bookings.remove(previous);
+            }
+        }
+
+        synchronized List<Booking> overlapping(LocalDate from, LocalDate to) {
+            List<Booking> result = new ArrayList<>();
+            Booking low = new Booking(Long.MIN_VALUE, from.minusDays(longestDays), null);
+            Booking high = new Booking(Long.MAX_VALUE, to, null);
+            for (Booking booking : bookings.subSet(low, true, high, true)) {
+                if (!booking.end().isBefore(from)) {
+                    result.add(booking);
+                }
+            }
+            return result;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${chantierpro.capacity.reload-cron:0 15 0 * * *}")
+    public synchronized void reload() {
+        synchronized (schedules) {
+            changedDuringReload = new ArrayList<>();
+        }
+        try {
+            load();
+        } finally {
+            synchronized (schedules) {
+                changedDuringReload = null;
+            }
+        }
+    }
+
+    private void load() {
+        long startedAt = System.nanoTime();
+        Map<Long, TeamSchedule> loaded = new HashMap<>();
+        Map<Long, Long> loadedTaskTeams = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name, members_count FROM teams", rs -> {
+            loaded.put(rs.getLong(1), new TeamSchedule(rs.getString(2), rs.getInt(3)));
+        });
+        jdbcTemplate.query("SELECT id, team_id, planned_start_date, planned_end_date FROM tasks "
+                + "WHERE team_id IS NOT NULL AND status <> 'COMPLETED'", rs -> {
+            TeamSchedule schedule = loaded.get(rs.getLong(2));
+            LocalDate start = rs.getDate(3).toLocalDate();
+            LocalDate end = rs.getDate(4).toLocalDate();
+            if (schedule != null && !end.isBefore(start)) {
+                schedule.put(new Booking(rs.getLong(1), start, end));
+                loadedTaskTeams.put(rs.getLong(1), rs.getLong(2));
+            }
+        });
+        synchronized (schedules) {
+            schedules.clear();
+            schedules.putAll(loaded);
+            taskTeams.clear();
+            taskTeams.putAll(loadedTaskTeams);
+            // In commit order, on the loaded indexes; a change the snapshot already holds is applied again
+            // with the same result
+            changedDuringReload.forEach(Runnable::run);
+        }
+        log.info("Loaded team capacity index: {} teams, {} open tasks in {} ms", loaded.size(), loadedTaskTeams.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public void teamChanged(Long teamId, String name, Integer membersCount) {
+        AfterCommit.run(() -> apply(() -> {
+            TeamSchedule schedule = schedules.computeIfAbsent(teamId, id -> new TeamSchedule(name, 0));
+            schedule.name = name;
+            schedule.membersCount = membersCount != null ? membersCount : 0;
+        }));
+    }
+
+    public void teamRemoved(Long teamId) {
+        AfterCommit.run(() -> apply(() -> {
+            schedules.remove(teamId);
+            taskTeams.values().removeIf(teamId::equals);
+        }));
+    }
+
+    /**
+     * Books a task on its team, or removes it when it has no team, no planned dates or is completed.
+     */
+    public void taskChanged(Long taskId, Long teamId, LocalDate plannedStart, LocalDate plannedEnd, boolean completed) {
+        boolean booked = teamId != null && plannedStart != null && plannedEnd != null && !completed
+                && !plannedEnd.isBefore(plannedStart);
+        AfterCommit.run(() -> apply(() -> {
+            unbook(taskId);
+            TeamSchedule schedule = booked ? schedules.get(teamId) : null;
+            if (schedule != null) {
+                schedule.put(new Booking(taskId, plannedStart, plannedEnd));
+                taskTeams.put(taskId, teamId);
+            }
+        }));
+    }
+
+    public void taskRemoved(Long taskId) {
+        AfterCommit.run(() -> apply(() -> unbook(taskId)));
+    }
+
+    /**
+     * Load of one team on each day of [from, to].
+     */
+    public TeamLoadDTO getTeamLoad(Long teamId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        TeamSchedule schedule = schedules.get(teamId);
+        if (schedule == null) {
+            throw new RuntimeException("Team not found with id: " + teamId);
+        }
+        return load(teamId, schedule, from, to);
+    }
+
+    /**
+     * Teams with at least one overallocated day in [from, to], most overallocated first.
+     */
+    public List<TeamLoadDTO> getOverallocatedTeams(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<TeamLoadDTO> overallocated = new ArrayList<>();
+        schedules.forEach((teamId, schedule) -> {
+            TeamLoadDTO load = load(teamId, schedule, from, to);
+            if (load.getOverallocatedDays() > 0) {
+                overallocated.add(load);
+            }
+        });
+        overallocated.sort(Comparator.comparingInt(TeamLoadDTO::getOverallocatedDays).reversed()
+                .thenComparing(Comparator.comparingInt(TeamLoadDTO::getPeakLoad).reversed()));
+        return overallocated;
+    }
+
+    private TeamLoadDTO load(Long teamId, TeamSchedule schedule, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        int capacity = Math.max(1, schedule.membersCount / Math.max(1, membersPerTask));
+        List<Booking> bookings = schedule.overlapping(from, to);
+
+        // +1 on the first day of each booking in the range, -1 on the day after its last one
+        int[] delta = new int[days + 1];
+        for (Booking booking : bookings) {
+            LocalDate start = booking.start().isBefore(from) ? from : booking.start();
+            LocalDate end = booking.end().isAfter(to) ? to : booking.end();
+            delta[(int) ChronoUnit.DAYS.between(from, start)]++;
+            delta[(int) ChronoUnit.DAYS.between(from, end) + 1]--;
+        }
+
+        List<TeamLoadDTO.Day> loadByDay = new ArrayList<>(days);
+        int tasks = 0;
+        int peak = 0;
+        int overallocatedDays = 0;
+        for (int i = 0; i < days; i++) {
+            tasks += delta[i];
+            peak = Math.max(peak, tasks);
+            if (tasks > capacity) {
+                overallocatedDays++;
+            }
+            loadByDay.add(new TeamLoadDTO.Day(from.plusDays(i), tasks, tasks > capacity));
+        }
+        List<Long> taskIds = bookings.stream().map(Booking::taskId).toList();
+        return new TeamLoadDTO(teamId, schedule.name, capacity, peak, overallocatedDays, taskIds, loadByDay);
+    }
+
+    // Runs a change on the current indexes, and records it for the running reload, if any
+    private void apply(Runnable change) {
+        synchronized (schedules) {
+            change.run();
+            if (changedDuringReload != null) {
+                changedDuringReload.add(change);
+            }
+        }
+    }
+
+    private void unbook(Long taskId) {
+        Long previousTeam = taskTeams.remove(taskId);
+        TeamSchedule previous = previousTeam != null ? schedules.get(previousTeam) : null;
+        if (previous != null) {
+            previous.remove(taskId);
+        }
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must be from 1 to " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
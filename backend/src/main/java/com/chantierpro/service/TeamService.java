@@ -6,6 +6,9 @@ import com.chantierpro.entity.TaskTemplate;
 import com.chantierpro.entity.Team;
 import com.chantierpro.entity.TeamTaskTemplate;
 import com.chantierpro.repository.*;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +22,8 @@ import java.util.Optional;
 @Transactional
 public class TeamService {
 
+    private static final Logger log = LoggerFactory.getLogger(TeamService.class);
+
     @Autowired
     private TeamRepository teamRepository;
 
@@ -43,10 +48,15 @@ public class TeamService {
     @Autowired
     private TeamTaskTemplateService teamTaskTemplateService;
 
+    @Autowired
+    private WorkCalendarService workCalendarService;
+
+    @Transactional(readOnly = true)
     public List<Team> getAllTeams() {
         return teamRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Team> getTeamById(Long id) {
         return teamRepository.findById(id);
     }
@@ -77,27 +87,33 @@ public class TeamService {
         teamRepository.delete(team);
     }
 
+    @Transactional(readOnly = true)
     public List<Team> searchTeams(String searchTerm) {
         return teamRepository.findByNameOrSpecialtyContaining(searchTerm);
     }
 
+    @Transactional(readOnly = true)
     public List<Team> getTeamsBySpecialty(String specialty) {
         return teamRepository.findBySpecialtyContainingIgnoreCase(specialty);
     }
 
+    @Transactional(readOnly = true)
     public List<Team> getActiveTeams() {
         return teamRepository.findActiveTeams();
     }
 
+    @Transactional(readOnly = true)
     public List<Team> getTeamsOrderedByPerformance() {
         return teamRepository.findAllOrderByPerformanceDesc();
     }
 
+    @Transactional(readOnly = true)
     public Double getAveragePerformance() {
         return teamRepository.getAveragePerformance();
     }
 
     @Transactional
+    @Timed(value = "chantierpro.stats.cascade", extraTags = {"level", "team"})
     public void updateTeamStats(Long teamId) {
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team not found with id: " + teamId));
@@ -135,13 +151,12 @@ public class TeamService {
     }
     
     @Transactional
+    @Timed(value = "chantierpro.templates.generate", extraTags = {"operation", "team-with-defaults"})
     public Team createTeamWithDefaultTasks(TeamWithTasksDTO teamWithTasksDTO) {
-        System.out.println("Creating team with default tasks: " + teamWithTasksDTO.getTeam().getName());
-        
         // Create the team first
         Team team = teamWithTasksDTO.getTeam();
         Team savedTeam = createTeam(team);
-        System.out.println("Team created with ID: " + savedTeam.getId());
+        log.info("Created team {} \"{}\"", savedTeam.getId(), savedTeam.getName());
         
         // Create task templates and associate them with the team
         if (teamWithTasksDTO.getDefaultTasks() != null && !teamWithTasksDTO.getDefaultTasks().isEmpty()) {
@@ -180,13 +195,15 @@ public class TeamService {
                 task.setVilla(defaultVilla); // Set a default villa
                 task.setCategory(defaultCategory); // Set a default category
                 
-                // Set required dates
-                LocalDate today = LocalDate.now();
-                LocalDate endDate = today.plusDays(taskTemplateDTO.getDurationDays() != null ? taskTemplateDTO.getDurationDays() : 7);
+                // Set required dates, the duration in working days of the villa's project
+                Long projectId = defaultVilla.getProject().getId();
+                LocalDate startDate = workCalendarService.nextWorkingDay(projectId, LocalDate.now());
+                LocalDate endDate = workCalendarService.addWorkingDays(projectId, startDate,
+                        taskTemplateDTO.getDurationDays() != null ? taskTemplateDTO.getDurationDays() : 7);
                 
-                task.setStartDate(today);
+                task.setStartDate(startDate);
                 task.setEndDate(endDate);
-                task.setPlannedStartDate(today);
+                task.setPlannedStartDate(startDate);
                 task.setPlannedEndDate(endDate);
                 
                 // Set other required fields
@@ -202,12 +219,9 @@ public class TeamService {
                 // Save the task instance
                 try {
                     com.chantierpro.entity.Task savedTask = taskRepository.save(task);
-                    System.out.println("Task created successfully with ID: " + savedTask.getId() + 
-                                     ", Name: " + savedTask.getName() + 
-                                     ", Team ID: " + savedTask.getTeam().getId());
+                    log.debug("Created task {} from template {} for team {}", savedTask.getId(), savedTemplate.getId(), savedTeam.getId());
                 } catch (Exception e) {
-                    System.err.println("Error creating task: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("Error creating task from template {} for team {}", savedTemplate.getId(), savedTeam.getId(), e);
                 }
             }
         }
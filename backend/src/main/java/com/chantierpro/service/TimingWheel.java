@@ -0,0 +1,135 @@
+package com.chantierpro.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel: keys scheduled at a time, returned by {@link #advance(long)} once that time is reached.
+ *
+ * Each level is a ring of slots; a slot of level n covers one full rotation of level n - 1 (for example minutes,
+ * hours, days). A key is stored in the lowest level whose current rotation contains its expiration, and moves down
+ * one level when the wheel reaches its slot, so schedule and cancel are O(1) and advancing costs one step per tick
+ * plus the keys it moves. Expirations beyond the top level's rotation are rejected, callers reload them later.
+ * Times are rounded up to the tick; a time already reached expires on the next tick. Not thread-safe.
+ */
+class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final int[] sizes;
+    // Ticks covered by one slot of each level
+    private final long[] spans;
+    private final List<List<Set<K>>> levels = new ArrayList<>();
+    private final Map<K, Entry> entries = new HashMap<>();
+    private long currentTick;
+
+    TimingWheel(long tickMillis, long startMillis, int... sizes) {
+        this.tickMillis = tickMillis;
+        this.sizes = sizes;
+        this.spans = new long[sizes.length];
+        long span = 1;
+        for (int level = 0; level < sizes.length; level++) {
+            spans[level] = span;
+            span *= sizes[level];
+            List<Set<K>> slots = new ArrayList<>(sizes[level]);
+            for (int slot = 0; slot < sizes[level]; slot++) {
+                slots.add(new LinkedHashSet<>());
+            }
+            levels.add(slots);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules (or reschedules) a key. Returns false, and drops any previous schedule, when the time is beyond the
+     * wheel's horizon.
+     */
+    boolean schedule(K key, long expirationMillis) {
+        cancel(key);
+        long tick = Math.max(Math.floorDiv(expirationMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Entry entry = new Entry(tick);
+        if (!place(key, entry)) {
+            return false;
+        }
+        entries.put(key, entry);
+        return true;
+    }
+
+    boolean cancel(K key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        levels.get(entry.level).get(entry.slot).remove(key);
+        return true;
+    }
+
+    boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Moves the wheel forward to the given time and returns the keys that expired, in expiration order.
+     */
+    List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = sizes.length - 1; level > 0; level--) {
+                if (currentTick % spans[level] == 0) {
+                    cascade(level, (int) ((currentTick / spans[level]) % sizes[level]));
+                }
+            }
+            Set<K> slot = levels.get(0).get((int) (currentTick % sizes[0]));
+            for (K key : slot) {
+                entries.remove(key);
+                expired.add(key);
+            }
+            slot.clear();
+        }
+        return expired;
+    }
+
+    private void cascade(int level, int slotIndex) {
+        Set<K> slot = levels.get(level).get(slotIndex);
+        List<K> keys = new ArrayList<>(slot);
+        slot.clear();
+        for (K key : keys) {
+            place(key, entries.get(key));
+        }
+    }
+
+    private boolean place(K key, Entry entry) {
+        for (int level = 0; level < sizes.length; level++) {
+            long rotation = spans[level] * sizes[level];
+            boolean inRotation = level < sizes.length - 1
+                    ? entry.tick / rotation == currentTick / rotation
+                    : entry.tick / spans[level] - currentTick / spans[level] < sizes[level];
+            if (inRotation) {
+                entry.level = level;
+                entry.slot = (int) ((entry.tick / spans[level]) % sizes[level]);
+                levels.get(level).get(entry.slot).add(key);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        private final long tick;
+        private int level;
+        private int slot;
+
+        Entry(long tick) {
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TypeaheadSuggestionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over the names of projects, villas, teams, task templates and users, for autocomplete.
+ *
+ * Names are folded (lower case, accents and ligatures removed: "Gros Œuvre" becomes "gros oeuvre") and every word
+ * start of the folded name is a key of a sorted map, so "oeu", "Œu" and "gros" all find "Gros Œuvre" with one
+ * range lookup. The index is loaded at startup and kept current by
+ * {@link com.chantierpro.listener.TypeaheadListener} when entities are written through JPA, once their transaction
+ * has committed.
+ */
+@Service
+public class TypeaheadService {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeaheadService.class);
+
+    public static final String PROJECT = "project";
+    public static final String VILLA = "villa";
+    public static final String TEAM = "team";
+    public static final String TASK_TEMPLATE = "template";
+    public static final String USER = "user";
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    // Between the word suffix and the entity in a key; sorts before any folded character
+    private static final char KEY_SEPARATOR = '\u0001';
+    // Candidates looked at per query before ranking
+    private static final int MAX_CANDIDATES = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Folded suffix starting at a word + separator + uid -> entry
+    private final ConcurrentSkipListMap<String, Entry> index = new ConcurrentSkipListMap<>();
+    // uid -> its entry, to remove the old keys when a name changes
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        private final String kind;
+        private final Long id;
+        private final String name;
+        private final String folded;
+        private final Long projectId;
+
+        private Entry(String kind, Long id, String name, Long projectId) {
+            this.kind = kind;
+            this.id = id;
+            this.name = name;
+            this.folded = fold(name);
+            this.projectId = projectId;
+        }
+
+        private String uid() {
+            return kind + ":" + id;
+        }
+
+        private List<String> keys() {
+            List<String> keys = new ArrayList<>();
+            String uid = uid();
+            for (int i = 0; i < folded.length(); i++) {
+                if (i == 0 || folded.charAt(i - 1) == ' ') {
+                    keys.add(folded.substring(i) + KEY_SEPARATOR + uid);
+                }
+            }
+            return keys;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startedAt = System.nanoTime();
+        jdbcTemplate.query("SELECT id, name FROM projects", rs -> {
+            put(new Entry(PROJECT, rs.getLong(1), rs.getString(2), rs.getLong(1)));
+        });
+        jdbcTemplate.query("SELECT id, name, project_id FROM villas", rs -> {
+            put(new Entry(VILLA, rs.getLong(1), rs.getString(2), rs.getLong(3)));
+        });
+        jdbcTemplate.query("SELECT id, name FROM teams", rs -> {
+            put(new Entry(TEAM, rs.getLong(1), rs.getString(2), null));
+        });
+        jdbcTemplate.query("SELECT id, name FROM task_templates", rs -> {
+            put(new Entry(TASK_TEMPLATE, rs.getLong(1), rs.getString(2), null));
+        });
+        jdbcTemplate.query("SELECT id, name FROM users", rs -> {
+            put(new Entry(USER, rs.getLong(1), rs.getString(2), null));
+        });
+        log.info("Loaded typeahead index: {} names, {} keys in {} ms", entries.size(), index.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public void nameChanged(String kind, Long id, String name, Long projectId) {
+        AfterCommit.run(() -> put(new Entry(kind, id, name, projectId)));
+    }
+
+    public void removed(String kind, Long id) {
+        AfterCommit.run(() -> remove(kind + ":" + id));
+    }
+
+    /**
+     * Names with a word starting with every word of {@code text}, names starting with the text first, then
+     * shortest first. {@code kind} and {@code projectId} (projects and villas only) are optional filters.
+     */
+    public List<TypeaheadSuggestionDTO> suggest(String text, String kind, Long projectId, int limit) {
+        String[] words = fold(text).split(" ");
+        if (words[0].isEmpty()) {
+            return List.of();
+        }
+        // Range scan on the longest word, the others are checked on the candidates
+        String scanned = words[0];
+        for (String word : words) {
+            if (word.length() > scanned.length()) {
+                scanned = word;
+            }
+        }
+        NavigableMap<String, Entry> range = index.subMap(scanned, true, scanned + Character.MAX_VALUE, true);
+
+        String query = String.join(" ", words);
+        Map<String, Entry> candidates = new LinkedHashMap<>();
+        for (Entry entry : range.values()) {
+            if ((kind == null || kind.equals(entry.kind))
+                    && (projectId == null || projectId.equals(entry.projectId))
+                    && matchesAll(entry.folded, words)) {
+                candidates.putIfAbsent(entry.uid(), entry);
+                if (candidates.size() >= MAX_CANDIDATES) {
+                    break;
+                }
+            }
+        }
+        return candidates.values().stream()
+                .sorted(Comparator.comparing((Entry entry) -> !entry.folded.startsWith(query))
+                        .thenComparingInt(entry -> entry.folded.length())
+                        .thenComparing(entry -> entry.folded))
+                .limit(limit)
+                .map(entry -> new TypeaheadSuggestionDTO(entry.kind, entry.id, entry.name, entry.projectId))
+                .toList();
+    }
+
+    /**
+     * Lower case, without accents, ligatures expanded, words separated by single spaces.
+     */
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String expanded = text.replace("œ", "oe").replace("Œ", "OE").replace("æ", "ae").replace("Æ", "AE");
+        String stripped = MARKS.matcher(Normalizer.normalize(expanded, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static boolean matchesAll(String folded, String[] words) {
+        for (String word : words) {
+            if (!folded.startsWith(word) && !folded.contains(" " + word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(Entry entry) {
+        synchronized (entries) {
+            remove(entry.uid());
+            if (entry.folded.isEmpty()) {
+                return;
+            }
+            entry.keys().forEach(key -> index.put(key, entry));
+            entries.put(entry.uid(), entry);
+        }
+    }
+
+    private void remove(String uid) {
+        synchronized (entries) {
+            Entry previous = entries.remove(uid);
+            if (previous != null) {
+                previous.keys().forEach(index::remove);
+            }
+        }
+    }
+}
@@ -16,14 +16,17 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -59,18 +62,22 @@ public class UserService {
         userRepository.delete(user);
     }
 
+    @Transactional(readOnly = true)
     public List<User> searchUsers(String searchTerm) {
         return userRepository.findByNameOrEmailContaining(searchTerm);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(User.UserRole role) {
         return userRepository.findByRole(role);
     }
 
+    @Transactional(readOnly = true)
     public Long getUserCountByRole(User.UserRole role) {
         return userRepository.countByRole(role);
     }
 
+    @Transactional(readOnly = true)
     public boolean emailExists(String email) {
         return userRepository.existsByEmail(email);
     }
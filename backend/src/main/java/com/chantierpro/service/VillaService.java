@@ -5,6 +5,7 @@ import com.chantierpro.entity.Project;
 import com.chantierpro.repository.VillaRepository;
 import com.chantierpro.repository.ProjectRepository;
 import com.chantierpro.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,14 +29,17 @@ public class VillaService {
     @Autowired
     private ProjectService projectService;
 
+    @Transactional(readOnly = true)
     public List<Villa> getAllVillas() {
         return villaRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Villa> getVillasByProjectId(Long projectId) {
         return villaRepository.findByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Villa> getVillaById(Long id) {
         return villaRepository.findById(id);
     }
@@ -82,6 +86,7 @@ public class VillaService {
         projectService.updateProjectStats(projectId);
     }
 
+    @Transactional(readOnly = true)
     public List<Villa> searchVillas(Long projectId, String searchTerm) {
         if (projectId != null) {
             return villaRepository.findByProjectIdAndNameOrTypeContaining(projectId, searchTerm);
@@ -89,11 +94,13 @@ public class VillaService {
         return villaRepository.findByNameContainingIgnoreCase(searchTerm);
     }
 
+    @Transactional(readOnly = true)
     public List<Villa> getVillasByStatus(Villa.VillaStatus status) {
         return villaRepository.findByStatus(status);
     }
 
     @Transactional
+    @Timed(value = "chantierpro.stats.cascade", extraTags = {"level", "villa"})
     public void updateVillaStats(Long villaId) {
         Villa villa = villaRepository.findById(villaId)
                 .orElseThrow(() -> new RuntimeException("Villa not found with id: " + villaId));
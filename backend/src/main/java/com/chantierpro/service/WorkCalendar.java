@@ -0,0 +1,124 @@
+package com.chantierpro.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Working days of one calendar, precomputed over a fixed horizon so that date arithmetic is O(1):
+ * {@code countBefore[i]} is the number of working days in [base, base + i), and {@code workingDay[k]} the offset
+ * of the k-th working day from {@code base}. Dates outside the horizon fall back to walking day by day.
+ * Immutable once built.
+ */
+final class WorkCalendar {
+
+    private final Set<DayOfWeek> workingDays;
+    private final Set<LocalDate> holidays;
+    private final LocalDate base;
+    private final int[] countBefore;
+    private final int[] workingDay;
+
+    WorkCalendar(Set<DayOfWeek> workingDays, Set<LocalDate> holidays, LocalDate base, int horizonDays) {
+        if (workingDays.isEmpty()) {
+            throw new IllegalArgumentException("A calendar needs at least one working day");
+        }
+        this.workingDays = workingDays;
+        this.holidays = holidays;
+        this.base = base;
+        this.countBefore = new int[horizonDays + 1];
+        int[] offsets = new int[horizonDays];
+        int count = 0;
+        for (int i = 0; i < horizonDays; i++) {
+            countBefore[i] = count;
+            if (isWorkingDaySlow(base.plusDays(i))) {
+                offsets[count++] = i;
+            }
+        }
+        countBefore[horizonDays] = count;
+        this.workingDay = Arrays.copyOf(offsets, count);
+    }
+
+    boolean isWorkingDay(LocalDate date) {
+        long offset = offset(date);
+        if (inHorizon(offset)) {
+            return countBefore[(int) offset + 1] > countBefore[(int) offset];
+        }
+        return isWorkingDaySlow(date);
+    }
+
+    /**
+     * {@code date} itself if it is a working day, else the next working day.
+     */
+    LocalDate nextWorkingDay(LocalDate date) {
+        long offset = offset(date);
+        if (inHorizon(offset) && countBefore[(int) offset] < workingDay.length) {
+            return base.plusDays(workingDay[countBefore[(int) offset]]);
+        }
+        LocalDate day = date;
+        while (!isWorkingDaySlow(day)) {
+            day = day.plusDays(1);
+        }
+        return day;
+    }
+
+    /**
+     * The {@code days}-th working day after {@code date} ({@code date} itself when {@code days} is 0).
+     */
+    LocalDate addWorkingDays(LocalDate date, int days) {
+        if (days <= 0) {
+            return date;
+        }
+        long offset = offset(date);
+        if (inHorizon(offset)) {
+            // Working days up to and including date, then the days-th one after
+            int target = countBefore[(int) offset + 1] + days - 1;
+            if (target < workingDay.length) {
+                return base.plusDays(workingDay[target]);
+            }
+        }
+        LocalDate day = date;
+        for (int remaining = days; remaining > 0; ) {
+            day = day.plusDays(1);
+            if (isWorkingDaySlow(day)) {
+                remaining--;
+            }
+        }
+        return day;
+    }
+
+    /**
+     * Working days in (from, to]: {@code workingDaysBetween(d, addWorkingDays(d, n)) == n}. Negative when
+     * {@code to} is before {@code from}.
+     */
+    int workingDaysBetween(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return -workingDaysBetween(to, from);
+        }
+        long fromOffset = offset(from);
+        long toOffset = offset(to);
+        if (inHorizon(fromOffset) && inHorizon(toOffset)) {
+            return countBefore[(int) toOffset + 1] - countBefore[(int) fromOffset + 1];
+        }
+        int count = 0;
+        for (LocalDate day = from.plusDays(1); !day.isAfter(to); day = day.plusDays(1)) {
+            if (isWorkingDaySlow(day)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long offset(LocalDate date) {
+        return ChronoUnit.DAYS.between(base, date);
+    }
+
+    private boolean inHorizon(long offset) {
+        return offset >= 0 && offset < countBefore.length - 1;
+    }
+
+    private boolean isWorkingDaySlow(LocalDate date) {
+        return workingDays.contains(date.getDayOfWeek()) && !holidays.contains(date);
+    }
+}
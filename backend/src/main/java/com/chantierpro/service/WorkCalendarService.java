@@ -0,0 +1,124 @@
+package com.chantierpro.service;
+
+import com.chantierpro.entity.ProjectCalendar;
+import com.chantierpro.repository.ProjectCalendarRepository;
+import com.chantierpro.repository.ProjectRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Work calendars of the projects, for durations counted in working days.
+ *
+ * Each project's calendar (or the default one from {@code chantierpro.calendar}) is built once into a
+ * {@link WorkCalendar} covering {@code horizon-years-back} to {@code horizon-years-ahead} around today, then
+ * cached until the project's calendar changes.
+ */
+@Service
+public class WorkCalendarService {
+
+    @Autowired
+    private ProjectCalendarRepository projectCalendarRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Value("${chantierpro.calendar.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY,SATURDAY}")
+    private List<DayOfWeek> defaultWorkingDays;
+
+    // ISO dates
+    @Value("${chantierpro.calendar.holidays:}")
+    private List<String> defaultHolidayDates;
+
+    @Value("${chantierpro.calendar.horizon-years-back:10}")
+    private int yearsBack;
+
+    @Value("${chantierpro.calendar.horizon-years-ahead:20}")
+    private int yearsAhead;
+
+    private Set<LocalDate> defaultHolidays;
+    private WorkCalendar defaultCalendar;
+    private final Map<Long, WorkCalendar> calendars = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void buildDefault() {
+        defaultHolidays = defaultHolidayDates.stream().filter(date -> !date.isBlank()).map(LocalDate::parse).collect(Collectors.toSet());
+        defaultCalendar = build(EnumSet.copyOf(defaultWorkingDays), defaultHolidays);
+    }
+
+    /**
+     * The start date for new work: {@code date} if it is a working day of the project, else the next one.
+     */
+    public LocalDate nextWorkingDay(Long projectId, LocalDate date) {
+        return calendar(projectId).nextWorkingDay(date);
+    }
+
+    /**
+     * The {@code days}-th working day of the project after {@code date}.
+     */
+    public LocalDate addWorkingDays(Long projectId, LocalDate date, int days) {
+        return calendar(projectId).addWorkingDays(date, days);
+    }
+
+    /**
+     * Working days of the project in (from, to].
+     */
+    public int workingDaysBetween(Long projectId, LocalDate from, LocalDate to) {
+        return calendar(projectId).workingDaysBetween(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectCalendar getProjectCalendar(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Project not found with id: " + projectId);
+        }
+        return projectCalendarRepository.findById(projectId)
+                .orElseGet(() -> new ProjectCalendar(projectId, EnumSet.copyOf(defaultWorkingDays), new HashSet<>(defaultHolidays)));
+    }
+
+    @Transactional
+    public ProjectCalendar updateProjectCalendar(Long projectId, ProjectCalendar details) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Project not found with id: " + projectId);
+        }
+        if (details.getWorkingDays() == null || details.getWorkingDays().isEmpty()) {
+            throw new IllegalArgumentException("A calendar needs at least one working day");
+        }
+        ProjectCalendar calendar = projectCalendarRepository.findById(projectId).orElseGet(ProjectCalendar::new);
+        calendar.setProjectId(projectId);
+        calendar.setWorkingDays(EnumSet.copyOf(details.getWorkingDays()));
+        calendar.setHolidays(details.getHolidays() != null ? new HashSet<>(details.getHolidays()) : new HashSet<>());
+        ProjectCalendar saved = projectCalendarRepository.save(calendar);
+        // Evicted once committed, so a concurrent read cannot cache the old calendar again after the eviction
+        AfterCommit.run(() -> calendars.remove(projectId));
+        return saved;
+    }
+
+    private WorkCalendar calendar(Long projectId) {
+        if (projectId == null) {
+            return defaultCalendar;
+        }
+        return calendars.computeIfAbsent(projectId, id -> projectCalendarRepository.findById(id)
+                .map(calendar -> build(calendar.getWorkingDays(), calendar.getHolidays()))
+                .orElse(defaultCalendar));
+    }
+
+    private WorkCalendar build(Set<DayOfWeek> workingDays, Set<LocalDate> holidays) {
+        LocalDate base = LocalDate.now().minusYears(yearsBack).withDayOfYear(1);
+        int horizonDays = (int) ChronoUnit.DAYS.between(base, LocalDate.now().plusYears(yearsAhead));
+        return new WorkCalendar(EnumSet.copyOf(workingDays), Set.copyOf(holidays), base, horizonDays);
+    }
+}
@@ -49,11 +49,13 @@ public class TeamTaskTemplateServiceImpl implements TeamTaskTemplateService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public boolean isTaskTemplateAssignedToTeam(Long teamId, Long templateId) {
         return teamTaskTemplateRepository.findByTeamIdAndTaskTemplateId(teamId, templateId) != null;
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<TaskTemplate> getTaskTemplatesByTeamId(Long teamId) {
         List<TeamTaskTemplate> teamTaskTemplates = teamTaskTemplateRepository.findByTeamId(teamId);
         return teamTaskTemplates.stream()
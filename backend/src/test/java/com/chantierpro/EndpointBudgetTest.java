@@ -0,0 +1,255 @@
+package com.chantierpro;
+
+import com.chantierpro.support.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.chantierpro.support.EndpointBudget.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calls every controller endpoint against an embedded database and fails when a call issues more
+ * SQL statements or takes longer than its budget. Budgets describe today's behaviour (including the
+ * known per-task photo collection load) so that any new N+1 query shows up as a failure.
+ *
+ * Dataset size: -Ddataset.projects, -Ddataset.villasPerProject, ... (see {@link DatasetShape}).
+ * Latency budgets can be scaled on slow machines with -Dbudget.latencyFactor=3.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EndpointBudgetTest {
+
+    // Room for incidental statements such as a flush that may or may not find dirty state
+    private static final long STATEMENT_SLACK = 2;
+
+    // Statement groups shared by several budgets
+    // One level of the stats cascade: a lookup, two counts and an update
+    private static final long STATS_LEVEL = 4;
+    // Category stats cascade: category, villa and project levels
+    private static final long STATS_CASCADE = 3 * STATS_LEVEL;
+    // A returned task whose villa is already in the session: its photo collection, team and template
+    private static final long TASK_BODY = 3;
+    // Look-up of a project's work calendar, on its first use only (cached afterwards)
+    private static final long CALENDAR_LOOKUP = 1;
+    // Default villa and category of generated tasks: two findAll
+    private static final long DEFAULT_PLACEMENT = 2;
+    // Task generated from a team template: template load and insert
+    private static final long TEMPLATE_TASK = 2;
+    // Default task of a new team: template insert, team link check and insert, default placement, task insert
+    private static final long DEFAULT_TASK = 1 + 2 + DEFAULT_PLACEMENT + 1;
+    // Inbox: range query for notification ids above the highest known one, before each call
+    private static final long INBOX_CATCH_UP = 1;
+    // Inbox: user check and read bitmap load, on a user's first call only
+    private static final long INBOX_FIRST_USE = 2;
+    // Inbox: write-back of the read bitmap (merge select and update)
+    private static final long READ_STATE_SAVE = 2;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DatasetSeeder datasetSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Fixture fixture;
+    private SqlStatementCounter statementCounter;
+
+    @BeforeAll
+    public void seed() {
+        fixture = datasetSeeder.seed(DatasetShape.fromSystemProperties());
+        statementCounter = new SqlStatementCounter(entityManagerFactory);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    public void endpointStaysWithinBudget(EndpointBudget endpoint) {
+        String url = fixture.resolve(endpoint.getPath());
+        HttpEntity<Object> request = new HttpEntity<>(endpoint.getBody(fixture));
+
+        if (endpoint.isRead()) {
+            // Warm-up call so the latency budget does not measure first-request initialisation
+            restTemplate.exchange(url, endpoint.getMethod(), request, String.class);
+        }
+
+        DatasetCounts counts = DatasetCounts.take(jdbcTemplate, fixture);
+        long maxStatements = endpoint.getMaxStatements(counts) + STATEMENT_SLACK;
+
+        statementCounter.reset();
+        long start = System.nanoTime();
+        ResponseEntity<String> response = restTemplate.exchange(url, endpoint.getMethod(), request, String.class);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long statements = statementCounter.getStatementCount();
+
+        assertTrue(response.getStatusCode().is2xxSuccessful(),
+                () -> endpoint + " returned " + response.getStatusCode() + ": " + response.getBody());
+        assertTrue(statements <= maxStatements,
+                () -> endpoint + " issued " + statements + " SQL statements, budget is " + maxStatements);
+        assertTrue(elapsedMillis <= endpoint.getMaxMillis(),
+                () -> endpoint + " took " + elapsedMillis + " ms, budget is " + endpoint.getMaxMillis() + " ms");
+    }
+
+    /**
+     * Reads first, then writes, then deletes, so each call sees the rows the previous ones left.
+     * Routes that take a full Task/Category/Villa entity body are exercised through their DTO or
+     * id-based counterparts (from-template, create-for-team, /categories/villa).
+     */
+    public Stream<EndpointBudget> endpoints() {
+        String today = LocalDate.now().toString();
+        String nextWeek = LocalDate.now().plusDays(7).toString();
+
+        return Stream.of(
+                // Projects: a project serializes its whole villa/category/task tree
+                get("/projects", c -> 1 + c.projects + c.villas + c.categories + c.taskGraph(c.tasks, 0)),
+                get("/projects/{project}", c -> 2 + c.projectVillas + c.projectCategories + c.taskGraph(c.projectTasks, 0)),
+                get("/projects/search?q=sidence", c -> 1 + c.projects + c.villas + c.categories + c.taskGraph(c.tasks, 0)),
+                get("/projects/status/ACTIVE", c -> 1 + c.projects + c.villas + c.categories + c.taskGraph(c.tasks, 0)),
+
+                // Villas
+                get("/villas", c -> 1 + c.villas + c.categories + c.taskGraph(c.tasks, 0)),
+                get("/villas?projectId={project}", c -> 1 + c.projectVillas + c.projectCategories + c.taskGraph(c.projectTasks, 0)),
+                get("/villas/{villa}", c -> 2 + c.villaCategories + c.taskGraph(c.villaTasks, 0)),
+                get("/villas/search?projectId={project}&q=Villa", c -> 1 + c.projectVillas + c.projectCategories + c.taskGraph(c.projectTasks, 0)),
+                get("/villas/search?q=Villa", c -> 1 + c.villas + c.categories + c.taskGraph(c.tasks, 0)),
+                get("/villas/status/NOT_STARTED", c -> 1 + c.villas + c.categories + c.taskGraph(c.tasks, 0)),
+
+                // Categories
+                get("/categories", c -> 1 + c.categories + c.taskGraph(c.tasks, c.villas)),
+                get("/categories?villaId={villa}", c -> 1 + c.villaCategories + c.taskGraph(c.villaTasks, 1)),
+                get("/categories/{category}", c -> 2 + c.taskGraph(c.categoryTasks, 1)),
+                get("/categories/project/{project}", c -> 1 + c.projectCategories + c.taskGraph(c.projectTasks, c.projectVillas)),
+                get("/categories/status/ON_SCHEDULE", c -> 1 + c.categories + c.taskGraph(c.tasks, c.villas)),
+
+                // Tasks
+                get("/tasks", c -> 1 + c.taskGraph(c.tasks, c.villas)),
+                get("/tasks?categoryId={category}", c -> 1 + c.taskGraph(c.categoryTasks, 1)),
+                get("/tasks/{task}", c -> 1 + c.taskGraph(1, 1)),
+                get("/tasks/villa/{villa}", c -> 1 + c.taskGraph(c.villaTasks, 1)),
+                get("/tasks/project/{project}", c -> 1 + c.taskGraph(c.projectTasks, c.projectVillas)),
+                get("/tasks/team/{team}", c -> 1 + c.taskGraph(c.teamTasks, c.villas)),
+                get("/tasks/category/{category}/villa/{villa}", c -> 3 + c.taskGraph(c.categoryTasks, 1)),
+                get("/tasks/status/PENDING", c -> 1 + c.taskGraph(c.tasks, c.villas)),
+                get("/tasks/progress-status/ON_SCHEDULE", c -> 1 + c.taskGraph(c.tasks, c.villas)),
+                get("/tasks/unreceived", c -> 1 + c.taskGraph(c.tasks, c.villas)),
+                get("/tasks/unpaid", c -> 1 + c.taskGraph(c.tasks, c.villas)),
+                get("/tasks/project/{project}/amounts", c -> 2),
+                get("/tasks/template/{template}", c -> 1 + c.taskGraph(c.templateTasks, c.villas)),
+                get("/tasks/template/{template}/status/PENDING", c -> 1 + c.taskGraph(c.templateTasks, c.villas)),
+                get("/tasks/template/{template}/team/{team}", c -> 1 + c.taskGraph(c.templateTasks, c.villas)),
+
+                // Teams: a team serializes its task list
+                get("/teams", c -> 1 + c.teams + c.taskGraph(c.tasks, c.villas)),
+                get("/teams/{team}", c -> 2 + c.taskGraph(c.teamTasks, c.villas)),
+                get("/teams/search?q=quipe", c -> 1 + c.teams + c.taskGraph(c.tasks, c.villas)),
+                get("/teams/specialty/Plomberie", c -> 1 + c.teams + c.taskGraph(c.tasks, c.villas)),
+                get("/teams/active", c -> 1 + c.teams + c.taskGraph(c.tasks, c.villas)),
+                get("/teams/performance", c -> 1 + c.teams + c.taskGraph(c.tasks, c.villas)),
+                get("/teams/stats/performance", c -> 1),
+
+                // Task templates: a template serializes its task list
+                get("/task-templates", c -> 1 + c.templates + c.taskGraph(c.tasks, c.villas)),
+                get("/task-templates?search=le", c -> 1 + c.templates + c.taskGraph(c.tasks, c.villas)),
+                get("/task-templates/recent", c -> 1 + c.templates + c.taskGraph(c.tasks, c.villas)),
+                get("/task-templates/{template}", c -> 2 + c.taskGraph(c.templateTasks, c.villas)),
+                get("/task-templates/team/{team}", c -> 2 + 2 * c.teamTemplateLinks + c.taskGraph(c.tasks, c.villas)),
+
+                // Users
+                get("/users", c -> 1),
+                get("/users/{user}", c -> 1),
+                get("/users/email/{userEmail}", c -> 1),
+                get("/users/search?q=Utilisateur", c -> 1),
+                get("/users/role/WORKER", c -> 1),
+                get("/users/stats/roles", c -> 3),
+                get("/users/check-email/{userEmail}", c -> 1),
+
+                // Notifications
+                get("/notifications", c -> 1),
+                get("/notifications/unread", c -> 1),
+                get("/notifications/{notification}", c -> 1),
+                get("/notifications/type/DELAY", c -> 1),
+                get("/notifications/priority/HIGH", c -> 1),
+                get("/notifications/project/{project}", c -> 1),
+                get("/notifications/stats/count", c -> 0),
+                get("/notifications/stats/counters", c -> 0),
+
+                // Inbox: the page itself is one load by ids
+                get("/users/{user}/inbox", c -> INBOX_CATCH_UP + INBOX_FIRST_USE + 1),
+                get("/users/{user}/inbox?unreadOnly=true&page=1&size=5", c -> INBOX_CATCH_UP + 1),
+                get("/users/{user}/inbox/count", c -> INBOX_CATCH_UP),
+
+                // Stats cascade: each level is a lookup, two counts and an update
+                put("/projects/{project}/stats", c -> STATS_LEVEL),
+                put("/villas/{villa}/stats", c -> 2 * STATS_LEVEL),
+                put("/categories/{category}/stats", c -> STATS_CASCADE),
+                put("/teams/{team}/stats", c -> 3),
+                put("/teams/{team}/activity", c -> 3 + c.taskGraph(c.teamTasks, c.villas)),
+
+                // Task writes: a lookup and an update, plus what each route adds; the team lookup and the
+                // team-template links query of task generation are one statement each
+                put("/tasks/{task}/progress", c -> 2 + STATS_CASCADE + TASK_BODY).body(f -> Map.of("progress", 60)),
+                put("/tasks/{task}/receive", c -> 2 + c.taskGraph(1, 1)),
+                put("/tasks/{task}/pay", c -> 2 + c.taskGraph(1, 1)),
+                // Template, category, villa and team lookups; the cascade finds the category and villa in the session
+                post("/tasks/from-template?templateId={template}&categoryId={category}&villaId={villa}&teamId={team}",
+                        c -> 4 + 1 + STATS_CASCADE - 2),
+                post("/tasks/create-for-team/{team}", c -> 1 + DEFAULT_PLACEMENT + CALENDAR_LOOKUP + 1)
+                        .body(f -> Map.of("name", "Tâche ponctuelle")),
+                post("/tasks/generate-from-templates/{team}", c -> 1 + 1 + DEFAULT_PLACEMENT + CALENDAR_LOOKUP
+                        + TEMPLATE_TASK * c.teamTemplateLinks),
+
+                // Other writes; a new team with default tasks is its insert and a stats refresh (lookup and update)
+                post("/teams", c -> 1).body(f -> Map.of("name", "Équipe Carrelage", "specialty", "Carrelage", "membersCount", 3)),
+                post("/teams/with-default-tasks", c -> 1 + 2 + CALENDAR_LOOKUP + 2 * DEFAULT_TASK).body(f -> Map.of(
+                        "team", Map.of("name", "Équipe Étanchéité", "specialty", "Étanchéité", "membersCount", 4),
+                        "defaultTasks", List.of(
+                                Map.of("name", "Préparation support", "durationDays", 2, "defaultAmount", 400),
+                                Map.of("name", "Application membrane", "durationDays", 3, "defaultAmount", 900)))),
+                put("/teams/{scratchTeam}", c -> 3).body(f -> Map.of("name", "Équipe vide", "specialty", "Peinture", "membersCount", 3, "performance", 0)),
+                post("/task-templates", c -> 1).body(f -> Map.of("name", "Modèle carrelage", "durationDays", 4, "defaultAmount", 800)),
+                put("/task-templates/{scratchTemplate}", c -> 3).body(f -> Map.of("name", "Modèle vide", "durationDays", 3, "defaultAmount", 150)),
+                // Villa lookup and insert; villa stats find the villa in the session
+                post("/categories/villa", c -> 1 + 1 + 2 * STATS_LEVEL - 1).body(f -> Map.of("villaId", f.id("villa"), "name", "Menuiserie", "startDate", today, "endDate", nextWeek)),
+                post("/projects", c -> 1).body(f -> Map.of("name", "Résidence Test", "type", "Villas", "location", "Tanger", "startDate", today, "endDate", nextWeek)),
+                put("/projects/{scratchProject}", c -> 3).body(f -> Map.of("name", "Projet vide", "type", "Villas", "location", "Rabat",
+                        "startDate", today, "endDate", nextWeek, "status", "PAUSED", "progress", 0)),
+                post("/users", c -> 2).body(f -> Map.of("name", "Nouvel utilisateur", "email", "nouveau@chantierpro.ma", "role", "WORKER")),
+                put("/users/{user}", c -> 2).body(f -> Map.of("name", "Utilisateur 1", "email", f.value("userEmail"), "role", "ADMIN")),
+                post("/notifications", c -> 1).body(f -> Map.of("type", "DELAY", "title", "Retard", "message", "Retard détecté", "priority", "HIGH")),
+                put("/notifications/{notification}/read", c -> 2),
+                put("/notifications/read-all", c -> 1),
+                put("/users/{user}/inbox/{notification}/read", c -> INBOX_CATCH_UP + READ_STATE_SAVE),
+                put("/users/{user}/inbox/read-all", c -> INBOX_CATCH_UP + READ_STATE_SAVE),
+
+                // Deletes: a lookup and a delete, plus the stats of the parent levels; a task also deletes its
+                // photo collection, a category loads its (empty) task collection to cascade the delete
+                delete("/notifications/{lastNotification}", c -> 2),
+                delete("/tasks/{lastTask}", c -> 2 + 1 + STATS_CASCADE),
+                delete("/categories/{scratchCategory}", c -> 2 + 1 + 2 * STATS_LEVEL),
+                delete("/villas/{scratchVilla}", c -> 7),
+                delete("/projects/{scratchProject}", c -> 3),
+                delete("/teams/{scratchTeam}", c -> 3),
+                delete("/task-templates/{scratchTemplate}", c -> 3),
+                delete("/users/{user}", c -> 2)
+        );
+    }
+}
@@ -0,0 +1,99 @@
+package com.chantierpro;
+
+import com.chantierpro.support.DatasetSeeder;
+import com.chantierpro.support.DatasetShape;
+import com.chantierpro.support.Fixture;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The reactive dashboard endpoints must return exactly the JSON of the MVC endpoints they mirror.
+ * Runs on its own in-memory database, so that it neither collides with the seeding of
+ * {@link EndpointBudgetTest} nor sees its writes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:chantierpro_reactive_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "chantierpro.r2dbc.url=r2dbc:h2:mem:///chantierpro_reactive_test?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReactiveDashboardControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DatasetSeeder datasetSeeder;
+
+    private Fixture fixture;
+
+    @BeforeAll
+    public void seed() {
+        fixture = datasetSeeder.seed(DatasetShape.fromSystemProperties());
+    }
+
+    @Test
+    public void projectListMatchesMvc() throws Exception {
+        assertSameJson("/projects", "/reactive/projects");
+    }
+
+    @Test
+    public void projectMatchesMvc() throws Exception {
+        assertSameJson(fixture.resolve("/projects/{project}"), fixture.resolve("/reactive/projects/{project}"));
+    }
+
+    @Test
+    public void villaListsMatchMvc() throws Exception {
+        assertSameJson("/villas", "/reactive/villas");
+        assertSameJson(fixture.resolve("/villas?projectId={project}"), fixture.resolve("/reactive/villas?projectId={project}"));
+    }
+
+    @Test
+    public void notificationCountsMatchMvc() throws Exception {
+        assertSameJson("/notifications/stats/count", "/reactive/notifications/stats/count");
+    }
+
+    @Test
+    public void missingProjectIsNotFound() {
+        assertEquals(404, restTemplate.getForEntity("/reactive/projects/" + Long.MAX_VALUE, String.class).getStatusCode().value());
+    }
+
+    @Test
+    public void projectsStreamAsNdjson() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        ResponseEntity<String> streamed = restTemplate.exchange("/reactive/projects", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        JsonNode expected = objectMapper.readTree(restTemplate.getForObject("/projects", String.class));
+
+        String[] lines = streamed.getBody().trim().split("\n");
+        assertEquals(expected.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(expected.get(i), objectMapper.readTree(lines[i]));
+        }
+    }
+
+    private void assertSameJson(String mvcPath, String reactivePath) throws Exception {
+        ResponseEntity<String> mvc = restTemplate.getForEntity(mvcPath, String.class);
+        ResponseEntity<String> reactive = restTemplate.getForEntity(reactivePath, String.class);
+        assertEquals(mvc.getStatusCode(), reactive.getStatusCode(), reactivePath);
+        assertEquals(objectMapper.readTree(mvc.getBody()), objectMapper.readTree(reactive.getBody()), reactivePath);
+    }
+}
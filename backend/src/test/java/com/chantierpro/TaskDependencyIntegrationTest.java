@@ -0,0 +1,160 @@
+package com.chantierpro;
+
+import com.chantierpro.entity.Category;
+import com.chantierpro.entity.Project;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Villa;
+import com.chantierpro.repository.CategoryRepository;
+import com.chantierpro.repository.ProjectRepository;
+import com.chantierpro.repository.TaskRepository;
+import com.chantierpro.repository.VillaRepository;
+import com.chantierpro.service.TaskDependencyService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dependency rules of {@link TaskDependencyService} on the default calendar (Monday to Saturday). 2030-03-04 is a
+ * Monday. Runs on its own in-memory database, like {@link ReactiveDashboardControllerTest}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chantierpro_dependency_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "chantierpro.r2dbc.url=r2dbc:h2:mem:///chantierpro_dependency_test?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@Transactional
+public class TaskDependencyIntegrationTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDependencyService taskDependencyService;
+
+    private Villa villa;
+    private Category category;
+
+    @BeforeEach
+    public void setup() {
+        Project project = new Project();
+        project.setName("Test Project");
+        project.setType("Residential");
+        project.setLocation("Marrakech");
+        project.setStartDate(date(1));
+        project.setEndDate(date(31));
+        project = projectRepository.save(project);
+
+        villa = new Villa();
+        villa.setProject(project);
+        villa.setName("Test Villa");
+        villa.setType("Residential");
+        villa.setSurface(200);
+        villa = villaRepository.save(villa);
+
+        category = new Category();
+        category.setVilla(villa);
+        category.setName("Test Category");
+        category.setStartDate(date(1));
+        category.setEndDate(date(31));
+        category = categoryRepository.save(category);
+    }
+
+    @Test
+    public void testRejectsCycles() {
+        Task a = task("A", 4, 9);
+        Task b = task("B", 11, 13);
+        Task c = task("C", 14, 16);
+        taskDependencyService.addDependency(b.getId(), a.getId(), 0);
+        taskDependencyService.addDependency(c.getId(), b.getId(), 0);
+
+        IllegalArgumentException cycle = assertThrows(IllegalArgumentException.class,
+                () -> taskDependencyService.addDependency(a.getId(), c.getId(), 0));
+        assertEquals("Dependency would create a cycle", cycle.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> taskDependencyService.addDependency(a.getId(), b.getId(), 0));
+        assertThrows(IllegalArgumentException.class, () -> taskDependencyService.addDependency(a.getId(), a.getId(), 0));
+        assertThrows(IllegalArgumentException.class, () -> taskDependencyService.addDependency(c.getId(), b.getId(), 0));
+    }
+
+    @Test
+    public void testPushesSuccessorKeepingItsDuration() {
+        Task a = task("A", 4, 9);
+        Task b = task("B", 5, 7);
+
+        taskDependencyService.addDependency(b.getId(), a.getId(), 1);
+
+        // First working day after Saturday the 9th is Monday the 11th, plus one day of lag; two working days long
+        Task moved = taskRepository.findById(b.getId()).orElseThrow();
+        assertEquals(date(12), moved.getPlannedStartDate());
+        assertEquals(date(14), moved.getPlannedEndDate());
+    }
+
+    @Test
+    public void testPropagatesDownstreamAndNeverPullsEarlier() {
+        Task a = task("A", 4, 9);
+        Task b = task("B", 11, 13);
+        Task c = task("C", 14, 16);
+        taskDependencyService.addDependency(b.getId(), a.getId(), 0);
+        taskDependencyService.addDependency(c.getId(), b.getId(), 0);
+
+        a.setPlannedEndDate(date(6));
+        taskRepository.save(a);
+        assertEquals(List.of(), taskDependencyService.propagate(a.getId()));
+        assertEquals(date(11), taskRepository.findById(b.getId()).orElseThrow().getPlannedStartDate());
+
+        a.setPlannedEndDate(date(12));
+        taskRepository.save(a);
+        assertEquals(List.of(b.getId(), c.getId()), taskDependencyService.propagate(a.getId()));
+        assertEquals(date(13), b.getPlannedStartDate());
+        assertEquals(date(15), b.getPlannedEndDate());
+        // Saturday the 16th, then two working days over the Sunday
+        assertEquals(date(16), c.getPlannedStartDate());
+        assertEquals(date(19), c.getPlannedEndDate());
+    }
+
+    @Test
+    public void testCompletedTasksStay() {
+        Task a = task("A", 4, 9);
+        Task b = task("B", 5, 7);
+        b.setStatus(Task.TaskStatus.COMPLETED);
+        taskRepository.save(b);
+
+        taskDependencyService.addDependency(b.getId(), a.getId(), 0);
+
+        assertEquals(date(5), b.getPlannedStartDate());
+        assertEquals(date(7), b.getPlannedEndDate());
+    }
+
+    private Task task(String name, int startDay, int endDay) {
+        Task task = new Task();
+        task.setName(name);
+        task.setVilla(villa);
+        task.setCategory(category);
+        task.setStartDate(date(startDay));
+        task.setEndDate(date(endDay));
+        task.setPlannedStartDate(date(startDay));
+        task.setPlannedEndDate(date(endDay));
+        return taskRepository.save(task);
+    }
+
+    private static LocalDate date(int dayOfMarch) {
+        return LocalDate.of(2030, 3, dayOfMarch);
+    }
+}
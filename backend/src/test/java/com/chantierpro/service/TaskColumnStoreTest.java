@@ -0,0 +1,177 @@
+package com.chantierpro.service;
+
+import com.chantierpro.dto.TaskAnalyticsDTO;
+import com.chantierpro.entity.Task;
+import com.chantierpro.entity.Villa;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aggregates of {@link TaskColumnStore} over a small H2 schema holding only the columns the store reads.
+ */
+public class TaskColumnStoreTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskColumnStore store;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:task_column_store_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        for (String table : List.of("projects", "categories", "teams", "task_templates")) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+        }
+        jdbcTemplate.execute("CREATE TABLE villas (id BIGINT PRIMARY KEY, project_id BIGINT, name VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, villa_id BIGINT, category_id BIGINT, "
+                + "team_id BIGINT, template_id BIGINT, status VARCHAR(20), progress INT, amount DECIMAL(15, 2), "
+                + "is_paid BOOLEAN, planned_end_date DATE)");
+
+        jdbcTemplate.update("INSERT INTO projects VALUES (1, 'Les Oliviers'), (2, 'Palmeraie')");
+        jdbcTemplate.update("INSERT INTO villas VALUES (10, 1, 'Villa A'), (11, 1, 'Villa B'), (20, 2, 'Villa C')");
+        jdbcTemplate.update("INSERT INTO categories VALUES (100, 'Gros oeuvre')");
+        jdbcTemplate.update("INSERT INTO teams VALUES (200, 'Equipe Nord')");
+        insertTask(1, 10, 200, "COMPLETED", 100, "1000.00", true, "2024-01-15");
+        insertTask(2, 10, 200, "IN_PROGRESS", 50, "500.50", false, "2024-02-10");
+        insertTask(3, 11, null, "DELAYED", 20, "250.25", false, "2024-02-20");
+        insertTask(4, 20, 200, "PENDING", 0, null, false, null);
+
+        store = new TaskColumnStore();
+        ReflectionTestUtils.setField(store, "jdbcTemplate", jdbcTemplate);
+        store.reload();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testGroupsByProjectWithTotals() {
+        TaskAnalyticsDTO result = store.aggregate(TaskColumnStore.Dimension.PROJECT, noFilter());
+
+        assertEquals(4, result.getTasks());
+        Map<Long, TaskAnalyticsDTO.Group> groups = byId(result);
+        TaskAnalyticsDTO.Group oliviers = groups.get(1L);
+        assertEquals("Les Oliviers", oliviers.getLabel());
+        assertEquals(3, oliviers.getTasks());
+        assertEquals(1, oliviers.getCompleted());
+        assertEquals(1, oliviers.getDelayed());
+        assertEquals(new BigDecimal("1750.75"), oliviers.getAmountTotal());
+        assertEquals(new BigDecimal("1000.00"), oliviers.getAmountPaid());
+        assertEquals(170 / 3.0, oliviers.getAverageProgress(), 1e-9);
+        assertEquals(1, groups.get(2L).getTasks());
+        // Largest group first
+        assertEquals(1L, result.getGroups().get(0).getId());
+    }
+
+    @Test
+    public void testTasksWithoutValueGoToNoneGroup() {
+        TaskAnalyticsDTO result = store.aggregate(TaskColumnStore.Dimension.TEAM, noFilter());
+
+        assertEquals(2, result.getGroups().size());
+        assertEquals(3, byId(result).get(200L).getTasks());
+        TaskAnalyticsDTO.Group none = result.getGroups().get(1);
+        assertNull(none.getId());
+        assertEquals("—", none.getLabel());
+        assertEquals(1, none.getTasks());
+    }
+
+    @Test
+    public void testGroupsByMonthInCalendarOrder() {
+        TaskAnalyticsDTO result = store.aggregate(TaskColumnStore.Dimension.MONTH, noFilter());
+
+        List<String> labels = result.getGroups().stream().map(TaskAnalyticsDTO.Group::getLabel).toList();
+        assertEquals(List.of("2024-01", "2024-02", "—"), labels);
+        assertEquals(2, result.getGroups().get(1).getTasks());
+    }
+
+    @Test
+    public void testFilters() {
+        TaskAnalyticsDTO byStatus = store.aggregate(TaskColumnStore.Dimension.VILLA,
+                new TaskColumnStore.Filter(1L, null, null, Task.TaskStatus.DELAYED, null, null));
+        assertEquals(1, byStatus.getTasks());
+        assertEquals("Villa B", byStatus.getGroups().get(0).getLabel());
+
+        TaskAnalyticsDTO byMonth = store.aggregate(TaskColumnStore.Dimension.STATUS,
+                new TaskColumnStore.Filter(null, null, 200L, null, YearMonth.of(2024, 2), YearMonth.of(2024, 12)));
+        assertEquals(1, byMonth.getTasks());
+        assertEquals("IN_PROGRESS", byMonth.getGroups().get(0).getLabel());
+
+        // An id without tasks matches nothing rather than everything
+        TaskAnalyticsDTO unknown = store.aggregate(TaskColumnStore.Dimension.PROJECT,
+                new TaskColumnStore.Filter(99L, null, null, null, null, null));
+        assertEquals(0, unknown.getTasks());
+        assertTrue(unknown.getGroups().isEmpty());
+    }
+
+    @Test
+    public void testTaskChangesAppliedWithoutTransaction() {
+        Villa villa = new Villa();
+        villa.setId(20L);
+        Task task = new Task();
+        task.setId(5L);
+        task.setVilla(villa);
+        task.setStatus(Task.TaskStatus.COMPLETED);
+        task.setProgress(100);
+        task.setAmount(new BigDecimal("300.00"));
+        task.setIsPaid(true);
+        store.taskChanged(task);
+        store.taskRemoved(1L);
+
+        Map<Long, TaskAnalyticsDTO.Group> groups = byId(store.aggregate(TaskColumnStore.Dimension.PROJECT, noFilter()));
+        assertEquals(2, groups.get(1L).getTasks());
+        assertEquals(0, groups.get(1L).getCompleted());
+        assertEquals(2, groups.get(2L).getTasks());
+        assertEquals(new BigDecimal("300.00"), groups.get(2L).getAmountPaid());
+    }
+
+    @Test
+    public void testChangesDuringReloadAreReplayed() {
+        ReflectionTestUtils.setField(store, "jdbcTemplate", new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public void query(String sql, RowCallbackHandler handler) {
+                super.query(sql, handler);
+                if (sql.contains("FROM tasks")) {
+                    // Committed after the reload read its snapshot
+                    store.taskRemoved(1L);
+                }
+            }
+        });
+        store.reload();
+
+        Map<Long, TaskAnalyticsDTO.Group> groups = byId(store.aggregate(TaskColumnStore.Dimension.PROJECT, noFilter()));
+        assertEquals(2, groups.get(1L).getTasks());
+        assertEquals(0, groups.get(1L).getCompleted());
+    }
+
+    private void insertTask(long id, long villaId, Long teamId, String status, int progress, String amount,
+                            boolean paid, String plannedEnd) {
+        jdbcTemplate.update("INSERT INTO tasks VALUES (?, ?, 100, ?, NULL, ?, ?, ?, ?, ?)", id, villaId, teamId, status,
+                progress, amount != null ? new BigDecimal(amount) : null, paid,
+                plannedEnd != null ? java.sql.Date.valueOf(LocalDate.parse(plannedEnd)) : null);
+    }
+
+    private static TaskColumnStore.Filter noFilter() {
+        return new TaskColumnStore.Filter(null, null, null, null, null, null);
+    }
+
+    private static Map<Long, TaskAnalyticsDTO.Group> byId(TaskAnalyticsDTO result) {
+        return result.getGroups().stream().filter(group -> group.getId() != null)
+                .collect(Collectors.toMap(TaskAnalyticsDTO.Group::getId, Function.identity()));
+    }
+}
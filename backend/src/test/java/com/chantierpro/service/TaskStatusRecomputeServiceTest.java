@@ -0,0 +1,136 @@
+package com.chantierpro.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transitions of {@link TaskStatusRecomputeService} over a small H2 schema, with dates relative to today.
+ */
+public class TaskStatusRecomputeServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskStatusRecomputeService service;
+    private final List<Long> recomputedCategories = new ArrayList<>();
+    private int columnStoreReloads;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:task_status_recompute_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE projects (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE villas (id BIGINT PRIMARY KEY, project_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, villa_id BIGINT, category_id BIGINT, "
+                + "status VARCHAR(20), progress_status VARCHAR(20), progress INT, planned_start_date DATE, "
+                + "planned_end_date DATE, updated_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO projects VALUES (1)");
+        jdbcTemplate.update("INSERT INTO villas VALUES (10, 1)");
+
+        service = new TaskStatusRecomputeService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "categoryService", new CategoryService() {
+            @Override
+            public void updateCategoryStats(Long categoryId) {
+                recomputedCategories.add(categoryId);
+            }
+        });
+        ReflectionTestUtils.setField(service, "taskColumnStore", new TaskColumnStore() {
+            @Override
+            public void reload() {
+                columnStoreReloads++;
+            }
+        });
+        ReflectionTestUtils.setField(service, "aheadMargin", 10);
+        ReflectionTestUtils.setField(service, "behindMargin", 10);
+        ReflectionTestUtils.setField(service, "atRiskMargin", 25);
+        ReflectionTestUtils.setField(service, "pauseMillis", 0L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testProgressStatusFromExpectedProgress() {
+        // 11 of 20 planned days elapsed: 55% expected
+        insertTask(1, 100, "IN_PROGRESS", 80, -10, 9);
+        insertTask(2, 100, "IN_PROGRESS", 40, -10, 9);
+        insertTask(3, 100, "IN_PROGRESS", 20, -10, 9);
+        insertTask(4, 100, "IN_PROGRESS", 50, -10, 9);
+
+        Map<String, Long> result = service.recompute();
+
+        assertEquals("AHEAD", progressStatus(1));
+        assertEquals("BEHIND", progressStatus(2));
+        assertEquals("AT_RISK", progressStatus(3));
+        assertEquals("ON_SCHEDULE", progressStatus(4));
+        // Only the rows whose derived values changed are written
+        assertEquals(3L, result.get("tasks"));
+        assertEquals(List.of(100L), recomputedCategories);
+        assertEquals(1, columnStoreReloads);
+    }
+
+    @Test
+    public void testPastPlannedEndIsDelayedAndAtRisk() {
+        insertTask(1, 100, "IN_PROGRESS", 90, -20, -1);
+        insertTask(2, 200, "PENDING", 0, -5, -1);
+
+        service.recompute();
+
+        assertEquals("DELAYED", status(1));
+        assertEquals("AT_RISK", progressStatus(1));
+        assertEquals("DELAYED", status(2));
+        assertEquals(List.of(100L, 200L), recomputedCategories);
+    }
+
+    @Test
+    public void testRescheduledDelayedTaskReopens() {
+        insertTask(1, 100, "DELAYED", 30, -5, 5);
+        insertTask(2, 100, "DELAYED", 0, 1, 5);
+
+        service.recompute();
+
+        assertEquals("IN_PROGRESS", status(1));
+        assertEquals("PENDING", status(2));
+    }
+
+    @Test
+    public void testCompletedTasksAreNotTouched() {
+        insertTask(1, 100, "COMPLETED", 40, -20, -1);
+
+        Map<String, Long> result = service.recompute();
+
+        assertEquals("COMPLETED", status(1));
+        assertEquals("ON_SCHEDULE", progressStatus(1));
+        assertEquals(0L, result.get("tasks"));
+        assertTrue(recomputedCategories.isEmpty());
+        assertEquals(0, columnStoreReloads);
+    }
+
+    // Planned dates in days from today; every task starts ON_SCHEDULE
+    private void insertTask(long id, long categoryId, String status, int progress, int startDays, int endDays) {
+        LocalDate today = LocalDate.now();
+        jdbcTemplate.update("INSERT INTO tasks VALUES (?, 10, ?, ?, 'ON_SCHEDULE', ?, ?, ?, NULL)", id, categoryId,
+                status, progress, Date.valueOf(today.plusDays(startDays)), Date.valueOf(today.plusDays(endDays)));
+    }
+
+    private String status(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM tasks WHERE id = ?", String.class, id);
+    }
+
+    private String progressStatus(long id) {
+        return jdbcTemplate.queryForObject("SELECT progress_status FROM tasks WHERE id = ?", String.class, id);
+    }
+}
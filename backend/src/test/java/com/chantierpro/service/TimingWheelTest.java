@@ -0,0 +1,99 @@
+package com.chantierpro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    public void testFiresAtExpiration() {
+        TimingWheel<String> wheel = new TimingWheel<>(MINUTE, 0, 60, 24, 64);
+        assertTrue(wheel.schedule("a", 5 * MINUTE));
+
+        assertEquals(List.of(), wheel.advance(4 * MINUTE));
+        assertTrue(wheel.contains("a"));
+        assertEquals(List.of("a"), wheel.advance(5 * MINUTE));
+        assertFalse(wheel.contains("a"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRoundsUpToTickAndFiresPastTimesOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(MINUTE, 10 * MINUTE, 60, 24, 64);
+        wheel.schedule("late", 3 * MINUTE);
+        wheel.schedule("partial", 12 * MINUTE + 1);
+
+        assertEquals(List.of("late"), wheel.advance(11 * MINUTE));
+        assertEquals(List.of(), wheel.advance(12 * MINUTE));
+        assertEquals(List.of("partial"), wheel.advance(13 * MINUTE));
+    }
+
+    @Test
+    public void testCancelAndReschedule() {
+        TimingWheel<String> wheel = new TimingWheel<>(MINUTE, 0, 60, 24, 64);
+        wheel.schedule("cancelled", 2 * MINUTE);
+        wheel.schedule("moved", 3 * MINUTE);
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        // Rescheduling replaces the previous time, from one level to another
+        wheel.schedule("moved", 5 * 60 * MINUTE);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(5 * 60 * MINUTE - 1));
+        assertEquals(List.of("moved"), wheel.advance(5 * 60 * MINUTE));
+    }
+
+    @Test
+    public void testCascadesFromHourAndDayLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(MINUTE, 0, 60, 24, 64);
+        long inThreeHours = (3 * 60 + 17) * MINUTE;
+        long inTwoDays = (2 * 24 * 60 + 5 * 60 + 42) * MINUTE;
+        wheel.schedule("day", inTwoDays);
+        wheel.schedule("hour", inThreeHours);
+
+        assertEquals(List.of(), wheel.advance(inThreeHours - MINUTE));
+        assertEquals(List.of("hour"), wheel.advance(inThreeHours));
+        assertEquals(List.of(), wheel.advance(inTwoDays - MINUTE));
+        assertEquals(List.of("day"), wheel.advance(inTwoDays));
+    }
+
+    @Test
+    public void testEveryTickWithinHorizonFiresOnTime() {
+        // Levels of 4, 4 and 4 ticks: 64 ticks of horizon, cascades every 4 and 16 ticks
+        for (long start = 0; start < 16; start++) {
+            TimingWheel<Long> wheel = new TimingWheel<>(1, start, 4, 4, 4);
+            for (long tick = start + 1; tick < start + 48; tick++) {
+                assertTrue(wheel.schedule(tick, tick), "tick " + tick + " from " + start);
+            }
+            for (long now = start + 1; now < start + 48; now++) {
+                assertEquals(List.of(now), wheel.advance(now), "from " + start);
+            }
+            assertEquals(0, wheel.size());
+        }
+    }
+
+    @Test
+    public void testRejectsBeyondHorizon() {
+        TimingWheel<String> wheel = new TimingWheel<>(MINUTE, 0, 60, 24, 64);
+        wheel.schedule("a", MINUTE);
+
+        assertFalse(wheel.schedule("a", 70L * 24 * 60 * MINUTE));
+        assertFalse(wheel.contains("a"));
+        assertEquals(List.of(), wheel.advance(2 * MINUTE));
+    }
+
+    @Test
+    public void testExpiredInTimeOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(MINUTE, 0, 60, 24, 64);
+        wheel.schedule("third", 3 * 60 * MINUTE);
+        wheel.schedule("first", 10 * MINUTE);
+        wheel.schedule("second", 90 * MINUTE);
+
+        assertEquals(List.of("first", "second", "third"), wheel.advance(4 * 60 * MINUTE));
+    }
+}
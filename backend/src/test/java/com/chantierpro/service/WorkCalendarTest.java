@@ -0,0 +1,88 @@
+package com.chantierpro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 2025-01-06 is a Monday; the calendars work Monday to Saturday.
+ */
+public class WorkCalendarTest {
+
+    private static final Set<DayOfWeek> MONDAY_TO_SATURDAY = EnumSet.complementOf(EnumSet.of(DayOfWeek.SUNDAY));
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    private final WorkCalendar calendar = new WorkCalendar(MONDAY_TO_SATURDAY,
+            Set.of(LocalDate.of(2025, 1, 8), LocalDate.of(2025, 5, 1)), BASE, 365);
+
+    @Test
+    public void testAddWorkingDaysSkipsSundaysAndHolidays() {
+        LocalDate monday = LocalDate.of(2025, 1, 6);
+
+        assertEquals(monday, calendar.addWorkingDays(monday, 0));
+        assertEquals(LocalDate.of(2025, 1, 7), calendar.addWorkingDays(monday, 1));
+        // Wednesday the 8th is a holiday
+        assertEquals(LocalDate.of(2025, 1, 9), calendar.addWorkingDays(monday, 2));
+        // Sunday the 12th is skipped
+        assertEquals(LocalDate.of(2025, 1, 13), calendar.addWorkingDays(monday, 5));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 1, 8)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 1, 12)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2025, 1, 11)));
+    }
+
+    @Test
+    public void testWorkingDaysBetween() {
+        LocalDate monday = LocalDate.of(2025, 1, 6);
+
+        assertEquals(0, calendar.workingDaysBetween(monday, monday));
+        assertEquals(5, calendar.workingDaysBetween(monday, LocalDate.of(2025, 1, 13)));
+        assertEquals(-5, calendar.workingDaysBetween(LocalDate.of(2025, 1, 13), monday));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        for (LocalDate day = BASE; day.isBefore(BASE.plusDays(200)); day = day.plusDays(1)) {
+            for (int n = 0; n <= 40; n++) {
+                assertEquals(n, calendar.workingDaysBetween(day, calendar.addWorkingDays(day, n)), day + " + " + n);
+            }
+        }
+    }
+
+    @Test
+    public void testNextWorkingDay() {
+        assertEquals(LocalDate.of(2025, 1, 7), calendar.nextWorkingDay(LocalDate.of(2025, 1, 7)));
+        assertEquals(LocalDate.of(2025, 1, 9), calendar.nextWorkingDay(LocalDate.of(2025, 1, 8)));
+        assertEquals(LocalDate.of(2025, 1, 13), calendar.nextWorkingDay(LocalDate.of(2025, 1, 12)));
+        // Thursday 1 May is a holiday
+        assertEquals(LocalDate.of(2025, 5, 2), calendar.nextWorkingDay(LocalDate.of(2025, 5, 1)));
+    }
+
+    @Test
+    public void testOutsideHorizonMatchesPrecomputed() {
+        // Same days over a two-week horizon: every other date takes the day-by-day fallback
+        Set<LocalDate> holidays = Set.of(LocalDate.of(2025, 1, 8), LocalDate.of(2025, 3, 19));
+        WorkCalendar precomputed = new WorkCalendar(MONDAY_TO_SATURDAY, holidays, LocalDate.of(2024, 1, 1), 1000);
+        WorkCalendar narrow = new WorkCalendar(MONDAY_TO_SATURDAY, holidays, BASE, 14);
+
+        for (LocalDate day = LocalDate.of(2024, 12, 1); day.isBefore(LocalDate.of(2025, 4, 1)); day = day.plusDays(1)) {
+            assertEquals(precomputed.isWorkingDay(day), narrow.isWorkingDay(day), day.toString());
+            assertEquals(precomputed.nextWorkingDay(day), narrow.nextWorkingDay(day), day.toString());
+            for (int n : new int[]{0, 1, 3, 10, 60}) {
+                assertEquals(precomputed.addWorkingDays(day, n), narrow.addWorkingDays(day, n), day + " + " + n);
+                LocalDate to = day.plusDays(n);
+                assertEquals(precomputed.workingDaysBetween(day, to), narrow.workingDaysBetween(day, to), day + " to " + to);
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsCalendarWithoutWorkingDays() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkCalendar(EnumSet.noneOf(DayOfWeek.class), Set.of(), BASE, 365));
+    }
+}
@@ -0,0 +1,74 @@
+package com.chantierpro.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Row counts of the current database, global and scoped to the {@link Fixture} rows.
+ * Read through plain JDBC so that taking them does not touch Hibernate statistics.
+ */
+public class DatasetCounts {
+
+    public long projects;
+    public long villas;
+    public long categories;
+    public long tasks;
+    public long teams;
+    public long templates;
+    public long notifications;
+    public long unreadNotifications;
+    public long users;
+
+    public long projectVillas;
+    public long projectCategories;
+    public long projectTasks;
+    public long villaCategories;
+    public long villaTasks;
+    public long categoryTasks;
+    public long teamTasks;
+    public long teamTemplateLinks;
+    public long templateTasks;
+
+    public static DatasetCounts take(JdbcTemplate jdbc, Fixture fixture) {
+        DatasetCounts counts = new DatasetCounts();
+        counts.projects = count(jdbc, "SELECT COUNT(*) FROM projects");
+        counts.villas = count(jdbc, "SELECT COUNT(*) FROM villas");
+        counts.categories = count(jdbc, "SELECT COUNT(*) FROM categories");
+        counts.tasks = count(jdbc, "SELECT COUNT(*) FROM tasks");
+        counts.teams = count(jdbc, "SELECT COUNT(*) FROM teams");
+        counts.templates = count(jdbc, "SELECT COUNT(*) FROM task_templates");
+        counts.notifications = count(jdbc, "SELECT COUNT(*) FROM notifications");
+        counts.unreadNotifications = count(jdbc, "SELECT COUNT(*) FROM notifications WHERE is_read = FALSE");
+        counts.users = count(jdbc, "SELECT COUNT(*) FROM users");
+
+        Long projectId = fixture.id("project");
+        Long villaId = fixture.id("villa");
+        counts.projectVillas = count(jdbc, "SELECT COUNT(*) FROM villas WHERE project_id = ?", projectId);
+        counts.projectCategories = count(jdbc,
+                "SELECT COUNT(*) FROM categories c JOIN villas v ON c.villa_id = v.id WHERE v.project_id = ?", projectId);
+        counts.projectTasks = count(jdbc,
+                "SELECT COUNT(*) FROM tasks t JOIN categories c ON t.category_id = c.id JOIN villas v ON c.villa_id = v.id WHERE v.project_id = ?", projectId);
+        counts.villaCategories = count(jdbc, "SELECT COUNT(*) FROM categories WHERE villa_id = ?", villaId);
+        counts.villaTasks = count(jdbc, "SELECT COUNT(*) FROM tasks WHERE villa_id = ?", villaId);
+        counts.categoryTasks = count(jdbc, "SELECT COUNT(*) FROM tasks WHERE category_id = ?", fixture.id("category"));
+        counts.teamTasks = count(jdbc, "SELECT COUNT(*) FROM tasks WHERE team_id = ?", fixture.id("team"));
+        counts.teamTemplateLinks = count(jdbc, "SELECT COUNT(*) FROM team_task_template WHERE team_id = ?", fixture.id("team"));
+        counts.templateTasks = count(jdbc, "SELECT COUNT(*) FROM tasks WHERE template_id = ?", fixture.id("template"));
+        return counts;
+    }
+
+    /**
+     * Statements needed to serialize {@code taskCount} tasks: one photo collection per task plus
+     * one lazy load per distinct villa, team and template they reference.
+     */
+    public long taskGraph(long taskCount, long distinctVillas) {
+        return taskCount
+                + Math.min(taskCount, distinctVillas)
+                + Math.min(taskCount, teams)
+                + Math.min(taskCount, templates);
+    }
+
+    private static long count(JdbcTemplate jdbc, String sql, Object... args) {
+        Long value = jdbc.queryForObject(sql, Long.class, args);
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,173 @@
+package com.chantierpro.support;
+
+import com.chantierpro.entity.*;
+import com.chantierpro.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds a project/villa/category/task tree of the requested {@link DatasetShape}
+ * plus teams, task templates, team-template links, users and notifications.
+ */
+@Component
+public class DatasetSeeder {
+
+    private static final String[] SPECIALTIES = {"Maçonnerie", "Plomberie", "Électricité", "Menuiserie", "Peinture"};
+    private static final String[] CATEGORIES = {"Gros Œuvre", "Plomberie", "Électricité", "Finitions", "Étanchéité"};
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VillaRepository villaRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TaskTemplateRepository taskTemplateRepository;
+
+    @Autowired
+    private TeamTaskTemplateRepository teamTaskTemplateRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Transactional
+    public Fixture seed(DatasetShape shape) {
+        LocalDate start = LocalDate.now().minusDays(30);
+        Fixture fixture = new Fixture();
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < shape.getTeams(); i++) {
+            String specialty = SPECIALTIES[i % SPECIALTIES.length];
+            teams.add(teamRepository.save(new Team("Équipe " + specialty + " " + (i + 1), specialty, 4 + i % 6)));
+        }
+
+        List<TaskTemplate> templates = new ArrayList<>();
+        for (int i = 0; i < shape.getTemplates(); i++) {
+            templates.add(taskTemplateRepository.save(new TaskTemplate(
+                    "Modèle " + (i + 1), "Description du modèle " + (i + 1), 3 + i % 10, BigDecimal.valueOf(1000L + 250L * i))));
+        }
+
+        for (int t = 0; t < teams.size(); t++) {
+            for (int k = 0; k < shape.getTemplatesPerTeam(); k++) {
+                TeamTaskTemplate link = new TeamTaskTemplate();
+                link.setTeam(teams.get(t));
+                link.setTaskTemplate(templates.get((t + k) % templates.size()));
+                teamTaskTemplateRepository.save(link);
+            }
+        }
+
+        int taskIndex = 0;
+        for (int p = 0; p < shape.getProjects(); p++) {
+            Project project = projectRepository.save(new Project(
+                    "Résidence " + (p + 1), "Villas", "Casablanca", start, start.plusMonths(12)));
+            if (p == 0) {
+                fixture.put("project", project.getId());
+            }
+
+            for (int v = 0; v < shape.getVillasPerProject(); v++) {
+                Villa villa = villaRepository.save(new Villa(project, "Villa " + (p + 1) + "-" + (v + 1), "Type " + (char) ('A' + v % 3), 180 + v * 20));
+                if (p == 0 && v == 0) {
+                    fixture.put("villa", villa.getId());
+                }
+
+                for (int c = 0; c < shape.getCategoriesPerVilla(); c++) {
+                    Category category = categoryRepository.save(new Category(
+                            villa, CATEGORIES[c % CATEGORIES.length], start.plusDays(c * 15L), start.plusDays(c * 15L + 30)));
+                    if (p == 0 && v == 0 && c == 0) {
+                        fixture.put("category", category.getId());
+                    }
+
+                    for (int t = 0; t < shape.getTasksPerCategory(); t++) {
+                        LocalDate taskStart = category.getStartDate().plusDays(t * 3L);
+                        Task task = new Task(category, villa, "Tâche " + (taskIndex + 1), taskStart, taskStart.plusDays(5));
+                        task.setTeam(teams.get(taskIndex % teams.size()));
+                        task.setTemplate(templates.get(taskIndex % templates.size()));
+                        task.setAmount(BigDecimal.valueOf(500L + (taskIndex % 20) * 100L));
+                        applyStatus(task, taskIndex);
+                        task = taskRepository.save(task);
+                        if (taskIndex == 0) {
+                            fixture.put("task", task.getId());
+                        }
+                        fixture.put("lastTask", task.getId());
+                        taskIndex++;
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < shape.getUsers(); i++) {
+            User.UserRole role = User.UserRole.values()[i % User.UserRole.values().length];
+            User user = userRepository.save(new User("Utilisateur " + (i + 1), "user" + (i + 1) + "@chantierpro.ma", role));
+            if (i == 0) {
+                fixture.put("user", user.getId()).put("userEmail", user.getEmail());
+            }
+        }
+
+        for (int i = 0; i < shape.getNotifications(); i++) {
+            Notification.NotificationType type = Notification.NotificationType.values()[i % Notification.NotificationType.values().length];
+            Notification.Priority priority = Notification.Priority.values()[i % Notification.Priority.values().length];
+            Notification notification = new Notification(type, "Alerte " + (i + 1), "Message de l'alerte " + (i + 1), priority);
+            notification.setIsRead(i % 3 == 0);
+            notification = notificationRepository.save(notification);
+            if (i == 0) {
+                fixture.put("notification", notification.getId());
+            }
+            fixture.put("lastNotification", notification.getId());
+        }
+
+        Project scratchProject = projectRepository.save(new Project("Projet vide", "Villas", "Rabat", start, start.plusMonths(6)));
+        Villa scratchVilla = villaRepository.save(new Villa(projectRepository.getReferenceById(fixture.id("project")), "Villa vide", "Type A", 150));
+        Category scratchCategory = categoryRepository.save(new Category(
+                villaRepository.getReferenceById(fixture.id("villa")), "Catégorie vide", start, start.plusDays(10)));
+        Team scratchTeam = teamRepository.save(new Team("Équipe vide", "Peinture", 2));
+        TaskTemplate scratchTemplate = taskTemplateRepository.save(new TaskTemplate("Modèle vide", "Sans tâches", 2, BigDecimal.valueOf(100)));
+
+        return fixture
+                .put("team", teams.get(0).getId())
+                .put("template", templates.get(0).getId())
+                .put("scratchProject", scratchProject.getId())
+                .put("scratchVilla", scratchVilla.getId())
+                .put("scratchCategory", scratchCategory.getId())
+                .put("scratchTeam", scratchTeam.getId())
+                .put("scratchTemplate", scratchTemplate.getId());
+    }
+
+    private void applyStatus(Task task, int index) {
+        switch (index % 4) {
+            case 0 -> {
+                task.setStatus(Task.TaskStatus.COMPLETED);
+                task.setProgress(100);
+                task.setIsReceived(index % 8 == 0);
+                task.setIsPaid(index % 16 == 0);
+            }
+            case 1 -> {
+                task.setStatus(Task.TaskStatus.IN_PROGRESS);
+                task.setProgress(50);
+            }
+            case 2 -> task.setStatus(Task.TaskStatus.PENDING);
+            default -> {
+                task.setStatus(Task.TaskStatus.DELAYED);
+                task.setProgress(20);
+                task.setProgressStatus(Task.ProgressStatus.BEHIND);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.chantierpro.support;
+
+/**
+ * Size of the dataset seeded by {@link DatasetSeeder}.
+ * Every dimension can be overridden with a system property, e.g. {@code -Ddataset.projects=10}.
+ */
+public class DatasetShape {
+
+    private final int projects;
+    private final int villasPerProject;
+    private final int categoriesPerVilla;
+    private final int tasksPerCategory;
+    private final int teams;
+    private final int templates;
+    private final int templatesPerTeam;
+    private final int notifications;
+    private final int users;
+
+    public DatasetShape(int projects, int villasPerProject, int categoriesPerVilla, int tasksPerCategory,
+                        int teams, int templates, int templatesPerTeam, int notifications, int users) {
+        this.projects = projects;
+        this.villasPerProject = villasPerProject;
+        this.categoriesPerVilla = categoriesPerVilla;
+        this.tasksPerCategory = tasksPerCategory;
+        this.teams = teams;
+        this.templates = templates;
+        this.templatesPerTeam = Math.min(templatesPerTeam, templates);
+        this.notifications = notifications;
+        this.users = users;
+    }
+
+    public static DatasetShape fromSystemProperties() {
+        return new DatasetShape(
+                Integer.getInteger("dataset.projects", 2),
+                Integer.getInteger("dataset.villasPerProject", 3),
+                Integer.getInteger("dataset.categoriesPerVilla", 2),
+                Integer.getInteger("dataset.tasksPerCategory", 4),
+                Integer.getInteger("dataset.teams", 3),
+                Integer.getInteger("dataset.templates", 4),
+                Integer.getInteger("dataset.templatesPerTeam", 2),
+                Integer.getInteger("dataset.notifications", 20),
+                Integer.getInteger("dataset.users", 5));
+    }
+
+    public int getProjects() { return projects; }
+    public int getVillasPerProject() { return villasPerProject; }
+    public int getCategoriesPerVilla() { return categoriesPerVilla; }
+    public int getTasksPerCategory() { return tasksPerCategory; }
+    public int getTeams() { return teams; }
+    public int getTemplates() { return templates; }
+    public int getTemplatesPerTeam() { return templatesPerTeam; }
+    public int getNotifications() { return notifications; }
+    public int getUsers() { return users; }
+
+    public int getTotalTasks() {
+        return projects * villasPerProject * categoriesPerVilla * tasksPerCategory;
+    }
+
+    @Override
+    public String toString() {
+        return projects + " projects x " + villasPerProject + " villas x " + categoriesPerVilla
+                + " categories x " + tasksPerCategory + " tasks, " + teams + " teams, " + templates + " templates";
+    }
+}
@@ -0,0 +1,84 @@
+package com.chantierpro.support;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * One endpoint call with its SQL-statement and latency budgets.
+ * The statement budget is a function of the current {@link DatasetCounts} so that it tracks the
+ * dataset size: a new lazy association that adds one query per row makes the call exceed it.
+ */
+public class EndpointBudget {
+
+    /** Latency budget for reads, in milliseconds, before {@code budget.latencyFactor} is applied. */
+    public static final long READ_MILLIS = 500;
+
+    /** Latency budget for writes, in milliseconds, before {@code budget.latencyFactor} is applied. */
+    public static final long WRITE_MILLIS = 1000;
+
+    private final HttpMethod method;
+    private final String path;
+    private final ToLongFunction<DatasetCounts> statements;
+    private Function<Fixture, Object> body = fixture -> null;
+    private long maxMillis;
+
+    private EndpointBudget(HttpMethod method, String path, ToLongFunction<DatasetCounts> statements, long maxMillis) {
+        this.method = method;
+        this.path = path;
+        this.statements = statements;
+        this.maxMillis = maxMillis;
+    }
+
+    public static EndpointBudget get(String path, ToLongFunction<DatasetCounts> statements) {
+        return new EndpointBudget(HttpMethod.GET, path, statements, READ_MILLIS);
+    }
+
+    public static EndpointBudget post(String path, ToLongFunction<DatasetCounts> statements) {
+        return new EndpointBudget(HttpMethod.POST, path, statements, WRITE_MILLIS);
+    }
+
+    public static EndpointBudget put(String path, ToLongFunction<DatasetCounts> statements) {
+        return new EndpointBudget(HttpMethod.PUT, path, statements, WRITE_MILLIS);
+    }
+
+    public static EndpointBudget delete(String path, ToLongFunction<DatasetCounts> statements) {
+        return new EndpointBudget(HttpMethod.DELETE, path, statements, WRITE_MILLIS);
+    }
+
+    public EndpointBudget body(Function<Fixture, Object> body) {
+        this.body = body;
+        return this;
+    }
+
+    public EndpointBudget millis(long maxMillis) {
+        this.maxMillis = maxMillis;
+        return this;
+    }
+
+    public HttpMethod getMethod() { return method; }
+
+    public String getPath() { return path; }
+
+    public long getMaxStatements(DatasetCounts counts) {
+        return statements.applyAsLong(counts);
+    }
+
+    public Object getBody(Fixture fixture) {
+        return body.apply(fixture);
+    }
+
+    public long getMaxMillis() {
+        return Math.round(maxMillis * Double.parseDouble(System.getProperty("budget.latencyFactor", "1.0")));
+    }
+
+    public boolean isRead() {
+        return method == HttpMethod.GET;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path;
+    }
+}
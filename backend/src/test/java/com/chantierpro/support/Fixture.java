@@ -0,0 +1,45 @@
+package com.chantierpro.support;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ids of the seeded rows that endpoint paths and bodies refer to, e.g. {@code /tasks/villa/{villa}}.
+ * "scratch" rows have no children and are the targets of update/delete calls.
+ */
+public class Fixture {
+
+    private final Map<String, Object> values = new HashMap<>();
+
+    public Fixture put(String key, Object value) {
+        values.put(key, value);
+        return this;
+    }
+
+    public Long id(String key) {
+        Object value = values.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("No fixture value for: " + key);
+        }
+        return ((Number) value).longValue();
+    }
+
+    public String value(String key) {
+        Object value = values.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("No fixture value for: " + key);
+        }
+        return value.toString();
+    }
+
+    /**
+     * Replace every {@code {key}} placeholder in the given template.
+     */
+    public String resolve(String template) {
+        String resolved = template;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            resolved = resolved.replace("{" + entry.getKey() + "}", entry.getValue().toString());
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,35 @@
+package com.chantierpro.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the JDBC statements Hibernate prepares, across all sessions, between two calls.
+ * Relies on {@code hibernate.generate_statistics}, which the test profile enables.
+ */
+public class SqlStatementCounter {
+
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public long getStatementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public long getEntityLoadCount() {
+        return statistics.getEntityLoadCount();
+    }
+
+    public long getCollectionLoadCount() {
+        return statistics.getCollectionLoadCount();
+    }
+}
@@ -85,12 +85,13 @@ export interface Task {
 
 export interface Notification {
   id: string;
-  type: 'deadline' | 'delay' | 'unreceived' | 'unpaid' | 'team_inactive';
+  type: 'deadline' | 'delay' | 'unreceived' | 'unpaid' | 'team_inactive' | 'digest';
   title: string;
   message: string;
   priority: 'low' | 'medium' | 'high' | 'critical';
   isRead: boolean;
   createdAt: Date;
+  occurrences?: number;
   projectId?: string;
   villaId?: string;
   taskId?: string;